@@ -0,0 +1,40 @@
+package com.trevizan.mithrilledger.benchmark;
+
+import com.trevizan.mithrilledger.domain.model.converter.CurrencyAttributeConverter;
+
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyAttributeConverterBenchmark {
+
+    private final CurrencyAttributeConverter converter = new CurrencyAttributeConverter();
+    private final Currency currency = Currency.getInstance("EUR");
+    private final String code = "BRL";
+
+    @Benchmark
+    public String toDatabaseColumn() {
+        return converter.convertToDatabaseColumn(currency);
+    }
+
+    @Benchmark
+    public Currency toEntityAttribute() {
+        return converter.convertToEntityAttribute(code);
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.trevizan.mithrilledger.benchmark;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.trevizan.mithrilledger.config.ExchangeHedgingProperties;
+import com.trevizan.mithrilledger.config.RestConfig;
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.infrastructure.exchange.HedgedExchangeClient;
+import com.trevizan.mithrilledger.infrastructure.exchange.HttpExchangeClient;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+public class HedgedExchangeBenchmark {
+
+    @Param({"blocking", "hedged"})
+    public String client;
+
+    @Param({"20"})
+    public int medianLatencyMillis;
+
+    @Param({"1.0"})
+    public double latencySigma;
+
+    @Param({"0.9"})
+    public double hedgePercentile;
+
+    private WireMockServer exchange;
+    private ExchangeClient exchangeClient;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.WARN);
+
+        exchange = new WireMockServer(wireMockConfig().dynamicPort().disableRequestJournal());
+        exchange.start();
+        exchange.stubFor(get(urlPathEqualTo("/api/v1/exchanges/rates"))
+            .willReturn(okJson("{\"rate\": 1.084211}").withLogNormalRandomDelay(medianLatencyMillis, latencySigma)));
+
+        RestConfig restConfig = new RestConfig();
+        HttpExchangeClient httpExchangeClient = new HttpExchangeClient(
+            restConfig.restTemplate(restConfig.exchangeConnectionManager(50)),
+            exchange.baseUrl(),
+            new SimpleMeterRegistry()
+        );
+
+        exchangeClient = switch (client) {
+            case "blocking" -> httpExchangeClient;
+            case "hedged" -> new HedgedExchangeClient(
+                HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(),
+                exchange.baseUrl(),
+                JsonMapper.builder().build(),
+                httpExchangeClient,
+                CircuitBreaker.ofDefaults("exchange-service"),
+                Bulkhead.ofDefaults("exchange-service"),
+                new ExchangeHedgingProperties(
+                    true,
+                    hedgePercentile,
+                    Duration.ofMillis(50),
+                    Duration.ofMillis(5),
+                    Duration.ofMillis(500),
+                    20,
+                    Duration.ofSeconds(2)
+                ),
+                new SimpleMeterRegistry(),
+                Executors.newSingleThreadScheduledExecutor()
+            );
+            default -> throw new IllegalArgumentException("Unknown client: " + client);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (exchangeClient instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        exchange.stop();
+    }
+
+    @Benchmark
+    public BigDecimal getRate() {
+        return exchangeClient.getRate("EUR", "USD");
+    }
+
+}
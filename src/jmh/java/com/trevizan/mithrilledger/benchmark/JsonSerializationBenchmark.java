@@ -0,0 +1,81 @@
+package com.trevizan.mithrilledger.benchmark;
+
+import com.trevizan.mithrilledger.controller.dto.TransactionResponse;
+import com.trevizan.mithrilledger.controller.dto.WalletResponse;
+import com.trevizan.mithrilledger.domain.model.Money;
+import com.trevizan.mithrilledger.domain.model.Transaction;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    private Wallet wallet;
+    private Transaction transaction;
+    private WalletResponse walletResponse;
+    private TransactionResponse transactionResponse;
+
+    @Setup
+    public void setUp() {
+        wallet = Wallet.create("owner", Currency.getInstance("EUR"));
+        wallet.credit(new BigDecimal("1500.00"));
+        Wallet destination = Wallet.create("other-owner", Currency.getInstance("USD"));
+        transaction = new Transaction(
+            wallet,
+            destination,
+            new BigDecimal("100.00"),
+            Money.of(new BigDecimal("100.00"), wallet.getCurrency())
+                .convert(new BigDecimal("1.084211"), destination.getCurrency())
+                .toBigDecimal(),
+            new BigDecimal("1.084211"),
+            null
+        );
+        walletResponse = WalletResponse.from(wallet);
+        transactionResponse = TransactionResponse.from(transaction);
+    }
+
+    @Benchmark
+    public byte[] walletResponse() {
+        return objectMapper.writeValueAsBytes(walletResponse);
+    }
+
+    @Benchmark
+    public byte[] walletResponseFromEntity() {
+        return objectMapper.writeValueAsBytes(WalletResponse.from(wallet));
+    }
+
+    @Benchmark
+    public byte[] transactionResponse() {
+        return objectMapper.writeValueAsBytes(transactionResponse);
+    }
+
+    @Benchmark
+    public byte[] transactionResponseFromEntity() {
+        return objectMapper.writeValueAsBytes(TransactionResponse.from(transaction));
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.trevizan.mithrilledger.benchmark;
+
+import com.trevizan.mithrilledger.service.engine.JournalCheckpoint;
+import com.trevizan.mithrilledger.service.engine.JournalRecord;
+import com.trevizan.mithrilledger.service.engine.LedgerJournal;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LedgerJournalBenchmark {
+
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final int REPLAY_RECORDS = 100_000;
+
+    @State(Scope.Benchmark)
+    public static class AppendState {
+
+        @Param({ "0", "5" })
+        private long fsyncMillis;
+
+        private Path directory;
+        private LedgerJournal journal;
+        private JournalRecord record;
+
+        @Setup(Level.Trial)
+        public void open() throws IOException {
+            directory = Files.createTempDirectory("ledger-journal-bench");
+            journal = new LedgerJournal(directory, SEGMENT_SIZE, Duration.ofMillis(fsyncMillis));
+            journal.open();
+            record = credited();
+        }
+
+        @TearDown(Level.Iteration)
+        public void truncate() {
+            journal.writeCheckpoint(new JournalCheckpoint(journal.nextSequence(), List.of(), List.of()));
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws IOException {
+            journal.close();
+            delete(directory);
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class ReplayState {
+
+        private Path directory;
+        private LedgerJournal journal;
+
+        @Setup(Level.Trial)
+        public void open() throws IOException {
+            directory = Files.createTempDirectory("ledger-journal-replay-bench");
+            journal = new LedgerJournal(directory, SEGMENT_SIZE, Duration.ofHours(1));
+            journal.open();
+            for (int i = 0; i < REPLAY_RECORDS; i++) {
+                journal.append(credited());
+            }
+            journal.sync();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws IOException {
+            journal.close();
+            delete(directory);
+        }
+
+    }
+
+    @Benchmark
+    public long append(AppendState state) {
+        return state.journal.append(state.record);
+    }
+
+    @Benchmark
+    public long appendDurable(AppendState state) {
+        long sequence = state.journal.append(state.record);
+        state.journal.awaitDurable(sequence).join();
+        return sequence;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REPLAY_RECORDS)
+    public long replay(ReplayState state) {
+        LongAdder replayed = new LongAdder();
+        state.journal.replay(1, entry -> replayed.increment());
+        return replayed.sum();
+    }
+
+    private static JournalRecord credited() {
+        return new JournalRecord.Credited(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("125.50"), Instant.now());
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.trevizan.mithrilledger.benchmark;
+
+import com.trevizan.mithrilledger.domain.model.Money;
+import com.trevizan.mithrilledger.domain.model.Transaction;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionBenchmark {
+
+    private Wallet from;
+    private Wallet to;
+    private Money amount;
+    private Money converted;
+    private BigDecimal rate;
+
+    @Setup
+    public void setUp() {
+        from = Wallet.create("owner-from", Currency.getInstance("EUR"));
+        to = Wallet.create("owner-to", Currency.getInstance("BRL"));
+        amount = Money.of(new BigDecimal("25.00"), from.getCurrency());
+        rate = new BigDecimal("6.123456");
+        converted = amount.convert(rate, to.getCurrency());
+    }
+
+    @Benchmark
+    public Transaction transfer() {
+        return new Transaction(from, to, amount.toBigDecimal(), converted.toBigDecimal(), rate, null);
+    }
+
+    @Benchmark
+    public Transaction credit() {
+        return Transaction.credit(to, converted);
+    }
+
+    @Benchmark
+    public Transaction debit() {
+        return Transaction.debit(from, amount);
+    }
+
+    @Benchmark
+    public Money convert() {
+        return amount.convert(rate, to.getCurrency());
+    }
+
+}
@@ -0,0 +1,268 @@
+package com.trevizan.mithrilledger.benchmark;
+
+import com.trevizan.mithrilledger.MithrilledgerApplication;
+import com.trevizan.mithrilledger.config.LedgerBatchProperties;
+import com.trevizan.mithrilledger.config.LedgerLockingProperties;
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.model.Transaction;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.repository.TransactionRepository;
+import com.trevizan.mithrilledger.repository.WalletRepository;
+import com.trevizan.mithrilledger.service.HotWalletService;
+import com.trevizan.mithrilledger.service.QuoteService;
+import com.trevizan.mithrilledger.service.TransferCommand;
+import com.trevizan.mithrilledger.service.TransferResult;
+import com.trevizan.mithrilledger.service.WalletCache;
+import com.trevizan.mithrilledger.service.WalletService;
+import com.trevizan.mithrilledger.service.engine.InMemoryLedgerEngine;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransferBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final int HOT_SOURCES = 64;
+    private static final BigDecimal EUR_USD_RATE = new BigDecimal("1.084211");
+    private static final BigDecimal USD_EUR_RATE = BigDecimal.ONE.divide(EUR_USD_RATE, 6, RoundingMode.HALF_EVEN);
+
+    @Param({ "jpa", "in-memory" })
+    private String engine;
+
+    @Param({ "pessimistic", "optimistic" })
+    private String locking;
+
+    @Param({ "same", "cross" })
+    private String route;
+
+    @Param({ "8" })
+    private int walletsPerSide;
+
+    private ConfigurableApplicationContext context;
+    private WalletService walletService;
+    private List<Wallet> sources;
+    private List<Wallet> destinations;
+    private BigDecimal amount;
+    private List<Wallet> hotSources;
+    private Wallet hotDestination;
+    private final AtomicInteger nextHotSource = new AtomicInteger();
+    private final LongAdder hotAttempts = new LongAdder();
+    private final LongAdder hotFailures = new LongAdder();
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+
+        public long conflicts;
+        public long bulkheadFull;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            conflicts = 0;
+            bulkheadFull = 0;
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class HotSource {
+
+        private Wallet wallet;
+
+        @Setup(Level.Trial)
+        public void assign(TransferBenchmark benchmark) {
+            wallet = benchmark.hotSources.get(benchmark.nextHotSource.getAndIncrement() % HOT_SOURCES);
+        }
+
+    }
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(MithrilledgerApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--ledger.engine.mode=" + engine,
+                "--ledger.locking.mode=" + locking,
+                "--ledger.engine.journal.enabled=false",
+                "--logging.level.com.trevizan.mithrilledger=WARN"
+            );
+
+        walletService = new WalletService(
+            context.getBean(WalletRepository.class),
+            context.getBean(TransactionRepository.class),
+            new FixedRateExchangeClient(),
+            context.getBean(QuoteService.class),
+            context.getBean(TransactionTemplate.class),
+            context.getBean(LedgerLockingProperties.class),
+            context.getBean(LedgerBatchProperties.class),
+            context.getBean(HotWalletService.class),
+            context.getBean(WalletCache.class),
+            context.getBean(MeterRegistry.class),
+            context.getBean("databaseBulkhead", Bulkhead.class),
+            Optional.ofNullable(context.getBeanProvider(InMemoryLedgerEngine.class).getIfAvailable())
+        );
+
+        Currency destinationCurrency = Currency.getInstance(route.equals("cross") ? "USD" : "EUR");
+        sources = createWallets(Currency.getInstance("EUR"));
+        destinations = createWallets(destinationCurrency);
+        hotSources = createWallets(Currency.getInstance("EUR"), "hot-source", HOT_SOURCES);
+        hotDestination = createWallets(destinationCurrency, "hot-destination", 1).getFirst();
+        amount = new BigDecimal("0.01");
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportHotWalletFailures() {
+        long attempts = hotAttempts.sumThenReset();
+        long failures = hotFailures.sumThenReset();
+        if (attempts > 0) {
+            System.out.printf(
+                "%nhot-wallet failure rate: %.2f%% (%d of %d transfers)%n",
+                100.0 * failures / attempts,
+                failures,
+                attempts
+            );
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public Transaction transfer(Outcomes outcomes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Wallet source = sources.get(random.nextInt(walletsPerSide));
+        Wallet destination = destinations.get(random.nextInt(walletsPerSide));
+        try {
+            return random.nextBoolean()
+                ? walletService.transfer(source, destination, amount)
+                : walletService.transfer(destination, source, amount);
+        } catch (ConcurrencyFailureException ex) {
+            outcomes.conflicts++;
+            return null;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Transaction hotWallet1(HotSource source, Outcomes outcomes) {
+        return transferToHotWallet(source.wallet, outcomes);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Transaction hotWallet8(HotSource source, Outcomes outcomes) {
+        return transferToHotWallet(source.wallet, outcomes);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Transaction hotWallet64(HotSource source, Outcomes outcomes) {
+        return transferToHotWallet(source.wallet, outcomes);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<TransferResult> transferBatch() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<TransferCommand> commands = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Wallet source = sources.get(random.nextInt(walletsPerSide));
+            Wallet destination = destinations.get(random.nextInt(walletsPerSide));
+            commands.add(random.nextBoolean()
+                ? new TransferCommand(source.getId(), destination.getId(), amount, null)
+                : new TransferCommand(destination.getId(), source.getId(), amount, null));
+        }
+        return walletService.transferBatch(commands);
+    }
+
+    private Transaction transferToHotWallet(Wallet source, Outcomes outcomes) {
+        hotAttempts.increment();
+        try {
+            return walletService.transfer(source, hotDestination, amount);
+        } catch (ConcurrencyFailureException ex) {
+            outcomes.conflicts++;
+            hotFailures.increment();
+            return null;
+        } catch (BulkheadFullException ex) {
+            outcomes.bulkheadFull++;
+            hotFailures.increment();
+            return null;
+        }
+    }
+
+    private List<Wallet> createWallets(Currency currency) {
+        return createWallets(currency, "bench", walletsPerSide);
+    }
+
+    private List<Wallet> createWallets(Currency currency, String owner, int count) {
+        List<Wallet> wallets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Wallet wallet = walletService.createWallet(owner + "-" + currency + "-" + i, currency);
+            walletService.credit(wallet.getId(), new BigDecimal("1000000000.00"));
+            wallets.add(wallet);
+        }
+        return wallets;
+    }
+
+    private static final class FixedRateExchangeClient implements ExchangeClient {
+
+        @Override
+        public BigDecimal getRate(String from, String to) {
+            return from.equals("EUR") ? EUR_USD_RATE : USD_EUR_RATE;
+        }
+
+        @Override
+        public Map<String, BigDecimal> getRates(String base, Set<String> targets) {
+            Map<String, BigDecimal> rates = new HashMap<>();
+            targets.forEach(target -> rates.put(target, getRate(base, target)));
+            return rates;
+        }
+
+    }
+
+}
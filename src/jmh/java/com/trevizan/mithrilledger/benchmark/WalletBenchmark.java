@@ -0,0 +1,77 @@
+package com.trevizan.mithrilledger.benchmark;
+
+import com.trevizan.mithrilledger.domain.model.Money;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WalletBenchmark {
+
+    @Param({ "EUR", "JPY" })
+    private String currencyCode;
+
+    private Wallet wallet;
+    private Money money;
+    private BigDecimal amount;
+    private BigDecimal decimalBalance;
+    private int scale;
+
+    @Setup
+    public void setUp() {
+        Currency currency = Currency.getInstance(currencyCode);
+        wallet = Wallet.restore(UUID.randomUUID(), "owner", currency, BigDecimal.valueOf(1_000_000), Instant.now());
+        amount = new BigDecimal("12.34").setScale(currency.getDefaultFractionDigits(), RoundingMode.DOWN);
+        money = Money.of(amount, currency);
+        scale = currency.getDefaultFractionDigits();
+        decimalBalance = BigDecimal.valueOf(1_000_000).setScale(scale);
+    }
+
+    @Benchmark
+    public Wallet creditAndDebitMoney() {
+        wallet.credit(money);
+        wallet.debit(money);
+        return wallet;
+    }
+
+    @Benchmark
+    public Wallet creditAndDebitDecimal() {
+        wallet.credit(amount);
+        wallet.debit(amount);
+        return wallet;
+    }
+
+    @Benchmark
+    public BigDecimal creditAndDebitDecimalBaseline() {
+        BigDecimal normalized = amount.setScale(scale, RoundingMode.UNNECESSARY);
+        decimalBalance = decimalBalance.add(normalized);
+        if (decimalBalance.compareTo(normalized) < 0) {
+            throw new IllegalStateException("Insufficient balance.");
+        }
+        decimalBalance = decimalBalance.subtract(normalized);
+        return decimalBalance;
+    }
+
+}
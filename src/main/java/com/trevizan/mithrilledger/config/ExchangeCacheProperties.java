@@ -0,0 +1,27 @@
+package com.trevizan.mithrilledger.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "exchange.cache")
+public record ExchangeCacheProperties(
+    @DefaultValue("5s") Duration ttl,
+    @DefaultValue Map<String, Duration> pairTtl,
+    @DefaultValue("0.8") double refreshAheadRatio,
+    @DefaultValue("60s") Duration maxStale,
+    @DefaultValue Map<String, Set<String>> warmUp
+) {
+    public ExchangeCacheProperties {
+        if (refreshAheadRatio <= 0 || refreshAheadRatio > 1) {
+            throw new IllegalArgumentException("Refresh ahead ratio must be in (0, 1].");
+        }
+    }
+
+    public Duration ttlFor(String from, String to) {
+        return pairTtl.getOrDefault(from + "-" + to, ttl);
+    }
+}
@@ -0,0 +1,202 @@
+package com.trevizan.mithrilledger.config;
+
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.infrastructure.exchange.CachingExchangeClient;
+import com.trevizan.mithrilledger.infrastructure.exchange.FeedExchangeClient;
+import com.trevizan.mithrilledger.infrastructure.exchange.HedgedExchangeClient;
+import com.trevizan.mithrilledger.infrastructure.exchange.HttpExchangeClient;
+import com.trevizan.mithrilledger.infrastructure.exchange.RateFeedSubscriber;
+import com.trevizan.mithrilledger.infrastructure.exchange.RecordingExchangeClient;
+import com.trevizan.mithrilledger.infrastructure.exchange.SingleFlightExchangeClient;
+import com.trevizan.mithrilledger.infrastructure.exchange.TriangulatingExchangeClient;
+import com.trevizan.mithrilledger.service.ExchangeRateHistoryService;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import tools.jackson.databind.ObjectMapper;
+
+@Configuration
+@EnableConfigurationProperties({
+    ExchangeCacheProperties.class,
+    ExchangeHedgingProperties.class,
+    ExchangeTriangulationProperties.class,
+    RateFeedProperties.class
+})
+public class ExchangeConfig {
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "exchange.triangulation", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public CachingExchangeClient cachingExchangeClient(
+        HttpExchangeClient httpExchangeClient,
+        Optional<HedgedExchangeClient> hedgedExchangeClient,
+        Optional<RateFeedSubscriber> rateFeedSubscriber,
+        ExchangeRateHistoryService exchangeRateHistory,
+        ExchangeCacheProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        return newCachingExchangeClient(
+            httpExchangeClient,
+            hedgedExchangeClient,
+            rateFeedSubscriber,
+            exchangeRateHistory,
+            properties,
+            meterRegistry
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "exchange.triangulation", name = "enabled", havingValue = "true")
+    public CachingExchangeClient rateVectorCachingExchangeClient(
+        HttpExchangeClient httpExchangeClient,
+        Optional<HedgedExchangeClient> hedgedExchangeClient,
+        Optional<RateFeedSubscriber> rateFeedSubscriber,
+        ExchangeRateHistoryService exchangeRateHistory,
+        ExchangeCacheProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        return newCachingExchangeClient(
+            httpExchangeClient,
+            hedgedExchangeClient,
+            rateFeedSubscriber,
+            exchangeRateHistory,
+            properties,
+            meterRegistry
+        );
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "exchange.triangulation", name = "enabled", havingValue = "true")
+    public TriangulatingExchangeClient triangulatingExchangeClient(
+        CachingExchangeClient rateVectorCachingExchangeClient,
+        ExchangeTriangulationProperties properties
+    ) {
+        return new TriangulatingExchangeClient(
+            rateVectorCachingExchangeClient,
+            properties.base(),
+            properties.mathContext()
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "exchange.hedging", name = "enabled", havingValue = "true")
+    public HedgedExchangeClient hedgedExchangeClient(
+        HttpExchangeClient httpExchangeClient,
+        @Value("${exchange.base-url}") String baseUrl,
+        ObjectMapper objectMapper,
+        CircuitBreakerRegistry circuitBreakerRegistry,
+        BulkheadRegistry bulkheadRegistry,
+        ExchangeHedgingProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+        return new HedgedExchangeClient(
+            httpClient,
+            baseUrl,
+            objectMapper,
+            httpExchangeClient,
+            circuitBreakerRegistry.circuitBreaker("exchange-service"),
+            bulkheadRegistry.bulkhead("exchange-service"),
+            properties,
+            meterRegistry,
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("exchange-hedge").daemon().factory())
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "exchange.feed", name = "enabled", havingValue = "true")
+    public RateFeedSubscriber rateFeedSubscriber(
+        @Value("${exchange.base-url}") String baseUrl,
+        ObjectMapper objectMapper,
+        RateFeedProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+        RateFeedSubscriber subscriber = new RateFeedSubscriber(
+            httpClient,
+            URI.create(baseUrl + properties.path()),
+            objectMapper,
+            properties,
+            meterRegistry,
+            Clock.systemUTC()
+        );
+        subscriber.start();
+        return subscriber;
+    }
+
+    @Bean
+    public MeterBinder exchangeCircuitBreakerMetrics(CircuitBreakerRegistry circuitBreakerRegistry) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry);
+    }
+
+    @Bean
+    public MeterBinder exchangeRetryMetrics(RetryRegistry retryRegistry) {
+        return TaggedRetryMetrics.ofRetryRegistry(retryRegistry);
+    }
+
+    private static CachingExchangeClient newCachingExchangeClient(
+        HttpExchangeClient httpExchangeClient,
+        Optional<HedgedExchangeClient> hedgedExchangeClient,
+        Optional<RateFeedSubscriber> rateFeedSubscriber,
+        ExchangeRateHistoryService exchangeRateHistory,
+        ExchangeCacheProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        ExchangeClient delegate = hedgedExchangeClient.isPresent()
+            ? hedgedExchangeClient.get()
+            : httpExchangeClient;
+        if (rateFeedSubscriber.isPresent()) {
+            delegate = new FeedExchangeClient(rateFeedSubscriber.get(), delegate, meterRegistry);
+        }
+        delegate = new RecordingExchangeClient(delegate, exchangeRateHistory, meterRegistry);
+
+        CachingExchangeClient cachingExchangeClient = new CachingExchangeClient(
+            new SingleFlightExchangeClient(delegate, meterRegistry),
+            properties,
+            meterRegistry,
+            Clock.systemUTC(),
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("exchange-rate-refresh-", 0).factory())
+        );
+        exchangeRateHistory.loadLatestSince(Instant.now().minus(properties.maxStale())).forEach(rate ->
+            cachingExchangeClient.seed(
+                rate.getFromCurrency(),
+                rate.getToCurrency(),
+                rate.getRate(),
+                rate.getId(),
+                rate.getConfirmedAt()
+            )
+        );
+        return cachingExchangeClient;
+    }
+
+}
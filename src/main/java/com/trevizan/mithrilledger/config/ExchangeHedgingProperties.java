@@ -0,0 +1,26 @@
+package com.trevizan.mithrilledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "exchange.hedging")
+public record ExchangeHedgingProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("0.9") double percentile,
+    @DefaultValue("50ms") Duration initialDelay,
+    @DefaultValue("5ms") Duration minDelay,
+    @DefaultValue("500ms") Duration maxDelay,
+    @DefaultValue("20") int minSamples,
+    @DefaultValue("2s") Duration responseTimeout
+) {
+    public ExchangeHedgingProperties {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Hedging percentile must be in (0, 1).");
+        }
+        if (minDelay.compareTo(maxDelay) > 0) {
+            throw new IllegalArgumentException("Hedging min delay must not exceed max delay.");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.trevizan.mithrilledger.config;
+
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "exchange.triangulation")
+public record ExchangeTriangulationProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("USD") String base,
+    @DefaultValue("16") int precision
+) {
+    public ExchangeTriangulationProperties {
+        if (base == null || base.isBlank()) {
+            throw new IllegalArgumentException("Triangulation base currency must not be blank.");
+        }
+        if (precision < 1) {
+            throw new IllegalArgumentException("Triangulation precision must be at least 1.");
+        }
+    }
+
+    public MathContext mathContext() {
+        return new MathContext(precision, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,22 @@
+package com.trevizan.mithrilledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "ledger.idempotency")
+public record IdempotencyProperties(
+    @DefaultValue("24h") Duration ttl,
+    @DefaultValue("10000") int cacheMaxSize,
+    @DefaultValue("1m") Duration pendingLease
+) {
+    public IdempotencyProperties {
+        if (pendingLease.isNegative() || pendingLease.isZero()) {
+            throw new IllegalArgumentException("Idempotency pending lease must be positive.");
+        }
+        if (cacheMaxSize < 1) {
+            throw new IllegalArgumentException("Idempotency cache max size must be at least 1.");
+        }
+    }
+}
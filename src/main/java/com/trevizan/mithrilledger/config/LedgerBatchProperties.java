@@ -0,0 +1,19 @@
+package com.trevizan.mithrilledger.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "ledger.batch")
+public record LedgerBatchProperties(
+    @DefaultValue("500") int chunkSize,
+    @DefaultValue("10000") int maxSize
+) {
+    public LedgerBatchProperties {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Batch chunk size must be at least 1.");
+        }
+        if (maxSize < chunkSize) {
+            throw new IllegalArgumentException("Batch max size must not be lower than the chunk size.");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.trevizan.mithrilledger.config;
+
+import com.trevizan.mithrilledger.repository.TransactionRepository;
+import com.trevizan.mithrilledger.repository.WalletRepository;
+import com.trevizan.mithrilledger.service.engine.InMemoryLedgerEngine;
+import com.trevizan.mithrilledger.service.engine.LedgerJournal;
+import com.trevizan.mithrilledger.service.engine.LedgerPersister;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@ConditionalOnProperty(prefix = "ledger.engine", name = "mode", havingValue = "in-memory")
+public class LedgerEngineConfig {
+
+    @Bean
+    public InMemoryLedgerEngine inMemoryLedgerEngine(
+        WalletRepository walletRepository,
+        TransactionRepository transactionRepository,
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        LedgerEngineProperties properties
+    ) {
+        LedgerEngineProperties.Journal journalProperties = properties.journal();
+        LedgerJournal journal = journalProperties.enabled()
+            ? new LedgerJournal(
+                journalProperties.directory(),
+                Math.toIntExact(journalProperties.segmentSize().toBytes()),
+                journalProperties.fsyncInterval()
+            )
+            : null;
+
+        LedgerPersister persister = journal != null
+            ? new LedgerPersister(jdbcTemplate, transactionTemplate, properties.persistBatchSize(), journal::sync)
+            : new LedgerPersister(jdbcTemplate, transactionTemplate, properties.persistBatchSize());
+
+        InMemoryLedgerEngine engine = new InMemoryLedgerEngine(
+            walletRepository,
+            transactionRepository,
+            persister,
+            journal,
+            properties
+        );
+        engine.start();
+        return engine;
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.trevizan.mithrilledger.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "ledger.engine")
+public record LedgerEngineProperties(
+    @DefaultValue("JPA") Mode mode,
+    @DefaultValue("4") int partitions,
+    @DefaultValue("4096") int ringSize,
+    @DefaultValue("256") int writerBatchSize,
+    @DefaultValue("1000") int persistBatchSize,
+    @DefaultValue("50ms") Duration persistInterval,
+    @DefaultValue Journal journal
+) {
+    public LedgerEngineProperties {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Engine partitions must be at least 1.");
+        }
+        if (ringSize < 1 || writerBatchSize < 1 || persistBatchSize < 1) {
+            throw new IllegalArgumentException("Engine ring size and batch sizes must be at least 1.");
+        }
+    }
+
+    public boolean isInMemory() {
+        return mode == Mode.IN_MEMORY;
+    }
+
+    public enum Mode {
+        JPA,
+        IN_MEMORY
+    }
+
+    public record Journal(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/journal") Path directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("5ms") Duration fsyncInterval,
+        @DefaultValue("1m") Duration checkpointInterval
+    ) {
+        public Journal {
+            if (fsyncInterval.isNegative()) {
+                throw new IllegalArgumentException("Journal fsync interval must not be negative.");
+            }
+            if (!checkpointInterval.isPositive()) {
+                throw new IllegalArgumentException("Journal checkpoint interval must be positive.");
+            }
+        }
+    }
+}
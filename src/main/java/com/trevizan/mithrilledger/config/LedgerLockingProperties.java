@@ -0,0 +1,25 @@
+package com.trevizan.mithrilledger.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "ledger.locking")
+public record LedgerLockingProperties(
+    @DefaultValue("PESSIMISTIC") Mode mode,
+    @DefaultValue("3") int optimisticMaxAttempts
+) {
+    public LedgerLockingProperties {
+        if (optimisticMaxAttempts < 1) {
+            throw new IllegalArgumentException("Optimistic max attempts must be at least 1.");
+        }
+    }
+
+    public boolean isPessimistic() {
+        return mode == Mode.PESSIMISTIC;
+    }
+
+    public enum Mode {
+        OPTIMISTIC,
+        PESSIMISTIC
+    }
+}
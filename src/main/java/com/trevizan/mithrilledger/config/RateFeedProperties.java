@@ -0,0 +1,23 @@
+package com.trevizan.mithrilledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "exchange.feed")
+public record RateFeedProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("/api/v1/exchanges/rates/stream") String path,
+    @DefaultValue("10s") Duration staleAfter,
+    @DefaultValue("1s") Duration reconnectDelay
+) {
+    public RateFeedProperties {
+        if (staleAfter.isNegative() || staleAfter.isZero()) {
+            throw new IllegalArgumentException("Rate feed stale-after must be positive.");
+        }
+        if (reconnectDelay.isNegative()) {
+            throw new IllegalArgumentException("Rate feed reconnect delay must not be negative.");
+        }
+    }
+}
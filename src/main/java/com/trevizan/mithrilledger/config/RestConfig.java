@@ -1,5 +1,8 @@
 package com.trevizan.mithrilledger.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
 import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
@@ -7,32 +10,44 @@ import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        RequestConfig requestConfig = RequestConfig.custom()
-            .setResponseTimeout(Timeout.ofSeconds(2))
-            .build();
-
+    public PoolingHttpClientConnectionManager exchangeConnectionManager(
+        @Value("${exchange.http.max-connections:50}") int maxConnections
+    ) {
         ConnectionConfig connectionConfig = ConnectionConfig.custom()
             .setConnectTimeout(Timeout.ofSeconds(2))
             .build();
 
-        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+        return PoolingHttpClientConnectionManagerBuilder.create()
             .setDefaultConnectionConfig(connectionConfig)
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnections)
+            .build();
+    }
+
+    @Bean
+    public MeterBinder exchangeConnectionPoolMetrics(PoolingHttpClientConnectionManager exchangeConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(exchangeConnectionManager, "exchange");
+    }
+
+    @Bean
+    public RestTemplate restTemplate(PoolingHttpClientConnectionManager exchangeConnectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setResponseTimeout(Timeout.ofSeconds(2))
             .build();
 
         CloseableHttpClient httpClient = HttpClients.custom()
             .setDefaultRequestConfig(requestConfig)
-            .setConnectionManager(connectionManager)
+            .setConnectionManager(exchangeConnectionManager)
             .build();
 
         HttpComponentsClientHttpRequestFactory requestFactory =
@@ -0,0 +1,28 @@
+package com.trevizan.mithrilledger.config;
+
+import com.trevizan.mithrilledger.infrastructure.jvm.VirtualThreadPinningMonitor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+        @Value("${ledger.virtual-threads.pinned-threshold:20ms}") Duration threshold,
+        MeterRegistry meterRegistry
+    ) {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(threshold, meterRegistry);
+        monitor.start();
+        return monitor;
+    }
+
+}
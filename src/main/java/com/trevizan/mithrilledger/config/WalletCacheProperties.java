@@ -0,0 +1,19 @@
+package com.trevizan.mithrilledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "ledger.wallet-cache")
+public record WalletCacheProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("100000") int maxSize,
+    @DefaultValue("5m") Duration ttl
+) {
+    public WalletCacheProperties {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Wallet cache max size must be at least 1.");
+        }
+    }
+}
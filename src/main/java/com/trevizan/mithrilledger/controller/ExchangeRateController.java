@@ -0,0 +1,36 @@
+package com.trevizan.mithrilledger.controller;
+
+import com.trevizan.mithrilledger.controller.dto.ExchangeRateResponse;
+import com.trevizan.mithrilledger.exception.domain.ExchangeRateNotFoundException;
+import com.trevizan.mithrilledger.service.ExchangeRateHistoryService;
+
+import java.time.Instant;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/exchange-rates")
+public class ExchangeRateController {
+
+    private final ExchangeRateHistoryService exchangeRateHistory;
+
+    public ExchangeRateController(ExchangeRateHistoryService exchangeRateHistory) {
+        this.exchangeRateHistory = exchangeRateHistory;
+    }
+
+    @GetMapping
+    public ExchangeRateResponse getRateAt(
+        @RequestParam String from,
+        @RequestParam String to,
+        @RequestParam(required = false) Instant at
+    ) {
+        Instant instant = at == null ? Instant.now() : at;
+        return exchangeRateHistory.findAt(from, to, instant)
+            .map(ExchangeRateResponse::from)
+            .orElseThrow(() -> new ExchangeRateNotFoundException(from, to, instant));
+    }
+
+}
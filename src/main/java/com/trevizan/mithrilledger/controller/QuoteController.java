@@ -0,0 +1,57 @@
+package com.trevizan.mithrilledger.controller;
+
+import com.trevizan.mithrilledger.controller.dto.QuoteRequest;
+import com.trevizan.mithrilledger.controller.dto.QuoteResponse;
+import com.trevizan.mithrilledger.domain.exchange.RateQuote;
+import com.trevizan.mithrilledger.service.QuoteService;
+
+import java.net.URI;
+import java.util.Currency;
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/quotes")
+public class QuoteController {
+
+    private final QuoteService quoteService;
+
+    public QuoteController(QuoteService quoteService) {
+        this.quoteService = quoteService;
+    }
+
+    @PostMapping
+    public ResponseEntity<QuoteResponse> create(@RequestBody QuoteRequest request) {
+        RateQuote quote = quoteService.createQuote(
+            toCurrency(request.fromCurrency(), "Origin currency"),
+            toCurrency(request.toCurrency(), "Destination currency")
+        );
+
+        URI location = URI.create("/api/v1/quotes/" + quote.id());
+        return ResponseEntity.created(location).body(QuoteResponse.from(quote));
+    }
+
+    @GetMapping("/{id}")
+    public QuoteResponse getQuote(@PathVariable UUID id) {
+        return QuoteResponse.from(quoteService.getValidQuote(id));
+    }
+
+    private Currency toCurrency(String code, String field) {
+        if (code == null || code.isBlank()) {
+            throw new IllegalArgumentException(field + " is required.");
+        }
+        try {
+            return Currency.getInstance(code);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid currency code: " + code);
+        }
+    }
+
+}
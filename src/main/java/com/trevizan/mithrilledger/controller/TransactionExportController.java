@@ -0,0 +1,113 @@
+package com.trevizan.mithrilledger.controller;
+
+import com.trevizan.mithrilledger.controller.dto.TransactionExportRow;
+import com.trevizan.mithrilledger.service.TransactionExportService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import tools.jackson.databind.ObjectMapper;
+
+@RestController
+@RequestMapping("/api/v1/transactions")
+public class TransactionExportController {
+
+    private final TransactionExportService transactionExportService;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportController(
+        TransactionExportService transactionExportService,
+        ObjectMapper objectMapper
+    ) {
+        this.transactionExportService = transactionExportService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+        @RequestParam(defaultValue = "ndjson") String format,
+        @RequestParam(required = false) UUID walletId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to
+    ) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        Instant rangeStart = from == null ? Instant.EPOCH : from;
+        Instant rangeEnd = to == null ? Instant.now() : to;
+
+        if (!rangeStart.isBefore(rangeEnd)) {
+            throw new IllegalArgumentException("From must be before to.");
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (exportFormat == ExportFormat.CSV) {
+                writer.write(TransactionExportRow.CSV_HEADER);
+                writer.write('\n');
+            }
+
+            transactionExportService.export(walletId, rangeStart, rangeEnd, transaction -> writeLine(
+                writer,
+                exportFormat,
+                TransactionExportRow.from(transaction)
+            ));
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+            .contentType(exportFormat.mediaType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("transactions." + exportFormat.extension)
+                .build()
+                .toString())
+            .body(body);
+    }
+
+    private void writeLine(Writer writer, ExportFormat format, TransactionExportRow row) {
+        try {
+            writer.write(format == ExportFormat.CSV ? row.toCsv() : objectMapper.writeValueAsString(row));
+            writer.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private enum ExportFormat {
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        ExportFormat(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        static ExportFormat parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Format must be one of: ndjson, csv.");
+            }
+        }
+    }
+
+}
@@ -1,35 +1,82 @@
 package com.trevizan.mithrilledger.controller;
 
+import com.trevizan.mithrilledger.controller.dto.BatchTransferRequest;
+import com.trevizan.mithrilledger.controller.dto.BatchTransferResponse;
+import com.trevizan.mithrilledger.controller.dto.BulkAmountItemResponse;
+import com.trevizan.mithrilledger.controller.dto.BulkAmountRequest;
+import com.trevizan.mithrilledger.controller.dto.TransactionPageResponse;
 import com.trevizan.mithrilledger.controller.dto.TransactionResponse;
 import com.trevizan.mithrilledger.controller.dto.TransferRequest;
 import com.trevizan.mithrilledger.controller.dto.WalletAmountRequest;
+import com.trevizan.mithrilledger.controller.dto.WalletBalanceResponse;
 import com.trevizan.mithrilledger.controller.dto.WalletRequest;
 import com.trevizan.mithrilledger.controller.dto.WalletResponse;
+import com.trevizan.mithrilledger.controller.dto.WalletStripingRequest;
 import com.trevizan.mithrilledger.domain.model.Transaction;
 import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.domain.model.WalletView;
+import com.trevizan.mithrilledger.service.BalanceSnapshotService;
+import com.trevizan.mithrilledger.service.IdempotencyService;
+import com.trevizan.mithrilledger.service.TransactionCursor;
+import com.trevizan.mithrilledger.service.TransactionHistoryService;
+import com.trevizan.mithrilledger.service.TransferCommand;
+import com.trevizan.mithrilledger.service.TransferResult;
+import com.trevizan.mithrilledger.service.WalletAmountCommand;
+import com.trevizan.mithrilledger.service.WalletAmountResult;
 import com.trevizan.mithrilledger.service.WalletService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.time.Instant;
 import java.util.Currency;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import tools.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/api/v1/wallets")
 public class WalletController {
 
+    private static final int MAX_BULK_ITEMS = 100_000;
+    private static final int MAX_HISTORY_LIMIT = 200;
+    private static final byte[] LINE_SEPARATOR = {'\n'};
+
     private final WalletService walletService;
+    private final IdempotencyService idempotencyService;
+    private final TransactionHistoryService transactionHistoryService;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final ObjectMapper objectMapper;
 
-    public WalletController(WalletService walletService) {
+    public WalletController(
+        WalletService walletService,
+        IdempotencyService idempotencyService,
+        TransactionHistoryService transactionHistoryService,
+        BalanceSnapshotService balanceSnapshotService,
+        ObjectMapper objectMapper
+    ) {
         this.walletService = walletService;
+        this.idempotencyService = idempotencyService;
+        this.transactionHistoryService = transactionHistoryService;
+        this.balanceSnapshotService = balanceSnapshotService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -56,49 +103,173 @@ public class WalletController {
 
     @GetMapping("/{id}")
     public WalletResponse getWallet(@PathVariable UUID id) {
-        return WalletResponse.from(walletService.getWalletById(id));
+        WalletView wallet = walletService.getWalletView(id);
+        return WalletResponse.from(wallet, walletService.getTotalBalance(wallet));
+    }
+
+    @GetMapping("/{id}/balance")
+    public WalletBalanceResponse getBalance(
+        @PathVariable UUID id,
+        @RequestParam(required = false) Instant asOf
+    ) {
+        Wallet wallet = walletService.getWalletById(id);
+        String currency = wallet.getCurrency().getCurrencyCode();
+
+        if (asOf == null) {
+            return new WalletBalanceResponse(id, walletService.getTotalBalance(wallet), currency, Instant.now());
+        }
+        return new WalletBalanceResponse(id, balanceSnapshotService.getBalanceAsOf(wallet, asOf), currency, asOf);
+    }
+
+    @GetMapping("/{id}/transactions")
+    public TransactionPageResponse getTransactions(
+        @PathVariable UUID id,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        if (limit < 1 || limit > MAX_HISTORY_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_HISTORY_LIMIT + ".");
+        }
+
+        return TransactionPageResponse.from(transactionHistoryService.getHistory(
+            id,
+            cursor == null ? null : TransactionCursor.decode(cursor),
+            limit
+        ));
+    }
+
+    @PostMapping("/{id}/stripes")
+    public ResponseEntity<WalletResponse> enableStriping(
+        @PathVariable UUID id,
+        @RequestBody WalletStripingRequest request
+    ) {
+        validateWalletStripingRequest(request);
+
+        Wallet wallet = walletService.enableStriping(id, request.stripes());
+        return ResponseEntity.ok(toResponse(wallet));
     }
 
     @PostMapping("/credit")
-    public ResponseEntity<WalletResponse> credit(@RequestBody WalletAmountRequest request) {
+    public ResponseEntity<WalletResponse> credit(
+        @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+        @RequestBody WalletAmountRequest request
+    ) {
         validateWalletAmountRequest(request);
 
-        Wallet wallet = walletService.credit(
-            request.walletId(),
-            request.amount()
-        );
+        return idempotencyService.execute(idempotencyKey, "wallet.credit", request, WalletResponse.class, () -> {
+            Wallet wallet = walletService.credit(
+                request.walletId(),
+                request.amount()
+            );
 
-        WalletResponse response = WalletResponse.from(wallet);
-        return ResponseEntity.ok(response);
+            WalletResponse response = toResponse(wallet);
+            return ResponseEntity.ok(response);
+        });
     }
 
     @PostMapping("/debit")
-    public ResponseEntity<WalletResponse> debit(@RequestBody WalletAmountRequest request) {
+    public ResponseEntity<WalletResponse> debit(
+        @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+        @RequestBody WalletAmountRequest request
+    ) {
         validateWalletAmountRequest(request);
 
-        Wallet wallet = walletService.debit(
-            request.walletId(),
-            request.amount()
-        );
+        return idempotencyService.execute(idempotencyKey, "wallet.debit", request, WalletResponse.class, () -> {
+            Wallet wallet = walletService.debit(
+                request.walletId(),
+                request.amount()
+            );
 
-        WalletResponse response = WalletResponse.from(wallet);
-        return ResponseEntity.ok(response);
+            WalletResponse response = toResponse(wallet);
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    @PostMapping("/credit/bulk")
+    public ResponseEntity<StreamingResponseBody> creditBulk(@RequestBody BulkAmountRequest request) {
+        return streamBulk(request, walletService::creditBulk);
+    }
+
+    @PostMapping("/debit/bulk")
+    public ResponseEntity<StreamingResponseBody> debitBulk(@RequestBody BulkAmountRequest request) {
+        return streamBulk(request, walletService::debitBulk);
     }
 
     @PostMapping("/transfer")
-    public ResponseEntity<TransactionResponse> transfer(@RequestBody TransferRequest request) {
+    public ResponseEntity<TransactionResponse> transfer(
+        @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+        @RequestBody TransferRequest request
+    ) {
         validateTransferRequest(request);
 
-        Transaction transaction = walletService.transfer(
-            walletService.getWalletById(request.fromWalletId()),
-            walletService.getWalletById(request.toWalletId()),
-            request.amount()
+        return idempotencyService.execute(idempotencyKey, "wallet.transfer", request, TransactionResponse.class, () -> {
+            Transaction transaction = walletService.transfer(
+                walletService.getWalletById(request.fromWalletId()),
+                walletService.getWalletById(request.toWalletId()),
+                request.amount(),
+                request.quoteId()
+            );
+
+            TransactionResponse response = TransactionResponse.from(transaction);
+
+            URI location = URI.create("/api/v1/wallets/transactions/" + transaction.getId());
+            return ResponseEntity.created(location).body(response);
+        });
+    }
+
+    @PostMapping("/transfers/batch")
+    public ResponseEntity<BatchTransferResponse> transferBatch(@RequestBody BatchTransferRequest request) {
+        if (request.transfers() == null || request.transfers().isEmpty()) {
+            throw new IllegalArgumentException("Transfers are required.");
+        }
+
+        List<TransferCommand> commands = request.transfers().stream()
+            .map(transfer -> new TransferCommand(
+                transfer.fromWalletId(),
+                transfer.toWalletId(),
+                transfer.amount(),
+                transfer.quoteId()
+            ))
+            .toList();
+
+        List<TransferResult> results = walletService.transferBatch(commands);
+        return ResponseEntity.ok(BatchTransferResponse.from(results));
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamBulk(
+        BulkAmountRequest request,
+        BiConsumer<List<WalletAmountCommand>, Consumer<WalletAmountResult>> operation
+    ) {
+        validateBulkAmountRequest(request);
+
+        List<WalletAmountCommand> commands = request.items().stream()
+            .map(item -> new WalletAmountCommand(item.walletId(), item.amount()))
+            .toList();
+
+        StreamingResponseBody body = outputStream -> operation.accept(
+            commands,
+            result -> writeLine(outputStream, BulkAmountItemResponse.from(result))
         );
 
-        TransactionResponse response = TransactionResponse.from(transaction);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
 
-        URI location = URI.create("/api/v1/wallets/transactions/" + transaction.getId());
-        return ResponseEntity.created(location).body(response);
+    private void writeLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write(LINE_SEPARATOR);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private WalletResponse toResponse(Wallet wallet) {
+        if (!wallet.isStriped()) {
+            return WalletResponse.from(wallet);
+        }
+        return WalletResponse.from(wallet, walletService.getTotalBalance(wallet));
     }
 
     private void validateWalletRequest(WalletRequest request) {
@@ -119,6 +290,15 @@ public class WalletController {
         }
     }
 
+    private void validateBulkAmountRequest(BulkAmountRequest request) {
+        if (request.items() == null || request.items().isEmpty()) {
+            throw new IllegalArgumentException("Items are required.");
+        }
+        if (request.items().size() > MAX_BULK_ITEMS) {
+            throw new IllegalArgumentException("Items must contain at most " + MAX_BULK_ITEMS + " entries.");
+        }
+    }
+
     private void validateTransferRequest(TransferRequest request) {
         if (request.fromWalletId() == null) {
             throw new IllegalArgumentException("Origin Wallet ID is required.");
@@ -131,4 +311,10 @@ public class WalletController {
         }
     }
 
+    private void validateWalletStripingRequest(WalletStripingRequest request) {
+        if (request.stripes() == null || request.stripes() < 2 || request.stripes() > 64) {
+            throw new IllegalArgumentException("Stripes must be between 2 and 64.");
+        }
+    }
+
 }
@@ -0,0 +1,8 @@
+package com.trevizan.mithrilledger.controller.dto;
+
+import java.util.List;
+
+public record BatchTransferRequest(
+    List<TransferRequest> transfers
+) {
+}
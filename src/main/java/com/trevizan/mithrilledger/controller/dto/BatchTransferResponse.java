@@ -0,0 +1,35 @@
+package com.trevizan.mithrilledger.controller.dto;
+
+import com.trevizan.mithrilledger.service.BatchItemStatus;
+import com.trevizan.mithrilledger.service.TransferResult;
+
+import java.util.List;
+
+public record BatchTransferResponse(
+    int applied,
+    int rejected,
+    List<Item> results
+) {
+    public static BatchTransferResponse from(List<TransferResult> results) {
+        List<Item> items = results.stream().map(Item::from).toList();
+        int applied = (int) results.stream().filter(TransferResult::isApplied).count();
+
+        return new BatchTransferResponse(applied, results.size() - applied, items);
+    }
+
+    public record Item(
+        int index,
+        BatchItemStatus status,
+        TransactionResponse transaction,
+        String error
+    ) {
+        static Item from(TransferResult result) {
+            return new Item(
+                result.index(),
+                result.status(),
+                result.isApplied() ? TransactionResponse.from(result.transaction()) : null,
+                result.error()
+            );
+        }
+    }
+}
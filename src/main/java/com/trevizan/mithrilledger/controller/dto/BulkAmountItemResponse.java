@@ -0,0 +1,25 @@
+package com.trevizan.mithrilledger.controller.dto;
+
+import com.trevizan.mithrilledger.service.BatchItemStatus;
+import com.trevizan.mithrilledger.service.WalletAmountResult;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record BulkAmountItemResponse(
+    int index,
+    UUID walletId,
+    BatchItemStatus status,
+    BigDecimal balance,
+    String error
+) {
+    public static BulkAmountItemResponse from(WalletAmountResult result) {
+        return new BulkAmountItemResponse(
+            result.index(),
+            result.walletId(),
+            result.status(),
+            result.balance(),
+            result.error()
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package com.trevizan.mithrilledger.controller.dto;
+
+import com.trevizan.mithrilledger.domain.model.ExchangeRate;
+import com.trevizan.mithrilledger.domain.model.ExchangeRateSource;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record ExchangeRateResponse(
+    UUID id,
+    String fromCurrency,
+    String toCurrency,
+    BigDecimal rate,
+    ExchangeRateSource source,
+    Instant fetchedAt
+) {
+    public static ExchangeRateResponse from(ExchangeRate rate) {
+        return new ExchangeRateResponse(
+            rate.getId(),
+            rate.getFromCurrency(),
+            rate.getToCurrency(),
+            rate.getRate(),
+            rate.getSource(),
+            rate.getFetchedAt()
+        );
+    }
+}
@@ -0,0 +1,6 @@
+package com.trevizan.mithrilledger.controller.dto;
+
+public record QuoteRequest(
+    String fromCurrency,
+    String toCurrency
+) { }
@@ -0,0 +1,27 @@
+package com.trevizan.mithrilledger.controller.dto;
+
+import com.trevizan.mithrilledger.domain.exchange.RateQuote;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record QuoteResponse(
+    UUID id,
+    String fromCurrency,
+    String toCurrency,
+    BigDecimal rate,
+    UUID rateId,
+    Instant expiresAt
+) {
+    public static QuoteResponse from(RateQuote quote) {
+        return new QuoteResponse(
+            quote.id(),
+            quote.fromCurrency().getCurrencyCode(),
+            quote.toCurrency().getCurrencyCode(),
+            quote.rate(),
+            quote.rateId(),
+            quote.expiresAt()
+        );
+    }
+}
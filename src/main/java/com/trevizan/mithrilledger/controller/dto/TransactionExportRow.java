@@ -0,0 +1,60 @@
+package com.trevizan.mithrilledger.controller.dto;
+
+import com.trevizan.mithrilledger.domain.model.Money;
+import com.trevizan.mithrilledger.domain.model.TransactionSummary;
+import com.trevizan.mithrilledger.domain.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+public record TransactionExportRow(
+    UUID id,
+    TransactionType type,
+    UUID fromWalletId,
+    UUID toWalletId,
+    BigDecimal amountDebited,
+    BigDecimal amountCredited,
+    String fromCurrency,
+    String toCurrency,
+    BigDecimal exchangeRate,
+    Instant createdAt
+) {
+    public static final String CSV_HEADER =
+        "id,type,fromWalletId,toWalletId,amountDebited,amountCredited,fromCurrency,toCurrency,exchangeRate,createdAt";
+
+    public static TransactionExportRow from(TransactionSummary transaction) {
+        return new TransactionExportRow(
+            transaction.id(),
+            transaction.type(),
+            transaction.fromWalletId(),
+            transaction.toWalletId(),
+            Money.rescale(transaction.amountDebited(), transaction.fromCurrency()),
+            Money.rescale(transaction.amountCredited(), transaction.toCurrency()),
+            transaction.fromCurrency(),
+            transaction.toCurrency(),
+            transaction.exchangeRate(),
+            transaction.createdAt()
+        );
+    }
+
+    public String toCsv() {
+        return String.join(",",
+            id.toString(),
+            type.name(),
+            Objects.toString(fromWalletId, ""),
+            Objects.toString(toWalletId, ""),
+            plain(amountDebited),
+            plain(amountCredited),
+            Objects.toString(fromCurrency, ""),
+            Objects.toString(toCurrency, ""),
+            plain(exchangeRate),
+            createdAt.toString()
+        );
+    }
+
+    private static String plain(BigDecimal value) {
+        return value == null ? "" : value.toPlainString();
+    }
+}
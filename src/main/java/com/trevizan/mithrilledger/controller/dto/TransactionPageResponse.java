@@ -0,0 +1,17 @@
+package com.trevizan.mithrilledger.controller.dto;
+
+import com.trevizan.mithrilledger.service.TransactionPage;
+
+import java.util.List;
+
+public record TransactionPageResponse(
+    List<TransactionResponse> items,
+    String nextCursor
+) {
+    public static TransactionPageResponse from(TransactionPage page) {
+        return new TransactionPageResponse(
+            page.items().stream().map(TransactionResponse::from).toList(),
+            page.nextCursor() == null ? null : page.nextCursor().encode()
+        );
+    }
+}
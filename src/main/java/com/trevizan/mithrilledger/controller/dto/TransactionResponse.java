@@ -1,6 +1,10 @@
 package com.trevizan.mithrilledger.controller.dto;
 
+import com.trevizan.mithrilledger.domain.model.Money;
 import com.trevizan.mithrilledger.domain.model.Transaction;
+import com.trevizan.mithrilledger.domain.model.TransactionSummary;
+import com.trevizan.mithrilledger.domain.model.TransactionType;
+import com.trevizan.mithrilledger.domain.model.Wallet;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -8,22 +12,44 @@ import java.util.UUID;
 
 public record TransactionResponse(
     UUID id,
+    TransactionType type,
     UUID fromWalletId,
     UUID toWalletId,
     BigDecimal amountDebited,
     BigDecimal amountCredited,
     BigDecimal exchangeRate,
+    UUID exchangeRateId,
     Instant createdAt
 ) {
     public static TransactionResponse from(Transaction transaction) {
         return new TransactionResponse(
             transaction.getId(),
-            transaction.getFromWallet().getId(),
-            transaction.getToWallet().getId(),
-            transaction.getAmountDebited(),
-            transaction.getAmountCredited(),
+            transaction.getType(),
+            walletId(transaction.getFromWallet()),
+            walletId(transaction.getToWallet()),
+            Money.rescale(transaction.getAmountDebited(), transaction.getFromCurrency()),
+            Money.rescale(transaction.getAmountCredited(), transaction.getToCurrency()),
             transaction.getExchangeRate(),
+            transaction.getExchangeRateId(),
             transaction.getCreatedAt()
         );
     }
+
+    public static TransactionResponse from(TransactionSummary transaction) {
+        return new TransactionResponse(
+            transaction.id(),
+            transaction.type(),
+            transaction.fromWalletId(),
+            transaction.toWalletId(),
+            Money.rescale(transaction.amountDebited(), transaction.fromCurrency()),
+            Money.rescale(transaction.amountCredited(), transaction.toCurrency()),
+            transaction.exchangeRate(),
+            transaction.exchangeRateId(),
+            transaction.createdAt()
+        );
+    }
+
+    private static UUID walletId(Wallet wallet) {
+        return wallet == null ? null : wallet.getId();
+    }
 }
@@ -6,5 +6,10 @@ import java.util.UUID;
 public record TransferRequest(
     UUID fromWalletId,
     UUID toWalletId,
-    BigDecimal amount
-) { }
+    BigDecimal amount,
+    UUID quoteId
+) {
+    public TransferRequest(UUID fromWalletId, UUID toWalletId, BigDecimal amount) {
+        this(fromWalletId, toWalletId, amount, null);
+    }
+}
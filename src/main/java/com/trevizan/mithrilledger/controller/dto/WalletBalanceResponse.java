@@ -0,0 +1,12 @@
+package com.trevizan.mithrilledger.controller.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record WalletBalanceResponse(
+    UUID walletId,
+    BigDecimal balance,
+    String currency,
+    Instant asOf
+) { }
@@ -1,6 +1,7 @@
 package com.trevizan.mithrilledger.controller.dto;
 
 import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.domain.model.WalletView;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -14,12 +15,26 @@ public record WalletResponse(
     Instant createdAt
 ) {
     public static WalletResponse from(Wallet wallet) {
+        return from(wallet, wallet.getBalance());
+    }
+
+    public static WalletResponse from(Wallet wallet, BigDecimal balance) {
         return new WalletResponse(
             wallet.getId(),
             wallet.getOwnerId(),
-            wallet.getBalance(),
+            balance,
             wallet.getCurrency().getCurrencyCode(),
             wallet.getCreatedAt()
         );
     }
+
+    public static WalletResponse from(WalletView wallet, BigDecimal balance) {
+        return new WalletResponse(
+            wallet.id(),
+            wallet.ownerId(),
+            balance,
+            wallet.currency().getCurrencyCode(),
+            wallet.createdAt()
+        );
+    }
 }
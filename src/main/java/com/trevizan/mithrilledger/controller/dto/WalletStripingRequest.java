@@ -0,0 +1,5 @@
+package com.trevizan.mithrilledger.controller.dto;
+
+public record WalletStripingRequest(
+    Integer stripes
+) { }
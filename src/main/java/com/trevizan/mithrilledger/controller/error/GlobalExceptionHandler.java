@@ -1,14 +1,22 @@
 package com.trevizan.mithrilledger.controller.error;
 
+import com.trevizan.mithrilledger.exception.domain.ExchangeRateNotFoundException;
+import com.trevizan.mithrilledger.exception.domain.IdempotencyKeyInProgressException;
+import com.trevizan.mithrilledger.exception.domain.IdempotencyKeyMismatchException;
 import com.trevizan.mithrilledger.exception.domain.InsufficientBalanceException;
+import com.trevizan.mithrilledger.exception.domain.QuoteExpiredException;
+import com.trevizan.mithrilledger.exception.domain.QuoteNotFoundException;
 import com.trevizan.mithrilledger.exception.domain.WalletNotFoundException;
 import com.trevizan.mithrilledger.exception.infrastructure.ExchangeInvalidResponseException;
 import com.trevizan.mithrilledger.exception.infrastructure.ExchangeServiceUnavailableException;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+
 import java.time.Instant;
 
 import jakarta.servlet.http.HttpServletRequest;
 
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -41,6 +49,58 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex, HttpStatus.CONFLICT, request);
     }
 
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyFailureException(
+        ConcurrencyFailureException ex,
+        HttpServletRequest request
+    ) {
+        return buildErrorResponse(
+            "Wallet was updated concurrently, please retry.",
+            HttpStatus.CONFLICT,
+            request
+        );
+    }
+
+    @ExceptionHandler(QuoteNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleQuoteNotFoundException(
+        QuoteNotFoundException ex,
+        HttpServletRequest request
+    ) {
+        return buildErrorResponse(ex, HttpStatus.NOT_FOUND, request);
+    }
+
+    @ExceptionHandler(ExchangeRateNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleExchangeRateNotFoundException(
+        ExchangeRateNotFoundException ex,
+        HttpServletRequest request
+    ) {
+        return buildErrorResponse(ex, HttpStatus.NOT_FOUND, request);
+    }
+
+    @ExceptionHandler(QuoteExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleQuoteExpiredException(
+        QuoteExpiredException ex,
+        HttpServletRequest request
+    ) {
+        return buildErrorResponse(ex, HttpStatus.GONE, request);
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyMismatchException(
+        IdempotencyKeyMismatchException ex,
+        HttpServletRequest request
+    ) {
+        return buildErrorResponse(ex, HttpStatus.UNPROCESSABLE_CONTENT, request);
+    }
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyInProgressException(
+        IdempotencyKeyInProgressException ex,
+        HttpServletRequest request
+    ) {
+        return buildErrorResponse(ex, HttpStatus.CONFLICT, request);
+    }
+
     @ExceptionHandler(ExchangeServiceUnavailableException.class)
     public ResponseEntity<ErrorResponse> handleExchangeServiceUnavailableException(
         ExchangeServiceUnavailableException ex,
@@ -57,16 +117,36 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex, HttpStatus.SERVICE_UNAVAILABLE, request);
     }
 
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ErrorResponse> handleBulkheadFullException(
+        BulkheadFullException ex,
+        HttpServletRequest request
+    ) {
+        return buildErrorResponse(
+            "Service is at capacity, please retry.",
+            HttpStatus.SERVICE_UNAVAILABLE,
+            request
+        );
+    }
+
     private ResponseEntity<ErrorResponse> buildErrorResponse(
         Exception ex,
         HttpStatus status,
         HttpServletRequest request
+    ) {
+        return buildErrorResponse(ex.getMessage(), status, request);
+    }
+
+    private ResponseEntity<ErrorResponse> buildErrorResponse(
+        String message,
+        HttpStatus status,
+        HttpServletRequest request
     ) {
         ErrorResponse response = new ErrorResponse(
             Instant.now(),
             status.value(),
             status.getReasonPhrase(),
-            ex.getMessage(),
+            message,
             request.getRequestURI()
         );
         return ResponseEntity.status(status).body(response);
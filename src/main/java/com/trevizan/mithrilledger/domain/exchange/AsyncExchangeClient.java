@@ -0,0 +1,10 @@
+package com.trevizan.mithrilledger.domain.exchange;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncExchangeClient {
+
+    CompletableFuture<BigDecimal> getRateAsync(String from, String to);
+
+}
@@ -1,9 +1,13 @@
 package com.trevizan.mithrilledger.domain.exchange;
 
 import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
 
 public interface ExchangeClient {
 
     BigDecimal getRate(String from, String to);
 
+    Map<String, BigDecimal> getRates(String base, Set<String> targets);
+
 }
@@ -0,0 +1,32 @@
+package com.trevizan.mithrilledger.domain.exchange;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.Objects;
+import java.util.UUID;
+
+public record RateQuote(
+    UUID id,
+    Currency fromCurrency,
+    Currency toCurrency,
+    BigDecimal rate,
+    UUID rateId,
+    Instant expiresAt
+) {
+    public RateQuote {
+        Objects.requireNonNull(id);
+        Objects.requireNonNull(fromCurrency);
+        Objects.requireNonNull(toCurrency);
+        Objects.requireNonNull(rate);
+        Objects.requireNonNull(expiresAt);
+    }
+
+    public boolean isExpiredAt(Instant instant) {
+        return !instant.isBefore(expiresAt);
+    }
+
+    public boolean matches(Currency from, Currency to) {
+        return fromCurrency.equals(from) && toCurrency.equals(to);
+    }
+}
@@ -0,0 +1,42 @@
+package com.trevizan.mithrilledger.domain.exchange;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public interface RecordedExchangeClient extends ExchangeClient {
+
+    RecordedRate getRecordedRate(String from, String to);
+
+    Map<String, RecordedRate> getRecordedRates(String base, Set<String> targets);
+
+    @Override
+    default BigDecimal getRate(String from, String to) {
+        return getRecordedRate(from, to).rate();
+    }
+
+    @Override
+    default Map<String, BigDecimal> getRates(String base, Set<String> targets) {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        getRecordedRates(base, targets).forEach((target, recorded) -> rates.put(target, recorded.rate()));
+        return rates;
+    }
+
+    static RecordedRate recordedRateOf(ExchangeClient client, String from, String to) {
+        if (client instanceof RecordedExchangeClient recorded) {
+            return recorded.getRecordedRate(from, to);
+        }
+        return RecordedRate.unrecorded(client.getRate(from, to));
+    }
+
+    static Map<String, RecordedRate> recordedRatesOf(ExchangeClient client, String base, Set<String> targets) {
+        if (client instanceof RecordedExchangeClient recorded) {
+            return recorded.getRecordedRates(base, targets);
+        }
+        Map<String, RecordedRate> rates = new HashMap<>();
+        client.getRates(base, targets).forEach((target, rate) -> rates.put(target, RecordedRate.unrecorded(rate)));
+        return rates;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.trevizan.mithrilledger.domain.exchange;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.UUID;
+
+public record RecordedRate(BigDecimal rate, UUID rateId) {
+
+    public static final RecordedRate IDENTITY = new RecordedRate(BigDecimal.ONE, null);
+
+    public RecordedRate {
+        Objects.requireNonNull(rate);
+    }
+
+    public static RecordedRate unrecorded(BigDecimal rate) {
+        return new RecordedRate(rate, null);
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.trevizan.mithrilledger.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(
+    name = "exchange_rates",
+    indexes = @Index(name = "idx_exchange_rates_pair_fetched", columnList = "from_currency, to_currency, fetched_at")
+)
+public class ExchangeRate implements Persistable<UUID> {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "from_currency", nullable = false, updatable = false, length = 3)
+    private String fromCurrency;
+
+    @Column(name = "to_currency", nullable = false, updatable = false, length = 3)
+    private String toCurrency;
+
+    @Column(nullable = false, updatable = false, precision = 30, scale = 16)
+    private BigDecimal rate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 16)
+    private ExchangeRateSource source;
+
+    @Column(name = "fetched_at", nullable = false, updatable = false)
+    private Instant fetchedAt;
+
+    @Column(name = "confirmed_at", nullable = false)
+    private Instant confirmedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected ExchangeRate() {
+
+    }
+
+    private ExchangeRate(
+        String fromCurrency,
+        String toCurrency,
+        BigDecimal rate,
+        ExchangeRateSource source,
+        Instant fetchedAt
+    ) {
+        if (rate == null || rate.signum() <= 0) {
+            throw new IllegalArgumentException("Exchange rate must be greater than 0.");
+        }
+
+        this.id = UUID.randomUUID();
+        this.fromCurrency = Objects.requireNonNull(fromCurrency);
+        this.toCurrency = Objects.requireNonNull(toCurrency);
+        this.rate = rate;
+        this.source = Objects.requireNonNull(source);
+        this.fetchedAt = Objects.requireNonNull(fetchedAt);
+        this.confirmedAt = fetchedAt;
+    }
+
+    public static ExchangeRate of(
+        String fromCurrency,
+        String toCurrency,
+        BigDecimal rate,
+        ExchangeRateSource source,
+        Instant fetchedAt
+    ) {
+        return new ExchangeRate(fromCurrency, toCurrency, rate, source, fetchedAt);
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public String getFromCurrency() {
+        return fromCurrency;
+    }
+
+    public String getToCurrency() {
+        return toCurrency;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    public ExchangeRateSource getSource() {
+        return source;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public Instant getConfirmedAt() {
+        return confirmedAt;
+    }
+
+}
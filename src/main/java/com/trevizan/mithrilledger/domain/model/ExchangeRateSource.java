@@ -0,0 +1,5 @@
+package com.trevizan.mithrilledger.domain.model;
+
+public enum ExchangeRateSource {
+    FETCHED
+}
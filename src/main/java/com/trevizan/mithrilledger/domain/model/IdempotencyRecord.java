@@ -0,0 +1,117 @@
+package com.trevizan.mithrilledger.domain.model;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+
+    @Column(nullable = false)
+    private String fingerprint;
+
+    private Integer statusCode;
+
+    private String location;
+
+    @Lob
+    private String responseBody;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant claimedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected IdempotencyRecord() {
+
+    }
+
+    private IdempotencyRecord(String key, String fingerprint, Instant now) {
+        this.key = key;
+        this.fingerprint = fingerprint;
+        this.createdAt = now;
+        this.claimedAt = now;
+    }
+
+    public static IdempotencyRecord pending(String key, String fingerprint, Instant now) {
+        return new IdempotencyRecord(key, fingerprint, now);
+    }
+
+    public void complete(int statusCode, String location, String responseBody) {
+        this.statusCode = statusCode;
+        this.location = location;
+        this.responseBody = responseBody;
+    }
+
+    public boolean isCompleted() {
+        return statusCode != null;
+    }
+
+    public boolean isExpiredAt(Instant now, Duration ttl) {
+        return !createdAt.plus(ttl).isAfter(now);
+    }
+
+    public boolean isClaimExpiredAt(Instant now, Duration lease) {
+        return !isCompleted() && !claimedAt.plus(lease).isAfter(now);
+    }
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public Integer getStatusCode() {
+        return statusCode;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getClaimedAt() {
+        return claimedAt;
+    }
+
+}
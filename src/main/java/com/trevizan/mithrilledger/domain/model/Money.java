@@ -0,0 +1,131 @@
+package com.trevizan.mithrilledger.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+
+    public Money {
+        Objects.requireNonNull(currency);
+    }
+
+    public static Money zero(Currency currency) {
+        return new Money(0, currency);
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    public static Money of(BigDecimal amount, Currency currency) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount cannot be null.");
+        }
+
+        BigDecimal scaled;
+        try {
+            scaled = amount.setScale(scale(currency), RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException(
+                "Amount must have at most " + scale(currency) + " decimal places for " + currency.getCurrencyCode() + "."
+            );
+        }
+        return new Money(toMinorUnits(scaled), currency);
+    }
+
+    public static Money ofStored(BigDecimal amount, Currency currency) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount cannot be null.");
+        }
+        return new Money(toMinorUnits(amount.setScale(scale(currency), RoundingMode.HALF_EVEN)), currency);
+    }
+
+    public static Money positive(BigDecimal amount, Currency currency) {
+        return of(amount, currency).requirePositive();
+    }
+
+    public static BigDecimal rescale(BigDecimal amount, String currencyCode) {
+        if (amount == null || currencyCode == null) {
+            return amount;
+        }
+        return ofStored(amount, Currency.getInstance(currencyCode)).toBigDecimal();
+    }
+
+    public static int scale(Currency currency) {
+        return Math.max(currency.getDefaultFractionDigits(), 0);
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        try {
+            return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Amount exceeds the supported range.");
+        }
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        try {
+            return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Amount exceeds the supported range.");
+        }
+    }
+
+    public Money convert(BigDecimal exchangeRate, Currency target) {
+        if (exchangeRate == null || exchangeRate.signum() <= 0) {
+            throw new IllegalArgumentException("Exchange rate must be greater than 0.");
+        }
+
+        BigDecimal converted = toBigDecimal()
+            .multiply(exchangeRate)
+            .setScale(scale(target), RoundingMode.HALF_EVEN);
+        return new Money(toMinorUnits(converted), target).requirePositive();
+    }
+
+    public Money requirePositive() {
+        if (minorUnits <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than 0.");
+        }
+        return this;
+    }
+
+    public boolean isLessThan(Money other) {
+        return compareTo(other) < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale(currency));
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException(
+                "Currency mismatch: " + currency.getCurrencyCode() + " and " + other.currency.getCurrencyCode() + "."
+            );
+        }
+    }
+
+    private static long toMinorUnits(BigDecimal scaled) {
+        try {
+            return scaled.unscaledValue().longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Amount exceeds the supported range.");
+        }
+    }
+
+}
@@ -2,51 +2,80 @@ package com.trevizan.mithrilledger.domain.model;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Objects;
 import java.util.UUID;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
 
 @Entity
-@Table(name = "transactions")
-public class Transaction {
+@Table(
+    name = "transactions",
+    indexes = {
+        @Index(name = "idx_transactions_from_wallet_created", columnList = "from_wallet_id, created_at, id"),
+        @Index(name = "idx_transactions_to_wallet_created", columnList = "to_wallet_id, created_at, id"),
+        @Index(name = "idx_transactions_created", columnList = "created_at, id"),
+        @Index(name = "idx_transactions_exchange_rate", columnList = "exchange_rate_id")
+    }
+)
+public class Transaction implements Persistable<UUID> {
 
     @Id
-    @GeneratedValue
     private UUID id;
 
-    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TransactionType type;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "from_wallet_id")
     private Wallet fromWallet;
 
-    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "to_wallet_id")
     private Wallet toWallet;
 
-    @Column(nullable = false, precision = 19, scale = 2)
+    @Column(precision = 19, scale = 4)
     private BigDecimal amountDebited;
 
-    @Column(nullable = false, precision = 19, scale = 2)
+    @Column(precision = 19, scale = 4)
     private BigDecimal amountCredited;
 
-    @Column(nullable = false)
     private String fromCurrency;
 
-    @Column(nullable = false)
     private String toCurrency;
 
-    @Column(precision = 19, scale = 6)
+    @Column(precision = 30, scale = 16)
     private BigDecimal exchangeRate;
 
+    @Column(name = "exchange_rate_id", updatable = false)
+    private UUID exchangeRateId;
+
+    @Column(name = "from_wallet_version", updatable = false)
+    private Long fromWalletVersion;
+
+    @Column(name = "to_wallet_version", updatable = false)
+    private Long toWalletVersion;
+
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
 
+    @Transient
+    private boolean isNew = true;
+
     protected Transaction() {
 
     }
@@ -56,7 +85,8 @@ public class Transaction {
         Wallet toWallet,
         BigDecimal amountDebited,
         BigDecimal amountCredited,
-        BigDecimal exchangeRate
+        BigDecimal exchangeRate,
+        UUID exchangeRateId
     ) {
         if (amountDebited == null || amountDebited.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Amount debited must be positive.");
@@ -70,6 +100,8 @@ public class Transaction {
             throw new IllegalArgumentException("Origin and Destination Wallet must be different.");
         }
 
+        this.id = UUID.randomUUID();
+        this.type = TransactionType.TRANSFER;
         this.fromWallet = fromWallet;
         this.toWallet = toWallet;
         this.amountDebited = amountDebited;
@@ -77,13 +109,86 @@ public class Transaction {
         this.fromCurrency = fromWallet.getCurrency().getCurrencyCode();
         this.toCurrency = toWallet.getCurrency().getCurrencyCode();
         this.exchangeRate = exchangeRate;
+        this.exchangeRateId = exchangeRateId;
+        this.fromWalletVersion = nextVersion(fromWallet);
+        this.toWalletVersion = nextVersion(toWallet);
         this.createdAt = Instant.now();
     }
 
+    public static Transaction credit(Wallet wallet, Money amount) {
+        Transaction transaction = new Transaction();
+        transaction.id = UUID.randomUUID();
+        transaction.type = TransactionType.CREDIT;
+        transaction.toWallet = wallet;
+        transaction.amountCredited = amount.requirePositive().toBigDecimal();
+        transaction.toCurrency = wallet.getCurrency().getCurrencyCode();
+        transaction.toWalletVersion = nextVersion(wallet);
+        transaction.createdAt = Instant.now();
+        return transaction;
+    }
+
+    public static Transaction debit(Wallet wallet, Money amount) {
+        Transaction transaction = new Transaction();
+        transaction.id = UUID.randomUUID();
+        transaction.type = TransactionType.DEBIT;
+        transaction.fromWallet = wallet;
+        transaction.amountDebited = amount.requirePositive().toBigDecimal();
+        transaction.fromCurrency = wallet.getCurrency().getCurrencyCode();
+        transaction.fromWalletVersion = nextVersion(wallet);
+        transaction.createdAt = Instant.now();
+        return transaction;
+    }
+
+    public static Transaction restore(
+        UUID id,
+        TransactionType type,
+        Wallet fromWallet,
+        Wallet toWallet,
+        BigDecimal amountDebited,
+        BigDecimal amountCredited,
+        BigDecimal exchangeRate,
+        UUID exchangeRateId,
+        Instant createdAt
+    ) {
+        Transaction transaction = new Transaction();
+        transaction.id = Objects.requireNonNull(id);
+        transaction.type = Objects.requireNonNull(type);
+        transaction.fromWallet = fromWallet;
+        transaction.toWallet = toWallet;
+        transaction.amountDebited = amountDebited;
+        transaction.amountCredited = amountCredited;
+        transaction.fromCurrency = fromWallet == null ? null : fromWallet.getCurrency().getCurrencyCode();
+        transaction.toCurrency = toWallet == null ? null : toWallet.getCurrency().getCurrencyCode();
+        transaction.exchangeRate = exchangeRate;
+        transaction.exchangeRateId = exchangeRateId;
+        transaction.createdAt = Objects.requireNonNull(createdAt);
+        return transaction;
+    }
+
+    public void markCreditedToStripe() {
+        this.toWalletVersion = null;
+    }
+
+    @Override
     public UUID getId() {
         return id;
     }
 
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
     public Wallet getFromWallet() {
         return fromWallet;
     }
@@ -112,8 +217,24 @@ public class Transaction {
         return exchangeRate;
     }
 
+    public UUID getExchangeRateId() {
+        return exchangeRateId;
+    }
+
+    public Long getFromWalletVersion() {
+        return fromWalletVersion;
+    }
+
+    public Long getToWalletVersion() {
+        return toWalletVersion;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
 
+    private static Long nextVersion(Wallet wallet) {
+        return wallet.getVersion() == null ? 0L : wallet.getVersion() + 1;
+    }
+
 }
@@ -0,0 +1,20 @@
+package com.trevizan.mithrilledger.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record TransactionSummary(
+    UUID id,
+    TransactionType type,
+    UUID fromWalletId,
+    UUID toWalletId,
+    BigDecimal amountDebited,
+    BigDecimal amountCredited,
+    String fromCurrency,
+    String toCurrency,
+    BigDecimal exchangeRate,
+    UUID exchangeRateId,
+    Instant createdAt
+) {
+}
@@ -0,0 +1,7 @@
+package com.trevizan.mithrilledger.domain.model;
+
+public enum TransactionType {
+    TRANSFER,
+    CREDIT,
+    DEBIT
+}
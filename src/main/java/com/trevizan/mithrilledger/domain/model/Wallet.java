@@ -4,7 +4,6 @@ import com.trevizan.mithrilledger.exception.domain.InsufficientBalanceException;
 import com.trevizan.mithrilledger.domain.model.converter.CurrencyAttributeConverter;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Instant;
 import java.util.Currency;
 import java.util.Objects;
@@ -27,13 +26,16 @@ public class Wallet {
     @Column(nullable = false)
     private String ownerId;
 
-    @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal balance;
+    @Column(name = "balance_minor_units", nullable = false)
+    private long balance;
 
     @Column(nullable = false)
     @Convert(converter = CurrencyAttributeConverter.class)
     private Currency currency;
 
+    @Column(nullable = false)
+    private int stripes;
+
     @Version
     private Long version;
 
@@ -48,7 +50,6 @@ public class Wallet {
         this.id = Objects.requireNonNull(id);
         this.ownerId = Objects.requireNonNull(ownerId);
         this.currency = Objects.requireNonNull(currency);
-        this.balance = BigDecimal.ZERO.setScale(2, RoundingMode.UNNECESSARY);
         this.createdAt = Instant.now();
     }
 
@@ -56,31 +57,58 @@ public class Wallet {
         return new Wallet(UUID.randomUUID(), ownerId, currency);
     }
 
+    public static Wallet restore(UUID id, String ownerId, Currency currency, BigDecimal balance, Instant createdAt) {
+        Wallet wallet = new Wallet(id, ownerId, currency);
+        wallet.balance = Money.of(balance, currency).minorUnits();
+        wallet.createdAt = Objects.requireNonNull(createdAt);
+        return wallet;
+    }
+
     public void debit(BigDecimal amount) {
-        amount = validateAmount(amount);
+        debit(Money.of(amount, this.currency));
+    }
 
-        if (this.balance.compareTo(amount) < 0) {
+    public void debit(Money amount) {
+        long minorUnits = requireOwnPositive(amount);
+
+        if (this.balance < minorUnits) {
             throw new InsufficientBalanceException(this.id);
         }
 
-        this.balance = this.balance.subtract(amount);
+        this.balance -= minorUnits;
     }
 
     public void credit(BigDecimal amount) {
-        amount = validateAmount(amount);
-        this.balance = this.balance.add(amount);
+        credit(Money.of(amount, this.currency));
     }
 
-    private BigDecimal validateAmount(BigDecimal amount) {
-        if (amount == null) {
-            throw new IllegalArgumentException("Amount cannot be null.");
+    public void credit(Money amount) {
+        long minorUnits = requireOwnPositive(amount);
+
+        try {
+            this.balance = Math.addExact(this.balance, minorUnits);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Amount exceeds the supported range.");
         }
+    }
 
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("Amount must be greater than 0.");
+    public void enableStriping(int stripes) {
+        if (isStriped()) {
+            throw new IllegalArgumentException("Wallet " + this.id + " is already striped.");
         }
+        if (stripes < 2) {
+            throw new IllegalArgumentException("Stripes must be at least 2.");
+        }
+
+        this.stripes = stripes;
+    }
+
+    public boolean isStriped() {
+        return this.stripes > 0;
+    }
 
-        return amount.setScale(2, RoundingMode.UNNECESSARY);
+    public int getStripes() {
+        return this.stripes;
     }
 
     public Currency getCurrency() {
@@ -88,7 +116,11 @@ public class Wallet {
     }
 
     public BigDecimal getBalance() {
-        return this.balance;
+        return BigDecimal.valueOf(this.balance, Money.scale(this.currency));
+    }
+
+    public Money getMoney() {
+        return Money.ofMinor(this.balance, this.currency);
     }
 
     public UUID getId() {
@@ -99,8 +131,21 @@ public class Wallet {
         return this.ownerId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public Instant getCreatedAt() {
         return this.createdAt;
     }
 
+    private long requireOwnPositive(Money amount) {
+        if (!this.currency.equals(amount.currency())) {
+            throw new IllegalArgumentException(
+                "Amount currency " + amount.currency().getCurrencyCode() + " does not match wallet currency " + this.currency.getCurrencyCode() + "."
+            );
+        }
+        return amount.requirePositive().minorUnits();
+    }
+
 }
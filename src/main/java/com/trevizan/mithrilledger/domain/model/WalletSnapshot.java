@@ -0,0 +1,72 @@
+package com.trevizan.mithrilledger.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(
+    name = "wallet_snapshots",
+    indexes = @Index(name = "idx_wallet_snapshots_wallet_taken", columnList = "wallet_id, taken_at")
+)
+public class WalletSnapshot {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "wallet_id", nullable = false, updatable = false)
+    private UUID walletId;
+
+    @Column(nullable = false, updatable = false, precision = 19, scale = 4)
+    private BigDecimal balance;
+
+    @Column(name = "wallet_version", updatable = false)
+    private Long version;
+
+    @Column(name = "taken_at", nullable = false, updatable = false)
+    private Instant takenAt;
+
+    protected WalletSnapshot() {
+
+    }
+
+    private WalletSnapshot(UUID walletId, BigDecimal balance, Long version, Instant takenAt) {
+        this.id = UUID.randomUUID();
+        this.walletId = Objects.requireNonNull(walletId);
+        this.balance = Objects.requireNonNull(balance);
+        this.version = version;
+        this.takenAt = Objects.requireNonNull(takenAt);
+    }
+
+    public static WalletSnapshot of(Wallet wallet, BigDecimal balance, Instant takenAt) {
+        return new WalletSnapshot(wallet.getId(), balance, wallet.getVersion(), takenAt);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getWalletId() {
+        return walletId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getTakenAt() {
+        return takenAt;
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.trevizan.mithrilledger.domain.model;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+@Entity
+@Table(
+    name = "wallet_stripes",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"wallet_id", "stripe_index"})
+)
+public class WalletStripe {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "wallet_id", nullable = false, updatable = false)
+    private UUID walletId;
+
+    @Column(name = "stripe_index", nullable = false, updatable = false)
+    private int index;
+
+    @Column(name = "balance_minor_units", nullable = false)
+    private long balance;
+
+    protected WalletStripe() {
+
+    }
+
+    private WalletStripe(UUID walletId, int index) {
+        this.id = UUID.randomUUID();
+        this.walletId = Objects.requireNonNull(walletId);
+        this.index = index;
+    }
+
+    public static WalletStripe create(UUID walletId, int index) {
+        return new WalletStripe(walletId, index);
+    }
+
+    public long drain() {
+        long drained = this.balance;
+        this.balance = 0;
+        return drained;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getWalletId() {
+        return walletId;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public long getBalance() {
+        return balance;
+    }
+
+}
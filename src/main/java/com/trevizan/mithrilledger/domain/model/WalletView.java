@@ -0,0 +1,34 @@
+package com.trevizan.mithrilledger.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.UUID;
+
+public record WalletView(
+    UUID id,
+    String ownerId,
+    Currency currency,
+    BigDecimal balance,
+    boolean striped,
+    long version,
+    Instant createdAt
+) {
+    private static final long UNVERSIONED = -1;
+
+    public static WalletView of(Wallet wallet) {
+        return new WalletView(
+            wallet.getId(),
+            wallet.getOwnerId(),
+            wallet.getCurrency(),
+            wallet.getBalance(),
+            wallet.isStriped(),
+            wallet.getVersion() == null ? UNVERSIONED : wallet.getVersion(),
+            wallet.getCreatedAt()
+        );
+    }
+
+    public boolean isNewerThan(WalletView other) {
+        return version > other.version;
+    }
+}
@@ -0,0 +1,11 @@
+package com.trevizan.mithrilledger.exception.domain;
+
+import java.time.Instant;
+
+public class ExchangeRateNotFoundException extends RuntimeException {
+
+    public ExchangeRateNotFoundException(String from, String to, Instant at) {
+        super("Exchange rate not found: " + from + " -> " + to + " at " + at);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.trevizan.mithrilledger.exception.domain;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String key) {
+        super("A request with Idempotency-Key " + key + " is still in progress.");
+    }
+
+}
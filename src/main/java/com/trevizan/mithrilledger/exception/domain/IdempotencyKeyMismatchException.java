@@ -0,0 +1,9 @@
+package com.trevizan.mithrilledger.exception.domain;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    public IdempotencyKeyMismatchException(String key) {
+        super("Idempotency-Key " + key + " was already used with a different request.");
+    }
+
+}
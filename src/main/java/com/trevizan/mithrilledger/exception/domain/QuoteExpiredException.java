@@ -0,0 +1,11 @@
+package com.trevizan.mithrilledger.exception.domain;
+
+import java.util.UUID;
+
+public class QuoteExpiredException extends RuntimeException {
+
+    public QuoteExpiredException(UUID id) {
+        super("Quote " + id + " has expired.");
+    }
+
+}
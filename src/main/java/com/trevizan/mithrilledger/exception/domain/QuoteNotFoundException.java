@@ -0,0 +1,11 @@
+package com.trevizan.mithrilledger.exception.domain;
+
+import java.util.UUID;
+
+public class QuoteNotFoundException extends RuntimeException {
+
+    public QuoteNotFoundException(UUID id) {
+        super("Quote not found: " + id);
+    }
+
+}
@@ -0,0 +1,240 @@
+package com.trevizan.mithrilledger.infrastructure.exchange;
+
+import com.trevizan.mithrilledger.config.ExchangeCacheProperties;
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.RecordedExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.RecordedRate;
+import com.trevizan.mithrilledger.exception.infrastructure.ExchangeServiceUnavailableException;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+public class CachingExchangeClient implements RecordedExchangeClient, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingExchangeClient.class);
+
+    private final ExchangeClient delegate;
+    private final ExchangeCacheProperties properties;
+    private final Clock clock;
+    private final ExecutorService refreshExecutor;
+
+    private final ConcurrentMap<String, CachedRate> rates = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleHits;
+    private final Counter refreshes;
+    private final Counter refreshFailures;
+
+    public CachingExchangeClient(
+        ExchangeClient delegate,
+        ExchangeCacheProperties properties,
+        MeterRegistry meterRegistry,
+        Clock clock,
+        ExecutorService refreshExecutor
+    ) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+
+        this.hits = cacheCounter(meterRegistry, "hit");
+        this.misses = cacheCounter(meterRegistry, "miss");
+        this.staleHits = cacheCounter(meterRegistry, "stale");
+        this.refreshes = refreshCounter(meterRegistry, "success");
+        this.refreshFailures = refreshCounter(meterRegistry, "failure");
+        meterRegistry.gaugeMapSize("exchange.rate.cache.size", Tags.empty(), rates);
+    }
+
+    @Override
+    public RecordedRate getRecordedRate(String from, String to) {
+        String key = key(from, to);
+        Instant now = clock.instant();
+        Duration ttl = properties.ttlFor(from, to);
+        CachedRate cached = rates.get(key);
+
+        if (cached != null && cached.ageAt(now).compareTo(ttl) < 0) {
+            hits.increment();
+            if (cached.ageAt(now).compareTo(refreshAheadThreshold(ttl)) >= 0) {
+                scheduleRefresh(key, from, to);
+            }
+            return cached.rate();
+        }
+
+        misses.increment();
+        try {
+            return load(key, from, to);
+        } catch (ExchangeServiceUnavailableException | BulkheadFullException ex) {
+            if (cached != null && cached.ageAt(now).compareTo(properties.maxStale()) <= 0) {
+                staleHits.increment();
+                log.warn("Serving stale exchange rate: from={}, to={}, age={}", from, to, cached.ageAt(now));
+                return cached.rate();
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public Map<String, RecordedRate> getRecordedRates(String base, Set<String> targets) {
+        Instant now = clock.instant();
+        Map<String, RecordedRate> result = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+
+        for (String target : targets) {
+            String key = key(base, target);
+            Duration ttl = properties.ttlFor(base, target);
+            CachedRate cached = rates.get(key);
+            if (cached != null && cached.ageAt(now).compareTo(ttl) < 0) {
+                hits.increment();
+                if (cached.ageAt(now).compareTo(refreshAheadThreshold(ttl)) >= 0) {
+                    scheduleRefresh(key, base, target);
+                }
+                result.put(target, cached.rate());
+            } else {
+                misses.increment();
+                missing.add(target);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        try {
+            result.putAll(loadAll(base, missing));
+        } catch (ExchangeServiceUnavailableException | BulkheadFullException ex) {
+            for (String target : missing) {
+                CachedRate cached = rates.get(key(base, target));
+                if (cached == null || cached.ageAt(now).compareTo(properties.maxStale()) > 0) {
+                    throw ex;
+                }
+                staleHits.increment();
+                result.put(target, cached.rate());
+            }
+            log.warn("Serving stale exchange rates: base={}, targets={}", base, missing);
+        }
+        return result;
+    }
+
+    public void seed(String from, String to, BigDecimal rate, UUID rateId, Instant fetchedAt) {
+        rates.merge(
+            key(from, to),
+            new CachedRate(new RecordedRate(rate, rateId), fetchedAt),
+            (current, seeded) -> seeded.fetchedAt().isAfter(current.fetchedAt()) ? seeded : current
+        );
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Instant now = clock.instant();
+        properties.warmUp().forEach((base, targets) -> {
+            Set<String> missing = new HashSet<>();
+            for (String target : targets) {
+                CachedRate cached = rates.get(key(base, target));
+                if (cached == null || cached.ageAt(now).compareTo(properties.ttlFor(base, target)) >= 0) {
+                    missing.add(target);
+                }
+            }
+            if (missing.isEmpty()) {
+                log.info("Exchange rate cache already warm: base={}, targets={}", base, targets);
+                return;
+            }
+
+            try {
+                loadAll(base, missing);
+                log.info("Exchange rate cache warmed up: base={}, targets={}", base, missing);
+            } catch (RuntimeException ex) {
+                log.warn("Exchange rate cache warm-up failed: base={}, targets={}", base, targets, ex);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private RecordedRate load(String key, String from, String to) {
+        RecordedRate rate = RecordedExchangeClient.recordedRateOf(delegate, from, to);
+        rates.put(key, new CachedRate(rate, clock.instant()));
+        return rate;
+    }
+
+    private Map<String, RecordedRate> loadAll(String base, Set<String> targets) {
+        Map<String, RecordedRate> loaded = RecordedExchangeClient.recordedRatesOf(delegate, base, targets);
+        Instant fetchedAt = clock.instant();
+        loaded.forEach((target, rate) -> rates.put(key(base, target), new CachedRate(rate, fetchedAt)));
+        return loaded;
+    }
+
+    private void scheduleRefresh(String key, String from, String to) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, from, to);
+                    refreshes.increment();
+                } catch (RuntimeException ex) {
+                    refreshFailures.increment();
+                    log.warn("Exchange rate refresh failed: from={}, to={}", from, to, ex);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            refreshing.remove(key);
+        }
+    }
+
+    private Duration refreshAheadThreshold(Duration ttl) {
+        return Duration.ofNanos((long) (ttl.toNanos() * properties.refreshAheadRatio()));
+    }
+
+    private static String key(String from, String to) {
+        return from + "-" + to;
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("exchange.rate.cache")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static Counter refreshCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("exchange.rate.cache.refresh")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private record CachedRate(RecordedRate rate, Instant fetchedAt) {
+        Duration ageAt(Instant now) {
+            return Duration.between(fetchedAt, now);
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.trevizan.mithrilledger.infrastructure.exchange;
+
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class FeedExchangeClient implements ExchangeClient {
+
+    private final RateFeedSubscriber feed;
+    private final ExchangeClient fallback;
+
+    private final Counter feedHits;
+    private final Counter fallbacks;
+
+    public FeedExchangeClient(RateFeedSubscriber feed, ExchangeClient fallback, MeterRegistry meterRegistry) {
+        this.feed = feed;
+        this.fallback = fallback;
+
+        this.feedHits = lookupCounter(meterRegistry, "feed");
+        this.fallbacks = lookupCounter(meterRegistry, "fallback");
+    }
+
+    @Override
+    public BigDecimal getRate(String from, String to) {
+        BigDecimal rate = feed.rate(from, to);
+        if (rate != null) {
+            feedHits.increment();
+            return rate;
+        }
+
+        fallbacks.increment();
+        return fallback.getRate(from, to);
+    }
+
+    @Override
+    public Map<String, BigDecimal> getRates(String base, Set<String> targets) {
+        Map<String, BigDecimal> result = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+
+        for (String target : targets) {
+            BigDecimal rate = feed.rate(base, target);
+            if (rate != null) {
+                feedHits.increment();
+                result.put(target, rate);
+            } else {
+                fallbacks.increment();
+                missing.add(target);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            result.putAll(fallback.getRates(base, missing));
+        }
+        return result;
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("exchange.rate.feed.lookups")
+            .tag("source", source)
+            .register(meterRegistry);
+    }
+
+}
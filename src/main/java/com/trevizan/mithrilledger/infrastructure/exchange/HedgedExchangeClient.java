@@ -0,0 +1,264 @@
+package com.trevizan.mithrilledger.infrastructure.exchange;
+
+import com.trevizan.mithrilledger.config.ExchangeHedgingProperties;
+import com.trevizan.mithrilledger.domain.exchange.AsyncExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.exception.infrastructure.ExchangeInvalidResponseException;
+import com.trevizan.mithrilledger.exception.infrastructure.ExchangeServiceUnavailableException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+public class HedgedExchangeClient implements ExchangeClient, AsyncExchangeClient, AutoCloseable {
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final ExchangeClient bulkDelegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final ExchangeHedgingProperties properties;
+    private final ScheduledExecutorService hedgeScheduler;
+
+    private final Timer attemptLatency;
+    private final Counter delayHedges;
+    private final Counter failureHedges;
+    private final Counter hedgeWins;
+
+    public HedgedExchangeClient(
+        HttpClient httpClient,
+        String baseUrl,
+        ObjectMapper objectMapper,
+        ExchangeClient bulkDelegate,
+        CircuitBreaker circuitBreaker,
+        Bulkhead bulkhead,
+        ExchangeHedgingProperties properties,
+        MeterRegistry meterRegistry,
+        ScheduledExecutorService hedgeScheduler
+    ) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.bulkDelegate = bulkDelegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.properties = properties;
+        this.hedgeScheduler = hedgeScheduler;
+
+        this.attemptLatency = Timer.builder("exchange.rate.attempt")
+            .publishPercentiles(properties.percentile())
+            .distributionStatisticExpiry(Duration.ofMinutes(1))
+            .register(meterRegistry);
+        this.delayHedges = hedgeCounter(meterRegistry, "delay");
+        this.failureHedges = hedgeCounter(meterRegistry, "failure");
+        this.hedgeWins = Counter.builder("exchange.rate.hedges.won").register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<BigDecimal> getRateAsync(String from, String to) {
+        HedgedCall call = new HedgedCall(from, to);
+        call.launch(false);
+
+        ScheduledFuture<?> hedge = hedgeScheduler.schedule(
+            call::hedgeAfterDelay,
+            hedgeDelay().toNanos(),
+            TimeUnit.NANOSECONDS
+        );
+        call.result.whenComplete((rate, ex) -> hedge.cancel(false));
+        return call.result;
+    }
+
+    @Override
+    public BigDecimal getRate(String from, String to) {
+        try {
+            return getRateAsync(from, to).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public Map<String, BigDecimal> getRates(String base, Set<String> targets) {
+        return bulkDelegate.getRates(base, targets);
+    }
+
+    public Duration hedgeDelay() {
+        if (attemptLatency.count() < properties.minSamples()) {
+            return properties.initialDelay();
+        }
+
+        ValueAtPercentile[] percentiles = attemptLatency.takeSnapshot().percentileValues();
+        if (percentiles.length == 0 || percentiles[0].value() == 0) {
+            return properties.initialDelay();
+        }
+
+        Duration observed = Duration.ofNanos((long) percentiles[0].value(TimeUnit.NANOSECONDS));
+        if (observed.compareTo(properties.minDelay()) < 0) {
+            return properties.minDelay();
+        }
+        return observed.compareTo(properties.maxDelay()) > 0 ? properties.maxDelay() : observed;
+    }
+
+    @Override
+    public void close() {
+        hedgeScheduler.shutdownNow();
+        httpClient.shutdownNow();
+    }
+
+    private CompletableFuture<BigDecimal> attempt(String from, String to) {
+        return circuitBreaker
+            .executeCompletionStage(() -> bulkhead.executeCompletionStage(() -> send(from, to)))
+            .toCompletableFuture();
+    }
+
+    private CompletableFuture<BigDecimal> send(String from, String to) {
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create(baseUrl + "/api/v1/exchanges/rates?from=" + from + "&to=" + to)
+            )
+            .timeout(properties.responseTimeout())
+            .GET()
+            .build();
+        long started = System.nanoTime();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+            .handle((response, failure) -> {
+                if (failure == null && isSuccessful(response)) {
+                    attemptLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+                return toRate(from, to, response, failure);
+            });
+    }
+
+    private BigDecimal toRate(String from, String to, HttpResponse<byte[]> response, Throwable failure) {
+        if (failure != null) {
+            throw new ExchangeServiceUnavailableException(from, to, "Exchange service call failed", failure);
+        }
+        if (response.statusCode() != 200) {
+            throw new ExchangeServiceUnavailableException(
+                from,
+                to,
+                "Exchange service responded with status " + response.statusCode(),
+                null
+            );
+        }
+
+        ExchangeResponse body;
+        try {
+            body = objectMapper.readValue(response.body(), ExchangeResponse.class);
+        } catch (JacksonException ex) {
+            throw new ExchangeInvalidResponseException(from, to);
+        }
+        if (body == null || body.rate() == null) {
+            throw new ExchangeInvalidResponseException(from, to);
+        }
+        return body.rate();
+    }
+
+    private static boolean isSuccessful(HttpResponse<byte[]> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    private static RuntimeException unwrap(String from, String to, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause()
+            : failure;
+
+        if (cause instanceof CallNotPermittedException) {
+            return new ExchangeServiceUnavailableException(
+                from,
+                to,
+                "Circuit breaker is OPEN for exchange service",
+                cause
+            );
+        }
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new ExchangeServiceUnavailableException(from, to, "Exchange service call failed", cause);
+    }
+
+    private static Counter hedgeCounter(MeterRegistry meterRegistry, String trigger) {
+        return Counter.builder("exchange.rate.hedges")
+            .tag("trigger", trigger)
+            .register(meterRegistry);
+    }
+
+    private final class HedgedCall {
+
+        private final String from;
+        private final String to;
+        private final CompletableFuture<BigDecimal> result = new CompletableFuture<>();
+        private final AtomicBoolean hedged = new AtomicBoolean();
+        private final AtomicBoolean answered = new AtomicBoolean();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private HedgedCall(String from, String to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        private void hedgeAfterDelay() {
+            if (!result.isDone() && hedged.compareAndSet(false, true)) {
+                delayHedges.increment();
+                launch(true);
+            }
+        }
+
+        private void launch(boolean hedge) {
+            attempt(from, to).whenComplete((rate, failure) -> {
+                if (failure == null) {
+                    if (answered.compareAndSet(false, true)) {
+                        if (hedge) {
+                            hedgeWins.increment();
+                        }
+                        result.complete(rate);
+                    }
+                    return;
+                }
+
+                RuntimeException error = unwrap(from, to, failure);
+                if (error.getCause() instanceof CallNotPermittedException) {
+                    result.completeExceptionally(error);
+                    return;
+                }
+
+                if (hedged.compareAndSet(false, true)) {
+                    failureHedges.increment();
+                    launch(true);
+                }
+                if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+
+    }
+
+}
@@ -4,11 +4,17 @@ import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
 import com.trevizan.mithrilledger.exception.infrastructure.ExchangeInvalidResponseException;
 import com.trevizan.mithrilledger.exception.infrastructure.ExchangeServiceUnavailableException;
 
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -20,30 +26,38 @@ public class HttpExchangeClient implements ExchangeClient {
 
     private final RestTemplate restTemplate;
     private final String baseUrl;
+    private final MeterRegistry meterRegistry;
 
     public HttpExchangeClient(
         RestTemplate restTemplate,
-        @Value("${exchange.base-url}") String baseUrl
+        @Value("${exchange.base-url}") String baseUrl,
+        MeterRegistry meterRegistry
     ) {
         this.restTemplate = restTemplate;
         this.baseUrl = baseUrl;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     @Retry(name = "exchange-service")
+    @Bulkhead(name = "exchange-service")
     @CircuitBreaker(
         name = "exchange-service",
         fallbackMethod = "circuitBreakerFallback"
     )
     public BigDecimal getRate(String from, String to) {
         String url = baseUrl + "/api/v1/exchanges/rates?from=" +  from + "&to=" + to;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "unavailable";
 
         try {
             ExchangeResponse response = restTemplate.getForObject(url, ExchangeResponse.class);
 
             if (response == null || response.rate() == null) {
+                outcome = "invalid-response";
                 throw new ExchangeInvalidResponseException(from, to);
             }
+            outcome = "success";
             return response.rate();
         } catch (RestClientException ex) {
             throw new ExchangeServiceUnavailableException(
@@ -52,9 +66,56 @@ public class HttpExchangeClient implements ExchangeClient {
                 "Exchange service call failed",
                 ex
             );
+        } finally {
+            sample.stop(requestTimer(from, to, outcome));
         }
     }
 
+    @Override
+    @Retry(name = "exchange-service")
+    @Bulkhead(name = "exchange-service")
+    @CircuitBreaker(
+        name = "exchange-service",
+        fallbackMethod = "bulkCircuitBreakerFallback"
+    )
+    public Map<String, BigDecimal> getRates(String base, Set<String> targets) {
+        String symbols = String.join(",", targets);
+        String url = baseUrl + "/api/v1/exchanges/rates/bulk?base=" + base + "&symbols=" + symbols;
+
+        try {
+            ExchangeRatesResponse response = restTemplate.getForObject(url, ExchangeRatesResponse.class);
+
+            if (response == null || response.rates() == null) {
+                throw new ExchangeInvalidResponseException(base, symbols);
+            }
+
+            Map<String, BigDecimal> rates = new HashMap<>();
+            for (String target : targets) {
+                BigDecimal rate = response.rates().get(target);
+                if (rate == null) {
+                    throw new ExchangeInvalidResponseException(base, target);
+                }
+                rates.put(target, rate);
+            }
+            return rates;
+        } catch (RestClientException ex) {
+            throw new ExchangeServiceUnavailableException(
+                base,
+                symbols,
+                "Exchange service call failed",
+                ex
+            );
+        }
+    }
+
+    private Timer requestTimer(String from, String to, String outcome) {
+        return Timer.builder("exchange.rate.request")
+            .tag("pair", from + "-" + to)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
     private BigDecimal circuitBreakerFallback(String from, String to, CallNotPermittedException ex) {
         throw new ExchangeServiceUnavailableException(
             from,
@@ -64,4 +125,17 @@ public class HttpExchangeClient implements ExchangeClient {
         );
     }
 
+    private Map<String, BigDecimal> bulkCircuitBreakerFallback(
+        String base,
+        Set<String> targets,
+        CallNotPermittedException ex
+    ) {
+        throw new ExchangeServiceUnavailableException(
+            base,
+            String.join(",", targets),
+            "Circuit breaker is OPEN for exchange service",
+            ex
+        );
+    }
+
 }
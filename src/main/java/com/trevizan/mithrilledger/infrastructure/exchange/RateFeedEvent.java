@@ -0,0 +1,11 @@
+package com.trevizan.mithrilledger.infrastructure.exchange;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+public record RateFeedEvent(
+    String base,
+    Map<String, BigDecimal> rates,
+    Instant timestamp
+) { }
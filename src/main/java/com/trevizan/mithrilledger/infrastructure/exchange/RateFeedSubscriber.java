@@ -0,0 +1,242 @@
+package com.trevizan.mithrilledger.infrastructure.exchange;
+
+import com.trevizan.mithrilledger.config.RateFeedProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+public class RateFeedSubscriber implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RateFeedSubscriber.class);
+
+    private static final String RATES_EVENT = "rates";
+
+    private final HttpClient httpClient;
+    private final URI uri;
+    private final ObjectMapper objectMapper;
+    private final RateFeedProperties properties;
+    private final Clock clock;
+
+    private volatile Map<String, BigDecimal> rates = Map.of();
+    private volatile Instant lastReceivedAt;
+    private volatile boolean connected;
+    private volatile boolean closed;
+    private long lastSequence = -1;
+    private volatile Thread worker;
+
+    private final Counter events;
+    private final Counter gaps;
+    private final Counter reconnects;
+    private final Timer lag;
+
+    public RateFeedSubscriber(
+        HttpClient httpClient,
+        URI uri,
+        ObjectMapper objectMapper,
+        RateFeedProperties properties,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        this.httpClient = httpClient;
+        this.uri = uri;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.clock = clock;
+
+        this.events = Counter.builder("exchange.rate.feed.events").register(meterRegistry);
+        this.gaps = Counter.builder("exchange.rate.feed.gaps").register(meterRegistry);
+        this.reconnects = Counter.builder("exchange.rate.feed.reconnects").register(meterRegistry);
+        this.lag = Timer.builder("exchange.rate.feed.lag")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge.builder("exchange.rate.feed.connected", this, feed -> feed.isFresh() ? 1 : 0)
+            .register(meterRegistry);
+    }
+
+    public void start() {
+        worker = Thread.ofVirtual().name("exchange-rate-feed").start(this::run);
+    }
+
+    public BigDecimal rate(String from, String to) {
+        return isFresh() ? rates.get(from + "-" + to) : null;
+    }
+
+    public boolean isFresh() {
+        Instant received = lastReceivedAt;
+        return connected
+            && received != null
+            && Duration.between(received, clock.instant()).compareTo(properties.staleAfter()) < 0;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+        httpClient.shutdownNow();
+    }
+
+    private void run() {
+        while (!closed) {
+            try {
+                subscribe();
+            } catch (IOException | UncheckedIOException ex) {
+                if (!closed) {
+                    log.warn("Exchange rate feed disconnected: uri={}", uri, ex);
+                }
+            } catch (RuntimeException ex) {
+                if (!closed) {
+                    log.error("Exchange rate feed failed: uri={}", uri, ex);
+                }
+            } catch (InterruptedException ex) {
+                return;
+            } finally {
+                connected = false;
+            }
+
+            if (closed) {
+                return;
+            }
+            reconnects.increment();
+            try {
+                Thread.sleep(properties.reconnectDelay());
+            } catch (InterruptedException ex) {
+                return;
+            }
+        }
+    }
+
+    private void subscribe() throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+            .header("Accept", "text/event-stream")
+            .GET();
+        if (lastSequence >= 0) {
+            request.header("Last-Event-ID", Long.toString(lastSequence));
+        }
+
+        HttpResponse<Stream<String>> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("Exchange rate feed responded with status " + response.statusCode());
+            }
+            connected = true;
+            log.info("Exchange rate feed connected: uri={}", uri);
+            read(lines.iterator());
+        }
+    }
+
+    private void read(Iterator<String> lines) {
+        String id = null;
+        String event = null;
+        StringBuilder data = new StringBuilder();
+
+        while (!closed && lines.hasNext()) {
+            String line = lines.next();
+            lastReceivedAt = clock.instant();
+
+            if (line.isEmpty()) {
+                if (!data.isEmpty()) {
+                    dispatch(id, event, data.toString());
+                }
+                id = null;
+                event = null;
+                data.setLength(0);
+            } else if (line.startsWith(":")) {
+                continue;
+            } else if (line.startsWith("id:")) {
+                id = value(line, "id:");
+            } else if (line.startsWith("event:")) {
+                event = value(line, "event:");
+            } else if (line.startsWith("data:")) {
+                if (!data.isEmpty()) {
+                    data.append('\n');
+                }
+                data.append(value(line, "data:"));
+            }
+        }
+    }
+
+    private void dispatch(String id, String event, String data) {
+        if (event != null && !RATES_EVENT.equals(event)) {
+            return;
+        }
+
+        RateFeedEvent update;
+        try {
+            update = objectMapper.readValue(data, RateFeedEvent.class);
+        } catch (JacksonException ex) {
+            log.warn("Ignoring malformed exchange rate feed event: id={}", id, ex);
+            return;
+        }
+        if (update == null || update.base() == null || update.rates() == null) {
+            log.warn("Ignoring incomplete exchange rate feed event: id={}", id);
+            return;
+        }
+
+        trackSequence(id);
+        apply(update);
+        events.increment();
+        if (update.timestamp() != null) {
+            lag.record(Duration.between(update.timestamp(), clock.instant()));
+        }
+    }
+
+    private void trackSequence(String id) {
+        if (id == null) {
+            return;
+        }
+
+        long sequence;
+        try {
+            sequence = Long.parseLong(id);
+        } catch (NumberFormatException ex) {
+            return;
+        }
+        if (lastSequence >= 0 && sequence > lastSequence + 1) {
+            gaps.increment(sequence - lastSequence - 1);
+            log.warn("Exchange rate feed gap: expected={}, received={}", lastSequence + 1, sequence);
+        }
+        lastSequence = sequence;
+    }
+
+    private void apply(RateFeedEvent update) {
+        Map<String, BigDecimal> updated = new HashMap<>(rates);
+        update.rates().forEach((target, rate) -> {
+            if (rate != null && rate.signum() > 0) {
+                updated.put(update.base() + "-" + target, rate);
+            }
+        });
+        rates = Map.copyOf(updated);
+    }
+
+    private static String value(String line, String field) {
+        String value = line.substring(field.length());
+        return value.startsWith(" ") ? value.substring(1) : value;
+    }
+
+}
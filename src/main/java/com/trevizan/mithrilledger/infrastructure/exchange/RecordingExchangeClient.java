@@ -0,0 +1,62 @@
+package com.trevizan.mithrilledger.infrastructure.exchange;
+
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.RecordedExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.RecordedRate;
+import com.trevizan.mithrilledger.domain.model.ExchangeRateSource;
+import com.trevizan.mithrilledger.service.ExchangeRateHistoryService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class RecordingExchangeClient implements RecordedExchangeClient {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordingExchangeClient.class);
+
+    private final ExchangeClient delegate;
+    private final ExchangeRateHistoryService history;
+
+    private final Counter recordFailures;
+
+    public RecordingExchangeClient(
+        ExchangeClient delegate,
+        ExchangeRateHistoryService history,
+        MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.history = history;
+
+        this.recordFailures = Counter.builder("exchange.rate.history.failures").register(meterRegistry);
+    }
+
+    @Override
+    public RecordedRate getRecordedRate(String from, String to) {
+        return record(from, to, delegate.getRate(from, to));
+    }
+
+    @Override
+    public Map<String, RecordedRate> getRecordedRates(String base, Set<String> targets) {
+        Map<String, RecordedRate> rates = new HashMap<>();
+        delegate.getRates(base, targets).forEach((target, rate) -> rates.put(target, record(base, target, rate)));
+        return rates;
+    }
+
+    private RecordedRate record(String from, String to, BigDecimal rate) {
+        try {
+            return new RecordedRate(rate, history.record(from, to, rate, ExchangeRateSource.FETCHED).getId());
+        } catch (RuntimeException ex) {
+            recordFailures.increment();
+            log.warn("Failed to record exchange rate: from={}, to={}", from, to, ex);
+            return RecordedRate.unrecorded(rate);
+        }
+    }
+
+}
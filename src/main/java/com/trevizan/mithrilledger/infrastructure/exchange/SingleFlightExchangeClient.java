@@ -0,0 +1,100 @@
+package com.trevizan.mithrilledger.infrastructure.exchange;
+
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.RecordedExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.RecordedRate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+public class SingleFlightExchangeClient implements RecordedExchangeClient {
+
+    private final ExchangeClient delegate;
+
+    private final ConcurrentMap<String, CompletableFuture<RecordedRate>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<Map<String, RecordedRate>>> bulkInFlight =
+        new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    public SingleFlightExchangeClient(ExchangeClient delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+
+        this.leaders = callCounter(meterRegistry, "leader");
+        this.coalesced = callCounter(meterRegistry, "coalesced");
+        meterRegistry.gaugeMapSize("exchange.rate.single-flight.in-flight", Tags.empty(), inFlight);
+        meterRegistry.gaugeMapSize("exchange.rate.single-flight.bulk-in-flight", Tags.empty(), bulkInFlight);
+    }
+
+    @Override
+    public RecordedRate getRecordedRate(String from, String to) {
+        return singleFlight(
+            inFlight,
+            from + "-" + to,
+            () -> RecordedExchangeClient.recordedRateOf(delegate, from, to)
+        );
+    }
+
+    @Override
+    public Map<String, RecordedRate> getRecordedRates(String base, Set<String> targets) {
+        return singleFlight(
+            bulkInFlight,
+            base + ":" + String.join(",", new TreeSet<>(targets)),
+            () -> Map.copyOf(RecordedExchangeClient.recordedRatesOf(delegate, base, targets))
+        );
+    }
+
+    private <T> T singleFlight(ConcurrentMap<String, CompletableFuture<T>> calls, String key, Supplier<T> lookup) {
+        CompletableFuture<T> call = new CompletableFuture<>();
+        CompletableFuture<T> existing = calls.putIfAbsent(key, call);
+
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            T result = lookup.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> call) {
+        try {
+            return call.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("exchange.rate.single-flight")
+            .tag("role", role)
+            .register(meterRegistry);
+    }
+
+}
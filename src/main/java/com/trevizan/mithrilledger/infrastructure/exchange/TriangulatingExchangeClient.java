@@ -0,0 +1,75 @@
+package com.trevizan.mithrilledger.infrastructure.exchange;
+
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.RecordedExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.RecordedRate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class TriangulatingExchangeClient implements RecordedExchangeClient {
+
+    private final ExchangeClient delegate;
+    private final String base;
+    private final MathContext mathContext;
+
+    public TriangulatingExchangeClient(ExchangeClient delegate, String base, MathContext mathContext) {
+        this.delegate = delegate;
+        this.base = base;
+        this.mathContext = mathContext;
+    }
+
+    @Override
+    public RecordedRate getRecordedRate(String from, String to) {
+        if (from.equals(to)) {
+            return RecordedRate.IDENTITY;
+        }
+        if (from.equals(base)) {
+            return RecordedExchangeClient.recordedRateOf(delegate, base, to);
+        }
+        if (to.equals(base)) {
+            return RecordedRate.unrecorded(invert(RecordedExchangeClient.recordedRateOf(delegate, base, from).rate()));
+        }
+
+        Map<String, RecordedRate> vector = RecordedExchangeClient.recordedRatesOf(delegate, base, Set.of(from, to));
+        return RecordedRate.unrecorded(cross(vector.get(from).rate(), vector.get(to).rate()));
+    }
+
+    @Override
+    public Map<String, RecordedRate> getRecordedRates(String from, Set<String> targets) {
+        if (from.equals(base)) {
+            return RecordedExchangeClient.recordedRatesOf(delegate, base, targets);
+        }
+
+        Set<String> needed = new HashSet<>(targets);
+        needed.add(from);
+        needed.remove(base);
+        Map<String, RecordedRate> vector = RecordedExchangeClient.recordedRatesOf(delegate, base, needed);
+
+        BigDecimal fromRate = vector.get(from).rate();
+        Map<String, RecordedRate> rates = new HashMap<>();
+        for (String target : targets) {
+            if (target.equals(from)) {
+                rates.put(target, RecordedRate.IDENTITY);
+            } else if (target.equals(base)) {
+                rates.put(target, RecordedRate.unrecorded(invert(fromRate)));
+            } else {
+                rates.put(target, RecordedRate.unrecorded(cross(fromRate, vector.get(target).rate())));
+            }
+        }
+        return rates;
+    }
+
+    private BigDecimal cross(BigDecimal baseToFrom, BigDecimal baseToTo) {
+        return baseToTo.divide(baseToFrom, mathContext);
+    }
+
+    private BigDecimal invert(BigDecimal baseToFrom) {
+        return BigDecimal.ONE.divide(baseToFrom, mathContext);
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.trevizan.mithrilledger.repository;
+
+import com.trevizan.mithrilledger.domain.model.ExchangeRate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, UUID> {
+
+    Optional<ExchangeRate> findFirstByFromCurrencyAndToCurrencyAndFetchedAtLessThanEqualOrderByFetchedAtDesc(
+        String fromCurrency,
+        String toCurrency,
+        Instant at
+    );
+
+    @Query("""
+        select r from ExchangeRate r
+        where r.confirmedAt >= :since and r.fetchedAt = (
+            select max(l.fetchedAt) from ExchangeRate l
+            where l.fromCurrency = r.fromCurrency and l.toCurrency = r.toCurrency
+        )
+        """)
+    List<ExchangeRate> findLatestPerPairSince(@Param("since") Instant since);
+
+    @Transactional
+    @Modifying
+    @Query("update ExchangeRate r set r.confirmedAt = :at where r.id = :id and r.confirmedAt < :at")
+    int confirm(@Param("id") UUID id, @Param("at") Instant at);
+
+}
@@ -0,0 +1,34 @@
+package com.trevizan.mithrilledger.repository;
+
+import com.trevizan.mithrilledger.domain.model.IdempotencyRecord;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        update IdempotencyRecord r set r.claimedAt = :now
+        where r.key = :key and r.statusCode is null and r.claimedAt <= :staleBefore
+        """)
+    int reclaim(@Param("key") String key, @Param("now") Instant now, @Param("staleBefore") Instant staleBefore);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.key = :key and r.claimedAt = :claimedAt and r.statusCode is null")
+    int deleteClaim(@Param("key") String key, @Param("claimedAt") Instant claimedAt);
+
+}
@@ -1,13 +1,108 @@
 package com.trevizan.mithrilledger.repository;
 
 import com.trevizan.mithrilledger.domain.model.Transaction;
+import com.trevizan.mithrilledger.domain.model.TransactionSummary;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
 
+    String SELECT_SUMMARY = "select new com.trevizan.mithrilledger.domain.model.TransactionSummary("
+        + "t.id, t.type, t.fromWallet.id, t.toWallet.id, t.amountDebited, t.amountCredited, "
+        + "t.fromCurrency, t.toCurrency, t.exchangeRate, t.exchangeRateId, t.createdAt) from Transaction t ";
+
+    String BEFORE_CURSOR = "and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id)) ";
+
+    String NEWEST_FIRST = "order by t.createdAt desc, t.id desc";
+
+    String OLDEST_FIRST = "order by t.createdAt, t.id";
+
+    String IN_RANGE = "t.createdAt >= :from and t.createdAt < :to ";
+
+    String EXPORT_FETCH_SIZE = "1000";
+
+    @Query("select t.id from Transaction t where t.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    @Query(SELECT_SUMMARY + "where t.fromWallet.id = :walletId " + NEWEST_FIRST)
+    List<TransactionSummary> findOutgoing(@Param("walletId") UUID walletId, Limit limit);
+
+    @Query(SELECT_SUMMARY + "where t.fromWallet.id = :walletId " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<TransactionSummary> findOutgoingBefore(
+        @Param("walletId") UUID walletId,
+        @Param("createdAt") Instant createdAt,
+        @Param("id") UUID id,
+        Limit limit
+    );
+
+    @Query(SELECT_SUMMARY + "where t.toWallet.id = :walletId " + NEWEST_FIRST)
+    List<TransactionSummary> findIncoming(@Param("walletId") UUID walletId, Limit limit);
+
+    @Query(SELECT_SUMMARY + "where t.toWallet.id = :walletId " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<TransactionSummary> findIncomingBefore(
+        @Param("walletId") UUID walletId,
+        @Param("createdAt") Instant createdAt,
+        @Param("id") UUID id,
+        Limit limit
+    );
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_SUMMARY + "where " + IN_RANGE + OLDEST_FIRST)
+    Stream<TransactionSummary> streamAll(@Param("from") Instant from, @Param("to") Instant to);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_SUMMARY + "where (t.fromWallet.id = :walletId or t.toWallet.id = :walletId) and "
+        + IN_RANGE + OLDEST_FIRST)
+    Stream<TransactionSummary> streamByWallet(
+        @Param("walletId") UUID walletId,
+        @Param("from") Instant from,
+        @Param("to") Instant to
+    );
+
+    @Query("""
+        select coalesce(sum(t.amountCredited), 0) from Transaction t
+        where t.toWallet.id = :walletId and t.createdAt <= :asOf
+        and (t.toWalletVersion > :afterVersion or (t.toWalletVersion is null and t.createdAt > :after))
+        """)
+    BigDecimal sumCredited(
+        @Param("walletId") UUID walletId,
+        @Param("afterVersion") long afterVersion,
+        @Param("after") Instant after,
+        @Param("asOf") Instant asOf
+    );
+
+    @Query("""
+        select coalesce(sum(t.amountDebited), 0) from Transaction t
+        where t.fromWallet.id = :walletId and t.createdAt <= :asOf
+        and (t.fromWalletVersion > :afterVersion or (t.fromWalletVersion is null and t.createdAt > :after))
+        """)
+    BigDecimal sumDebited(
+        @Param("walletId") UUID walletId,
+        @Param("afterVersion") long afterVersion,
+        @Param("after") Instant after,
+        @Param("asOf") Instant asOf
+    );
+
 }
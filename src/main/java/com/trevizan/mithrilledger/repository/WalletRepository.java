@@ -2,12 +2,38 @@ package com.trevizan.mithrilledger.repository;
 
 import com.trevizan.mithrilledger.domain.model.Wallet;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface WalletRepository extends JpaRepository<Wallet, UUID> {
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select w from Wallet w where w.id = :id")
+    Optional<Wallet> findByIdForUpdate(@Param("id") UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select w from Wallet w where w.id in :ids order by w.id")
+    List<Wallet> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+    @Query("select w from Wallet w where w.stripes > 0")
+    List<Wallet> findAllStriped();
+
+    @Query("select w.id from Wallet w order by w.id")
+    List<UUID> findIds(Limit limit);
+
+    @Query("select w.id from Wallet w where w.id > :after order by w.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Limit limit);
+
 }
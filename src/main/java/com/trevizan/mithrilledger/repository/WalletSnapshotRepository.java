@@ -0,0 +1,19 @@
+package com.trevizan.mithrilledger.repository;
+
+import com.trevizan.mithrilledger.domain.model.WalletSnapshot;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WalletSnapshotRepository extends JpaRepository<WalletSnapshot, UUID> {
+
+    Optional<WalletSnapshot> findFirstByWalletIdOrderByTakenAtDesc(UUID walletId);
+
+    Optional<WalletSnapshot> findFirstByWalletIdAndTakenAtLessThanEqualOrderByTakenAtDesc(UUID walletId, Instant asOf);
+
+}
@@ -0,0 +1,37 @@
+package com.trevizan.mithrilledger.repository;
+
+import com.trevizan.mithrilledger.domain.model.WalletStripe;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WalletStripeRepository extends JpaRepository<WalletStripe, UUID> {
+
+    @Modifying
+    @Query("""
+        update WalletStripe s set s.balance = s.balance + :amount
+        where s.walletId = :walletId and s.index = :index
+        """)
+    int credit(@Param("walletId") UUID walletId, @Param("index") int index, @Param("amount") long amount);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from WalletStripe s where s.walletId = :walletId order by s.index")
+    List<WalletStripe> findAllByWalletIdForUpdate(@Param("walletId") UUID walletId);
+
+    @Query("""
+        select w.balance + coalesce((select sum(s.balance) from WalletStripe s where s.walletId = w.id), 0)
+        from Wallet w where w.id = :walletId
+        """)
+    long totalBalance(@Param("walletId") UUID walletId);
+
+}
@@ -0,0 +1,129 @@
+package com.trevizan.mithrilledger.service;
+
+import com.trevizan.mithrilledger.domain.model.Money;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.domain.model.WalletSnapshot;
+import com.trevizan.mithrilledger.domain.model.WalletStripe;
+import com.trevizan.mithrilledger.repository.TransactionRepository;
+import com.trevizan.mithrilledger.repository.WalletRepository;
+import com.trevizan.mithrilledger.repository.WalletSnapshotRepository;
+import com.trevizan.mithrilledger.repository.WalletStripeRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class BalanceSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotService.class);
+
+    private static final int PAGE_SIZE = 500;
+
+    private static final long NO_VERSION = -1;
+
+    private final WalletRepository walletRepository;
+    private final WalletStripeRepository walletStripeRepository;
+    private final WalletSnapshotRepository snapshotRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public BalanceSnapshotService(
+        WalletRepository walletRepository,
+        WalletStripeRepository walletStripeRepository,
+        WalletSnapshotRepository snapshotRepository,
+        TransactionRepository transactionRepository,
+        TransactionTemplate transactionTemplate
+    ) {
+        this.walletRepository = walletRepository;
+        this.walletStripeRepository = walletStripeRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(
+        initialDelayString = "${ledger.snapshot.interval:PT1H}",
+        fixedDelayString = "${ledger.snapshot.interval:PT1H}"
+    )
+    public void snapshotAll() {
+        int scanned = 0;
+        int taken = 0;
+
+        List<UUID> page = walletRepository.findIds(Limit.of(PAGE_SIZE));
+        while (!page.isEmpty()) {
+            for (UUID walletId : page) {
+                if (snapshot(walletId)) {
+                    taken++;
+                }
+            }
+            scanned += page.size();
+            page = walletRepository.findIdsAfter(page.getLast(), Limit.of(PAGE_SIZE));
+        }
+
+        log.info("Wallet snapshots taken: wallets={}, snapshots={}", scanned, taken);
+    }
+
+    public boolean snapshot(UUID walletId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            List<WalletStripe> stripes = walletStripeRepository.findAllByWalletIdForUpdate(walletId);
+            Optional<Wallet> found = walletRepository.findById(walletId);
+            Instant takenAt = Instant.now();
+            if (found.isEmpty()) {
+                return false;
+            }
+
+            Wallet wallet = found.get();
+            if (wallet.isStriped() && stripes.size() != wallet.getStripes()) {
+                return false;
+            }
+            if (!wallet.isStriped() && isUnchanged(wallet)) {
+                return false;
+            }
+
+            long stripeBalance = stripes.stream().mapToLong(WalletStripe::getBalance).sum();
+            BigDecimal balance = Money.ofMinor(
+                Math.addExact(wallet.getMoney().minorUnits(), stripeBalance),
+                wallet.getCurrency()
+            ).toBigDecimal();
+            snapshotRepository.save(WalletSnapshot.of(wallet, balance, takenAt));
+            return true;
+        }));
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getBalanceAsOf(Wallet wallet, Instant asOf) {
+        if (asOf.isBefore(wallet.getCreatedAt())) {
+            throw new IllegalArgumentException("AsOf must not be before the wallet was created.");
+        }
+
+        Optional<WalletSnapshot> snapshot = snapshotRepository
+            .findFirstByWalletIdAndTakenAtLessThanEqualOrderByTakenAtDesc(wallet.getId(), asOf);
+        BigDecimal balance = snapshot.map(WalletSnapshot::getBalance).orElse(BigDecimal.ZERO);
+        long afterVersion = snapshot.map(WalletSnapshot::getVersion).orElse(NO_VERSION);
+        Instant after = snapshot.map(WalletSnapshot::getTakenAt).orElse(Instant.EPOCH);
+
+        BigDecimal replayed = balance
+            .add(transactionRepository.sumCredited(wallet.getId(), afterVersion, after, asOf))
+            .subtract(transactionRepository.sumDebited(wallet.getId(), afterVersion, after, asOf));
+        return Money.ofStored(replayed, wallet.getCurrency()).toBigDecimal();
+    }
+
+    private boolean isUnchanged(Wallet wallet) {
+        return snapshotRepository.findFirstByWalletIdOrderByTakenAtDesc(wallet.getId())
+            .map(latest -> Objects.equals(latest.getVersion(), wallet.getVersion()))
+            .orElse(false);
+    }
+
+}
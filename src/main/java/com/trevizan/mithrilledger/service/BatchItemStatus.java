@@ -0,0 +1,6 @@
+package com.trevizan.mithrilledger.service;
+
+public enum BatchItemStatus {
+    APPLIED,
+    REJECTED
+}
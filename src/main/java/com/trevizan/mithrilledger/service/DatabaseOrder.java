@@ -0,0 +1,16 @@
+package com.trevizan.mithrilledger.service;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+final class DatabaseOrder {
+
+    static final Comparator<UUID> UUID_ORDER = Comparator
+        .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+        .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private DatabaseOrder() {
+
+    }
+
+}
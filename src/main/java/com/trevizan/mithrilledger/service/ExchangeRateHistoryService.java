@@ -0,0 +1,76 @@
+package com.trevizan.mithrilledger.service;
+
+import com.trevizan.mithrilledger.domain.model.ExchangeRate;
+import com.trevizan.mithrilledger.domain.model.ExchangeRateSource;
+import com.trevizan.mithrilledger.repository.ExchangeRateRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Service;
+
+@Service
+public class ExchangeRateHistoryService {
+
+    private final ExchangeRateRepository exchangeRateRepository;
+
+    private final ConcurrentMap<String, ExchangeRate> latest = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    public ExchangeRateHistoryService(ExchangeRateRepository exchangeRateRepository) {
+        this.exchangeRateRepository = exchangeRateRepository;
+    }
+
+    public ExchangeRate record(String from, String to, BigDecimal rate, ExchangeRateSource source) {
+        String key = key(from, to);
+        ReentrantLock lock = locks.computeIfAbsent(key, ignored -> new ReentrantLock());
+        lock.lock();
+        try {
+            Instant now = Instant.now();
+            ExchangeRate current = latest.get(key);
+            if (current != null && current.getRate().compareTo(rate) == 0) {
+                exchangeRateRepository.confirm(current.getId(), now);
+                return current;
+            }
+
+            ExchangeRate recorded = exchangeRateRepository.save(ExchangeRate.of(from, to, rate, source, now));
+            latest.put(key, recorded);
+            return recorded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Optional<ExchangeRate> findAt(String from, String to, Instant at) {
+        ExchangeRate current = latest.get(key(from, to));
+        if (current != null && !at.isBefore(current.getFetchedAt())) {
+            return Optional.of(current);
+        }
+        return exchangeRateRepository
+            .findFirstByFromCurrencyAndToCurrencyAndFetchedAtLessThanEqualOrderByFetchedAtDesc(from, to, at);
+    }
+
+    public List<ExchangeRate> loadLatestSince(Instant since) {
+        List<ExchangeRate> rates = exchangeRateRepository.findLatestPerPairSince(since);
+        rates.forEach(this::remember);
+        return rates;
+    }
+
+    private void remember(ExchangeRate rate) {
+        latest.merge(
+            key(rate.getFromCurrency(), rate.getToCurrency()),
+            rate,
+            (current, candidate) -> candidate.getFetchedAt().isBefore(current.getFetchedAt()) ? current : candidate
+        );
+    }
+
+    private static String key(String from, String to) {
+        return from + "-" + to;
+    }
+
+}
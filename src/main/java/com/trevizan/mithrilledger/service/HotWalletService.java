@@ -0,0 +1,155 @@
+package com.trevizan.mithrilledger.service;
+
+import com.trevizan.mithrilledger.domain.model.Money;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.domain.model.WalletStripe;
+import com.trevizan.mithrilledger.repository.WalletRepository;
+import com.trevizan.mithrilledger.repository.WalletStripeRepository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class HotWalletService {
+
+    private static final Logger log = LoggerFactory.getLogger(HotWalletService.class);
+
+    private final WalletRepository walletRepository;
+    private final WalletStripeRepository walletStripeRepository;
+    private final Duration balanceCacheTtl;
+
+    private final ConcurrentMap<UUID, Integer> stripedWallets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, CachedBalance> balances = new ConcurrentHashMap<>();
+
+    public HotWalletService(
+        WalletRepository walletRepository,
+        WalletStripeRepository walletStripeRepository,
+        @Value("${ledger.hot-wallet.balance-cache-ttl:200ms}") Duration balanceCacheTtl
+    ) {
+        this.walletRepository = walletRepository;
+        this.walletStripeRepository = walletStripeRepository;
+        this.balanceCacheTtl = balanceCacheTtl;
+    }
+
+    public boolean isStriped(UUID walletId) {
+        return stripedWallets.containsKey(walletId);
+    }
+
+    @Transactional
+    public void enableStriping(Wallet wallet, int stripes) {
+        wallet.enableStriping(stripes);
+        walletRepository.save(wallet);
+
+        for (int index = 0; index < stripes; index++) {
+            walletStripeRepository.save(WalletStripe.create(wallet.getId(), index));
+        }
+
+        afterCommit(() -> stripedWallets.put(wallet.getId(), stripes));
+
+        log.info("Wallet striping enabled: walletId={}, stripes={}", wallet.getId(), stripes);
+    }
+
+    @Transactional
+    public void credit(Wallet wallet, BigDecimal amount) {
+        UUID walletId = wallet.getId();
+        long minorUnits = Money.positive(amount, wallet.getCurrency()).minorUnits();
+        Integer stripes = stripedWallets.get(walletId);
+        if (stripes == null) {
+            throw new IllegalStateException("Wallet " + walletId + " is not striped.");
+        }
+        int index = ThreadLocalRandom.current().nextInt(stripes);
+
+        if (walletStripeRepository.credit(walletId, index, minorUnits) == 0) {
+            throw new IllegalStateException("Stripe " + index + " of wallet " + walletId + " does not exist.");
+        }
+        afterCommit(() -> balances.remove(walletId));
+    }
+
+    @Transactional
+    public void debit(Wallet wallet, Money amount) {
+        amount.requirePositive();
+
+        if (wallet.getMoney().isLessThan(amount)) {
+            rebalance(wallet);
+        }
+        wallet.debit(amount);
+        afterCommit(() -> balances.remove(wallet.getId()));
+    }
+
+    public BigDecimal getTotalBalance(Wallet wallet) {
+        return getTotalBalance(wallet.getId(), wallet.getCurrency());
+    }
+
+    public BigDecimal getTotalBalance(UUID walletId, Currency currency) {
+        Instant now = Instant.now();
+        CachedBalance cached = balances.get(walletId);
+
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            return cached.balance();
+        }
+
+        BigDecimal balance = Money.ofMinor(
+            walletStripeRepository.totalBalance(walletId),
+            currency
+        ).toBigDecimal();
+        balances.put(walletId, new CachedBalance(balance, now.plus(balanceCacheTtl)));
+        return balance;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        initialDelayString = "${ledger.hot-wallet.refresh-interval:PT30S}",
+        fixedDelayString = "${ledger.hot-wallet.refresh-interval:PT30S}"
+    )
+    public void refreshStripedWallets() {
+        Map<UUID, Integer> loaded = new HashMap<>();
+        walletRepository.findAllStriped().forEach(wallet -> loaded.put(wallet.getId(), wallet.getStripes()));
+        stripedWallets.keySet().retainAll(loaded.keySet());
+        stripedWallets.putAll(loaded);
+    }
+
+    private void rebalance(Wallet wallet) {
+        for (WalletStripe stripe : walletStripeRepository.findAllByWalletIdForUpdate(wallet.getId())) {
+            long drained = stripe.drain();
+            if (drained > 0) {
+                wallet.credit(Money.ofMinor(drained, wallet.getCurrency()));
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record CachedBalance(BigDecimal balance, Instant expiresAt) { }
+
+}
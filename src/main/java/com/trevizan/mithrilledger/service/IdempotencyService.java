@@ -0,0 +1,248 @@
+package com.trevizan.mithrilledger.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.trevizan.mithrilledger.config.IdempotencyProperties;
+import com.trevizan.mithrilledger.domain.model.IdempotencyRecord;
+import com.trevizan.mithrilledger.exception.domain.IdempotencyKeyInProgressException;
+import com.trevizan.mithrilledger.exception.domain.IdempotencyKeyMismatchException;
+import com.trevizan.mithrilledger.repository.IdempotencyRecordRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import tools.jackson.databind.ObjectMapper;
+
+@Service
+public class IdempotencyService {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final Clock clock;
+    private final Cache<String, StoredResponse> responses;
+
+    private final Counter memoryReplays;
+    private final Counter databaseReplays;
+    private final Counter mismatches;
+    private final Counter reclaims;
+
+    public IdempotencyService(
+        IdempotencyRecordRepository repository,
+        ObjectMapper objectMapper,
+        IdempotencyProperties properties,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.clock = clock;
+        this.responses = Caffeine.newBuilder()
+            .maximumSize(properties.cacheMaxSize())
+            .expireAfterWrite(properties.ttl())
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotency");
+        this.memoryReplays = replayCounter(meterRegistry, "memory");
+        this.databaseReplays = replayCounter(meterRegistry, "database");
+        this.mismatches = Counter.builder("ledger.idempotency.mismatches").register(meterRegistry);
+        this.reclaims = Counter.builder("ledger.idempotency.reclaims").register(meterRegistry);
+    }
+
+    public <T> ResponseEntity<T> execute(
+        String key,
+        String operation,
+        Object request,
+        Class<T> responseType,
+        Supplier<ResponseEntity<T>> action
+    ) {
+        if (key == null) {
+            return action.get();
+        }
+        validateKey(key);
+
+        String fingerprint = fingerprint(operation, request);
+
+        StoredResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            return replay(key, cached, fingerprint, responseType, memoryReplays);
+        }
+
+        Instant claimedAt = clock.instant().truncatedTo(ChronoUnit.MICROS);
+        Optional<StoredResponse> stored = claim(key, fingerprint, claimedAt);
+        if (stored.isPresent()) {
+            responses.put(key, stored.get());
+            return replay(key, stored.get(), fingerprint, responseType, databaseReplays);
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException ex) {
+            repository.deleteClaim(key, claimedAt);
+            throw ex;
+        }
+
+        complete(key, fingerprint, response);
+        return response;
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${ledger.idempotency.purge-interval:PT10M}")
+    public void purgeExpiredKeys() {
+        int purged = repository.deleteCreatedBefore(clock.instant().minus(properties.ttl()));
+        if (purged > 0) {
+            log.info("Expired idempotency keys purged: count={}", purged);
+        }
+    }
+
+    private Optional<StoredResponse> claim(String key, String fingerprint, Instant now) {
+        Optional<IdempotencyRecord> existing = repository.findById(key);
+
+        if (existing.isPresent() && existing.get().isExpiredAt(now, properties.ttl())) {
+            repository.delete(existing.get());
+            existing = Optional.empty();
+        }
+
+        if (existing.isEmpty()) {
+            try {
+                repository.saveAndFlush(IdempotencyRecord.pending(key, fingerprint, now));
+                return Optional.empty();
+            } catch (DataIntegrityViolationException ex) {
+                existing = repository.findById(key);
+            }
+        }
+
+        IdempotencyRecord record = existing.orElseThrow(() -> new IdempotencyKeyInProgressException(key));
+        if (!record.getFingerprint().equals(fingerprint)) {
+            mismatches.increment();
+            throw new IdempotencyKeyMismatchException(key);
+        }
+        if (!record.isCompleted()) {
+            Duration lease = properties.pendingLease();
+            if (record.isClaimExpiredAt(now, lease) && repository.reclaim(key, now, now.minus(lease)) == 1) {
+                reclaims.increment();
+                log.warn("Stale idempotency claim taken over: key={}, claimedAt={}", key, record.getClaimedAt());
+                return Optional.empty();
+            }
+            throw new IdempotencyKeyInProgressException(key);
+        }
+
+        return Optional.of(StoredResponse.from(record));
+    }
+
+    private void complete(String key, String fingerprint, ResponseEntity<?> response) {
+        URI location = response.getHeaders().getLocation();
+        StoredResponse stored = new StoredResponse(
+            fingerprint,
+            response.getStatusCode().value(),
+            location == null ? null : location.toString(),
+            objectMapper.writeValueAsString(response.getBody())
+        );
+
+        responses.put(key, stored);
+
+        try {
+            IdempotencyRecord record = repository.findById(key)
+                .orElseGet(() -> IdempotencyRecord.pending(key, fingerprint, clock.instant()));
+            record.complete(stored.status(), stored.location(), stored.body());
+            repository.save(record);
+        } catch (DataAccessException ex) {
+            log.warn("Idempotent response not stored, claim is released after its lease: key={}", key, ex);
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(
+        String key,
+        StoredResponse stored,
+        String fingerprint,
+        Class<T> responseType,
+        Counter replays
+    ) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            mismatches.increment();
+            throw new IdempotencyKeyMismatchException(key);
+        }
+
+        replays.increment();
+        log.debug("Idempotent request replayed: key={}", key);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.status())
+            .header(REPLAYED_HEADER, "true");
+        if (stored.location() != null) {
+            builder.location(URI.create(stored.location()));
+        }
+        return builder.body(objectMapper.readValue(stored.body(), responseType));
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available.", ex);
+        }
+    }
+
+    private static void validateKey(String key) {
+        if (key.isBlank()) {
+            throw new IllegalArgumentException(IDEMPOTENCY_KEY_HEADER + " must not be blank.");
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                IDEMPOTENCY_KEY_HEADER + " must be at most " + MAX_KEY_LENGTH + " characters."
+            );
+        }
+    }
+
+    private static Counter replayCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("ledger.idempotency.replays")
+            .tag("source", source)
+            .register(meterRegistry);
+    }
+
+    private record StoredResponse(String fingerprint, int status, String location, String body) {
+        static StoredResponse from(IdempotencyRecord record) {
+            return new StoredResponse(
+                record.getFingerprint(),
+                record.getStatusCode(),
+                record.getLocation(),
+                record.getResponseBody()
+            );
+        }
+    }
+
+}
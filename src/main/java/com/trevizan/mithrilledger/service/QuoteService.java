@@ -0,0 +1,80 @@
+package com.trevizan.mithrilledger.service;
+
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.RateQuote;
+import com.trevizan.mithrilledger.domain.exchange.RecordedExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.RecordedRate;
+import com.trevizan.mithrilledger.exception.domain.QuoteExpiredException;
+import com.trevizan.mithrilledger.exception.domain.QuoteNotFoundException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class QuoteService {
+
+    private final ExchangeClient exchangeClient;
+    private final Duration ttl;
+    private final Clock clock;
+    private final ConcurrentMap<UUID, RateQuote> quotes = new ConcurrentHashMap<>();
+
+    public QuoteService(
+        ExchangeClient exchangeClient,
+        @Value("${exchange.quote.ttl:30s}") Duration ttl,
+        Clock clock
+    ) {
+        this.exchangeClient = exchangeClient;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public RateQuote createQuote(Currency fromCurrency, Currency toCurrency) {
+        RecordedRate rate = fromCurrency.equals(toCurrency)
+            ? RecordedRate.IDENTITY
+            : RecordedExchangeClient.recordedRateOf(
+                exchangeClient,
+                fromCurrency.getCurrencyCode(),
+                toCurrency.getCurrencyCode()
+            );
+
+        RateQuote quote = new RateQuote(
+            UUID.randomUUID(),
+            fromCurrency,
+            toCurrency,
+            rate.rate(),
+            rate.rateId(),
+            clock.instant().plus(ttl)
+        );
+        quotes.put(quote.id(), quote);
+        return quote;
+    }
+
+    public RateQuote getValidQuote(UUID id) {
+        RateQuote quote = quotes.get(id);
+
+        if (quote == null) {
+            throw new QuoteNotFoundException(id);
+        }
+        if (quote.isExpiredAt(clock.instant())) {
+            quotes.remove(id, quote);
+            throw new QuoteExpiredException(id);
+        }
+        return quote;
+    }
+
+    @Scheduled(fixedDelayString = "${exchange.quote.purge-interval:PT1M}")
+    public void purgeExpiredQuotes() {
+        Instant now = clock.instant();
+        quotes.values().removeIf(quote -> quote.isExpiredAt(now));
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.trevizan.mithrilledger.service;
+
+import com.trevizan.mithrilledger.domain.model.TransactionSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+public record TransactionCursor(Instant createdAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TransactionCursor of(TransactionSummary transaction) {
+        return new TransactionCursor(transaction.createdAt(), transaction.id());
+    }
+
+    public static TransactionCursor decode(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            return new TransactionCursor(
+                Instant.parse(decoded.substring(0, separator)),
+                UUID.fromString(decoded.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+    }
+
+    public String encode() {
+        String value = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.trevizan.mithrilledger.service;
+
+import com.trevizan.mithrilledger.domain.model.TransactionSummary;
+import com.trevizan.mithrilledger.repository.TransactionRepository;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class TransactionExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionExportService.class);
+
+    private final TransactionRepository transactionRepository;
+
+    public TransactionExportService(TransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public long export(UUID walletId, Instant from, Instant to, Consumer<TransactionSummary> sink) {
+        long exported = 0;
+        try (Stream<TransactionSummary> rows = walletId == null
+            ? transactionRepository.streamAll(from, to)
+            : transactionRepository.streamByWallet(walletId, from, to)) {
+
+            for (TransactionSummary row : (Iterable<TransactionSummary>) rows::iterator) {
+                sink.accept(row);
+                exported++;
+            }
+        }
+
+        log.info("Transactions exported: walletId={}, from={}, to={}, rows={}", walletId, from, to, exported);
+        return exported;
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.trevizan.mithrilledger.service;
+
+import com.trevizan.mithrilledger.domain.model.TransactionSummary;
+import com.trevizan.mithrilledger.exception.domain.WalletNotFoundException;
+import com.trevizan.mithrilledger.repository.TransactionRepository;
+import com.trevizan.mithrilledger.repository.WalletRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class TransactionHistoryService {
+
+    private static final Comparator<TransactionSummary> NEWEST_FIRST = Comparator
+        .comparing(TransactionSummary::createdAt)
+        .thenComparing(TransactionSummary::id, DatabaseOrder.UUID_ORDER)
+        .reversed();
+
+    private final WalletRepository walletRepository;
+    private final TransactionRepository transactionRepository;
+
+    public TransactionHistoryService(
+        WalletRepository walletRepository,
+        TransactionRepository transactionRepository
+    ) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionPage getHistory(UUID walletId, TransactionCursor cursor, int limit) {
+        if (!walletRepository.existsById(walletId)) {
+            throw new WalletNotFoundException(walletId);
+        }
+
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<TransactionSummary> outgoing = cursor == null
+            ? transactionRepository.findOutgoing(walletId, fetchLimit)
+            : transactionRepository.findOutgoingBefore(walletId, cursor.createdAt(), cursor.id(), fetchLimit);
+        List<TransactionSummary> incoming = cursor == null
+            ? transactionRepository.findIncoming(walletId, fetchLimit)
+            : transactionRepository.findIncomingBefore(walletId, cursor.createdAt(), cursor.id(), fetchLimit);
+
+        List<TransactionSummary> merged = new ArrayList<>(outgoing.size() + incoming.size());
+        merged.addAll(outgoing);
+        merged.addAll(incoming);
+        merged.sort(NEWEST_FIRST);
+
+        if (merged.size() <= limit) {
+            return new TransactionPage(merged, null);
+        }
+
+        List<TransactionSummary> items = List.copyOf(merged.subList(0, limit));
+        return new TransactionPage(items, TransactionCursor.of(items.getLast()));
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.trevizan.mithrilledger.service;
+
+import com.trevizan.mithrilledger.domain.model.TransactionSummary;
+
+import java.util.List;
+
+public record TransactionPage(
+    List<TransactionSummary> items,
+    TransactionCursor nextCursor
+) {
+}
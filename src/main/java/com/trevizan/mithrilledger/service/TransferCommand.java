@@ -0,0 +1,12 @@
+package com.trevizan.mithrilledger.service;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record TransferCommand(
+    UUID fromWalletId,
+    UUID toWalletId,
+    BigDecimal amount,
+    UUID quoteId
+) {
+}
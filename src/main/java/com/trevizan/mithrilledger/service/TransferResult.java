@@ -0,0 +1,22 @@
+package com.trevizan.mithrilledger.service;
+
+import com.trevizan.mithrilledger.domain.model.Transaction;
+
+public record TransferResult(
+    int index,
+    BatchItemStatus status,
+    Transaction transaction,
+    String error
+) {
+    public static TransferResult applied(int index, Transaction transaction) {
+        return new TransferResult(index, BatchItemStatus.APPLIED, transaction, null);
+    }
+
+    public static TransferResult rejected(int index, String error) {
+        return new TransferResult(index, BatchItemStatus.REJECTED, null, error);
+    }
+
+    public boolean isApplied() {
+        return status == BatchItemStatus.APPLIED;
+    }
+}
@@ -0,0 +1,10 @@
+package com.trevizan.mithrilledger.service;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record WalletAmountCommand(
+    UUID walletId,
+    BigDecimal amount
+) {
+}
@@ -0,0 +1,24 @@
+package com.trevizan.mithrilledger.service;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record WalletAmountResult(
+    int index,
+    UUID walletId,
+    BatchItemStatus status,
+    BigDecimal balance,
+    String error
+) {
+    public static WalletAmountResult applied(int index, UUID walletId, BigDecimal balance) {
+        return new WalletAmountResult(index, walletId, BatchItemStatus.APPLIED, balance, null);
+    }
+
+    public static WalletAmountResult rejected(int index, UUID walletId, String error) {
+        return new WalletAmountResult(index, walletId, BatchItemStatus.REJECTED, null, error);
+    }
+
+    public boolean isApplied() {
+        return status == BatchItemStatus.APPLIED;
+    }
+}
@@ -0,0 +1,84 @@
+package com.trevizan.mithrilledger.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.trevizan.mithrilledger.config.WalletCacheProperties;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.domain.model.WalletView;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class WalletCache {
+
+    private final boolean enabled;
+    private final Cache<UUID, WalletView> views;
+
+    public WalletCache(WalletCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.views = Caffeine.newBuilder()
+            .maximumSize(properties.maxSize())
+            .expireAfterWrite(properties.ttl())
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, views, "wallets");
+    }
+
+    public WalletView get(UUID id, Function<UUID, Wallet> loader) {
+        if (!enabled) {
+            return WalletView.of(loader.apply(id));
+        }
+
+        WalletView cached = views.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        return store(WalletView.of(loader.apply(id)));
+    }
+
+    public void updateAfterCommit(Wallet wallet) {
+        updateAfterCommit(List.of(wallet));
+    }
+
+    public void updateAfterCommit(Collection<Wallet> wallets) {
+        if (!enabled || wallets.isEmpty()) {
+            return;
+        }
+
+        afterCommit(() -> wallets.forEach(wallet -> store(WalletView.of(wallet))));
+    }
+
+    private WalletView store(WalletView view) {
+        return views.asMap().merge(
+            view.id(),
+            view,
+            (current, candidate) -> candidate.isNewerThan(current) ? candidate : current
+        );
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+}
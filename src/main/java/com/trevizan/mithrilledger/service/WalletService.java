@@ -1,93 +1,677 @@
 package com.trevizan.mithrilledger.service;
 
+import com.trevizan.mithrilledger.config.LedgerBatchProperties;
+import com.trevizan.mithrilledger.config.LedgerLockingProperties;
 import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.RateQuote;
+import com.trevizan.mithrilledger.domain.exchange.RecordedExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.RecordedRate;
+import com.trevizan.mithrilledger.domain.model.Money;
 import com.trevizan.mithrilledger.domain.model.Transaction;
 import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.domain.model.WalletView;
+import com.trevizan.mithrilledger.exception.domain.InsufficientBalanceException;
 import com.trevizan.mithrilledger.exception.domain.WalletNotFoundException;
 import com.trevizan.mithrilledger.repository.TransactionRepository;
 import com.trevizan.mithrilledger.repository.WalletRepository;
+import com.trevizan.mithrilledger.service.engine.InMemoryLedgerEngine;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Currency;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class WalletService {
 
     private static final Logger log = LoggerFactory.getLogger(WalletService.class);
 
+    private static final String CONCURRENT_UPDATE_MESSAGE = "Wallet was updated concurrently, please retry.";
+
     private final WalletRepository walletRepository;
     private final TransactionRepository transactionRepository;
     private final ExchangeClient exchangeClient;
+    private final QuoteService quoteService;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerLockingProperties lockingProperties;
+    private final LedgerBatchProperties batchProperties;
+    private final HotWalletService hotWalletService;
+    private final WalletCache walletCache;
+    private final InMemoryLedgerEngine ledgerEngine;
+    private final MeterRegistry meterRegistry;
+    private final Bulkhead databaseBulkhead;
+
+    private final Counter optimisticConflicts;
+    private final Counter insufficientBalanceRejections;
+    private final ConcurrentMap<String, Timer> operationTimers = new ConcurrentHashMap<>();
 
     public WalletService(
         WalletRepository walletRepository,
         TransactionRepository transactionRepository,
-        ExchangeClient exchangeClient
+        ExchangeClient exchangeClient,
+        QuoteService quoteService,
+        TransactionTemplate transactionTemplate,
+        LedgerLockingProperties lockingProperties,
+        LedgerBatchProperties batchProperties,
+        HotWalletService hotWalletService,
+        WalletCache walletCache,
+        MeterRegistry meterRegistry,
+        Bulkhead databaseBulkhead,
+        Optional<InMemoryLedgerEngine> ledgerEngine
     ) {
         this.walletRepository = walletRepository;
         this.transactionRepository = transactionRepository;
         this.exchangeClient = exchangeClient;
+        this.quoteService = quoteService;
+        this.transactionTemplate = transactionTemplate;
+        this.lockingProperties = lockingProperties;
+        this.batchProperties = batchProperties;
+        this.hotWalletService = hotWalletService;
+        this.walletCache = walletCache;
+        this.ledgerEngine = ledgerEngine.orElse(null);
+        this.meterRegistry = meterRegistry;
+        this.databaseBulkhead = databaseBulkhead;
+
+        this.optimisticConflicts = Counter.builder("ledger.optimistic.conflicts").register(meterRegistry);
+        this.insufficientBalanceRejections = Counter.builder("ledger.rejections")
+            .tag("reason", "insufficient-balance")
+            .register(meterRegistry);
     }
 
-    @Transactional
     public Wallet createWallet(String ownerId, Currency currency) {
-        Wallet wallet = Wallet.create(ownerId, currency);
-        walletRepository.save(wallet);
+        return timed("create-wallet", () -> {
+            Wallet wallet = Wallet.create(ownerId, currency);
+            inTransaction(status -> {
+                walletRepository.save(wallet);
+                if (ledgerEngine == null) {
+                    walletCache.updateAfterCommit(wallet);
+                }
+                return wallet;
+            });
+            Wallet created = ledgerEngine != null ? detached(await(ledgerEngine.create(wallet))) : wallet;
 
-        log.info("Wallet created: walletId={}, ownerId={}, currency={}",
-            wallet.getId(),
-            wallet.getOwnerId(),
-            wallet.getCurrency()
-        );
+            log.info("Wallet created: walletId={}, ownerId={}, currency={}",
+                wallet.getId(),
+                wallet.getOwnerId(),
+                wallet.getCurrency()
+            );
 
-        return wallet;
+            return created;
+        });
     }
 
-    @Transactional(readOnly = true)
     public Wallet getWalletById(UUID id) {
-        return walletRepository.findById(id).orElseThrow(
-            () -> new WalletNotFoundException(id)
-        );
+        if (ledgerEngine != null) {
+            Optional<WalletView> wallet = ledgerEngine.find(id);
+            if (wallet.isPresent()) {
+                return detached(wallet.get());
+            }
+        }
+        return databaseBulkhead.executeSupplier(() -> findWallet(id));
+    }
+
+    public WalletView getWalletView(UUID id) {
+        if (ledgerEngine != null) {
+            Optional<WalletView> wallet = ledgerEngine.find(id);
+            if (wallet.isPresent()) {
+                return wallet.get();
+            }
+            return WalletView.of(databaseBulkhead.executeSupplier(() -> findWallet(id)));
+        }
+        return walletCache.get(id, walletId -> databaseBulkhead.executeSupplier(() -> findWallet(walletId)));
     }
 
-    @Transactional
     public Wallet credit(UUID walletId, BigDecimal amount) {
-        Wallet wallet = getWalletById(walletId);
-        wallet.credit(amount);
-        return walletRepository.save(wallet);
+        return timed("credit", () -> {
+            if (ledgerEngine != null) {
+                return detached(await(ledgerEngine.credit(walletId, amount)));
+            }
+            return executeWithRetry(status -> applyCredit(walletId, amount));
+        });
     }
 
-    @Transactional
     public Wallet debit(UUID walletId, BigDecimal amount) {
-        Wallet wallet = getWalletById(walletId);
-        wallet.debit(amount);
-        return walletRepository.save(wallet);
+        return timed("debit", () -> {
+            if (ledgerEngine != null) {
+                return detached(await(ledgerEngine.debit(walletId, amount)));
+            }
+            return executeWithRetry(status -> applyDebit(walletId, amount));
+        });
     }
 
     @Transactional
+    public Wallet enableStriping(UUID walletId, int stripes) {
+        if (ledgerEngine != null) {
+            throw new IllegalArgumentException("Striped wallets are not supported by the in-memory engine.");
+        }
+        Wallet wallet = getWalletForUpdate(walletId);
+        hotWalletService.enableStriping(wallet, stripes);
+        walletCache.updateAfterCommit(wallet);
+        return wallet;
+    }
+
+    public void creditBulk(List<WalletAmountCommand> commands, Consumer<WalletAmountResult> sink) {
+        if (ledgerEngine != null) {
+            applyBulk(commands, sink, (start, end) -> executeEngineBulkChunk(commands, start, end, ledgerEngine::credit));
+        } else {
+            applyBulk(commands, sink, (start, end) -> executeBulkChunk(commands, start, end, this::creditEntry));
+        }
+    }
+
+    public void debitBulk(List<WalletAmountCommand> commands, Consumer<WalletAmountResult> sink) {
+        if (ledgerEngine != null) {
+            applyBulk(commands, sink, (start, end) -> executeEngineBulkChunk(commands, start, end, ledgerEngine::debit));
+        } else {
+            applyBulk(commands, sink, (start, end) -> executeBulkChunk(commands, start, end, this::debitEntry));
+        }
+    }
+
+    public BigDecimal getTotalBalance(Wallet wallet) {
+        if (!wallet.isStriped()) {
+            return wallet.getBalance();
+        }
+        return hotWalletService.getTotalBalance(wallet);
+    }
+
+    public BigDecimal getTotalBalance(WalletView wallet) {
+        if (!wallet.striped()) {
+            return wallet.balance();
+        }
+        return hotWalletService.getTotalBalance(wallet.id(), wallet.currency());
+    }
+
     public Transaction transfer(Wallet fromWallet, Wallet toWallet, BigDecimal amount) {
-        BigDecimal exchangeRate = getExchangeRate(fromWallet.getCurrency(), toWallet.getCurrency());
-        BigDecimal amountToCredit = amount.multiply(exchangeRate);
+        return transfer(fromWallet, toWallet, amount, null);
+    }
+
+    public Transaction transfer(Wallet fromWallet, Wallet toWallet, BigDecimal amount, UUID quoteId) {
+        return timed("transfer", () -> {
+            if (fromWallet.getId().equals(toWallet.getId())) {
+                throw new IllegalArgumentException("Origin and Destination Wallet must be different.");
+            }
+
+            RecordedRate exchangeRate = quoteId == null
+                ? getExchangeRate(fromWallet.getCurrency(), toWallet.getCurrency())
+                : getQuotedRate(quoteId, fromWallet.getCurrency(), toWallet.getCurrency());
+
+            Money amountToDebit = Money.positive(amount, fromWallet.getCurrency());
+            Money amountToCredit = amountToDebit.convert(exchangeRate.rate(), toWallet.getCurrency());
+
+            if (ledgerEngine != null) {
+                return await(ledgerEngine.transfer(
+                    fromWallet.getId(),
+                    toWallet.getId(),
+                    amountToDebit,
+                    amountToCredit,
+                    exchangeRate.rate(),
+                    exchangeRate.rateId()
+                ));
+            }
+            return executeWithRetry(
+                status -> applyTransfer(fromWallet.getId(), toWallet.getId(), amountToDebit, amountToCredit, exchangeRate)
+            );
+        });
+    }
+
+    public List<TransferResult> transferBatch(List<TransferCommand> commands) {
+        if (commands.size() > batchProperties.maxSize()) {
+            throw new IllegalArgumentException(
+                "A batch can contain at most " + batchProperties.maxSize() + " transfers."
+            );
+        }
+
+        TransferResult[] results = new TransferResult[commands.size()];
+        List<PreparedTransfer> prepared = prepareBatch(commands, results);
+
+        for (int start = 0; start < prepared.size(); start += batchProperties.chunkSize()) {
+            List<PreparedTransfer> chunk = prepared.subList(
+                start,
+                Math.min(start + batchProperties.chunkSize(), prepared.size())
+            );
+            List<TransferResult> chunkResults = ledgerEngine != null ? executeEngineChunk(chunk) : executeChunk(chunk);
+            for (TransferResult result : chunkResults) {
+                results[result.index()] = result;
+            }
+        }
+
+        List<TransferResult> batchResults = Arrays.asList(results);
+        long applied = batchResults.stream().filter(TransferResult::isApplied).count();
+        log.info("Batch transfer executed: transfers={}, applied={}, rejected={}",
+            commands.size(),
+            applied,
+            commands.size() - applied
+        );
 
-        fromWallet.debit(amount);
-        toWallet.credit(amountToCredit);
+        return batchResults;
+    }
+
+    private void applyBulk(
+        List<WalletAmountCommand> commands,
+        Consumer<WalletAmountResult> sink,
+        BiFunction<Integer, Integer, List<WalletAmountResult>> chunkExecutor
+    ) {
+        int applied = 0;
+
+        for (int start = 0; start < commands.size(); start += batchProperties.chunkSize()) {
+            int end = Math.min(start + batchProperties.chunkSize(), commands.size());
+            for (WalletAmountResult result : chunkExecutor.apply(start, end)) {
+                if (result.isApplied()) {
+                    applied++;
+                }
+                sink.accept(result);
+            }
+        }
+
+        log.info("Bulk wallet operation executed: items={}, applied={}, rejected={}",
+            commands.size(),
+            applied,
+            commands.size() - applied
+        );
+    }
+
+    private List<WalletAmountResult> executeBulkChunk(
+        List<WalletAmountCommand> commands,
+        int start,
+        int end,
+        BiFunction<Wallet, BigDecimal, Transaction> operation
+    ) {
+        try {
+            return executeWithRetry(status -> applyBulkChunk(commands, start, end, operation));
+        } catch (ConcurrencyFailureException ex) {
+            log.warn("Bulk wallet chunk rejected after concurrent update: items={}", end - start);
+            List<WalletAmountResult> results = new ArrayList<>(end - start);
+            for (int index = start; index < end; index++) {
+                results.add(WalletAmountResult.rejected(index, commands.get(index).walletId(), CONCURRENT_UPDATE_MESSAGE));
+            }
+            return results;
+        }
+    }
+
+    private List<WalletAmountResult> applyBulkChunk(
+        List<WalletAmountCommand> commands,
+        int start,
+        int end,
+        BiFunction<Wallet, BigDecimal, Transaction> operation
+    ) {
+        Set<UUID> walletIds = new HashSet<>();
+        for (int index = start; index < end; index++) {
+            if (commands.get(index).walletId() != null) {
+                walletIds.add(commands.get(index).walletId());
+            }
+        }
+
+        Map<UUID, Wallet> wallets = new HashMap<>();
+        if (!walletIds.isEmpty()) {
+            List<Wallet> loaded = lockingProperties.isPessimistic()
+                ? walletRepository.findAllByIdForUpdate(walletIds)
+                : walletRepository.findAllById(walletIds);
+            loaded.forEach(wallet -> wallets.put(wallet.getId(), wallet));
+        }
+
+        List<WalletAmountResult> results = new ArrayList<>(end - start);
+        List<Transaction> entries = new ArrayList<>(end - start);
+        for (int index = start; index < end; index++) {
+            WalletAmountCommand command = commands.get(index);
+            try {
+                if (command.walletId() == null) {
+                    throw new IllegalArgumentException("WalletId is required.");
+                }
+                Wallet wallet = wallets.get(command.walletId());
+                if (wallet == null) {
+                    throw new WalletNotFoundException(command.walletId());
+                }
+
+                entries.add(operation.apply(wallet, command.amount()));
+                results.add(WalletAmountResult.applied(index, wallet.getId(), getTotalBalance(wallet)));
+            } catch (IllegalArgumentException | ArithmeticException
+                     | WalletNotFoundException | InsufficientBalanceException ex) {
+                countRejection(ex);
+                results.add(WalletAmountResult.rejected(index, command.walletId(), ex.getMessage()));
+            }
+        }
+
+        walletRepository.saveAll(wallets.values());
+        transactionRepository.saveAll(entries);
+        walletCache.updateAfterCommit(wallets.values());
+        return results;
+    }
 
+    private List<WalletAmountResult> executeEngineBulkChunk(
+        List<WalletAmountCommand> commands,
+        int start,
+        int end,
+        BiFunction<UUID, BigDecimal, CompletableFuture<WalletView>> operation
+    ) {
+        List<CompletableFuture<WalletView>> submitted = new ArrayList<>(end - start);
+        for (int index = start; index < end; index++) {
+            WalletAmountCommand command = commands.get(index);
+            submitted.add(command.walletId() == null
+                ? CompletableFuture.failedFuture(new IllegalArgumentException("WalletId is required."))
+                : operation.apply(command.walletId(), command.amount()));
+        }
+
+        List<WalletAmountResult> results = new ArrayList<>(end - start);
+        for (int index = start; index < end; index++) {
+            UUID walletId = commands.get(index).walletId();
+            try {
+                WalletView wallet = await(submitted.get(index - start));
+                results.add(WalletAmountResult.applied(index, walletId, wallet.balance()));
+            } catch (IllegalArgumentException | ArithmeticException
+                     | WalletNotFoundException | InsufficientBalanceException ex) {
+                countRejection(ex);
+                results.add(WalletAmountResult.rejected(index, walletId, ex.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private <T> T executeWithRetry(TransactionCallback<T> callback) {
+        int attempt = 1;
+        while (true) {
+            try {
+                return inTransaction(callback);
+            } catch (OptimisticLockingFailureException ex) {
+                optimisticConflicts.increment();
+                if (lockingProperties.isPessimistic() || attempt >= lockingProperties.optimisticMaxAttempts()) {
+                    throw ex;
+                }
+                log.debug("Retrying after optimistic lock conflict: attempt={}", attempt);
+                attempt++;
+            }
+        }
+    }
+
+    private List<PreparedTransfer> prepareBatch(List<TransferCommand> commands, TransferResult[] results) {
+        Set<UUID> walletIds = new HashSet<>();
+        for (TransferCommand command : commands) {
+            if (command.fromWalletId() != null) {
+                walletIds.add(command.fromWalletId());
+            }
+            if (command.toWalletId() != null) {
+                walletIds.add(command.toWalletId());
+            }
+        }
+
+        Map<UUID, Wallet> wallets = new HashMap<>();
+        walletRepository.findAllById(walletIds).forEach(wallet -> wallets.put(wallet.getId(), wallet));
+
+        Map<String, Set<String>> pairs = new HashMap<>();
+        for (TransferCommand command : commands) {
+            Wallet fromWallet = wallets.get(command.fromWalletId());
+            Wallet toWallet = wallets.get(command.toWalletId());
+            if (command.quoteId() == null && fromWallet != null && toWallet != null
+                && !fromWallet.getCurrency().equals(toWallet.getCurrency())) {
+                pairs.computeIfAbsent(fromWallet.getCurrency().getCurrencyCode(), base -> new HashSet<>())
+                    .add(toWallet.getCurrency().getCurrencyCode());
+            }
+        }
+
+        Map<String, Map<String, RecordedRate>> rates = new HashMap<>();
+        Map<String, RuntimeException> rateFailures = new HashMap<>();
+        pairs.forEach((base, targets) -> {
+            try {
+                rates.put(base, RecordedExchangeClient.recordedRatesOf(exchangeClient, base, targets));
+            } catch (RuntimeException ex) {
+                rateFailures.put(base, ex);
+            }
+        });
+
+        List<PreparedTransfer> prepared = new ArrayList<>();
+        for (int index = 0; index < commands.size(); index++) {
+            try {
+                prepared.add(prepareTransfer(index, commands.get(index), wallets, rates, rateFailures));
+            } catch (RuntimeException ex) {
+                results[index] = TransferResult.rejected(index, ex.getMessage());
+            }
+        }
+        return prepared;
+    }
+
+    private PreparedTransfer prepareTransfer(
+        int index,
+        TransferCommand command,
+        Map<UUID, Wallet> wallets,
+        Map<String, Map<String, RecordedRate>> rates,
+        Map<String, RuntimeException> rateFailures
+    ) {
+        if (command.fromWalletId() == null) {
+            throw new IllegalArgumentException("Origin Wallet ID is required.");
+        }
+        if (command.toWalletId() == null) {
+            throw new IllegalArgumentException("Destination Wallet ID is required.");
+        }
+        if (command.fromWalletId().equals(command.toWalletId())) {
+            throw new IllegalArgumentException("Origin and Destination Wallet must be different.");
+        }
+        Wallet fromWallet = wallets.get(command.fromWalletId());
+        if (fromWallet == null) {
+            throw new WalletNotFoundException(command.fromWalletId());
+        }
+        Wallet toWallet = wallets.get(command.toWalletId());
+        if (toWallet == null) {
+            throw new WalletNotFoundException(command.toWalletId());
+        }
+
+        Money amount = Money.positive(command.amount(), fromWallet.getCurrency());
+
+        String fromCurrency = fromWallet.getCurrency().getCurrencyCode();
+        String toCurrency = toWallet.getCurrency().getCurrencyCode();
+
+        RecordedRate exchangeRate;
+        if (command.quoteId() != null) {
+            exchangeRate = getQuotedRate(command.quoteId(), fromWallet.getCurrency(), toWallet.getCurrency());
+        } else if (fromCurrency.equals(toCurrency)) {
+            exchangeRate = RecordedRate.IDENTITY;
+        } else if (rateFailures.containsKey(fromCurrency)) {
+            throw rateFailures.get(fromCurrency);
+        } else {
+            exchangeRate = rates.get(fromCurrency).get(toCurrency);
+        }
+
+        Money amountToCredit = amount.convert(exchangeRate.rate(), toWallet.getCurrency());
+        return new PreparedTransfer(
+            index,
+            fromWallet.getId(),
+            toWallet.getId(),
+            amount,
+            amountToCredit,
+            exchangeRate
+        );
+    }
+
+    private List<TransferResult> executeChunk(List<PreparedTransfer> chunk) {
+        try {
+            return executeWithRetry(status -> applyChunk(chunk));
+        } catch (ConcurrencyFailureException ex) {
+            log.warn("Batch transfer chunk rejected after concurrent update: transfers={}", chunk.size());
+            return chunk.stream()
+                .map(transfer -> TransferResult.rejected(transfer.index(), CONCURRENT_UPDATE_MESSAGE))
+                .toList();
+        }
+    }
+
+    private List<TransferResult> executeEngineChunk(List<PreparedTransfer> chunk) {
+        List<CompletableFuture<Transaction>> submitted = new ArrayList<>(chunk.size());
+        for (PreparedTransfer transfer : chunk) {
+            submitted.add(ledgerEngine.transfer(
+                transfer.fromWalletId(),
+                transfer.toWalletId(),
+                transfer.amount(),
+                transfer.amountToCredit(),
+                transfer.exchangeRate().rate(),
+                transfer.exchangeRate().rateId()
+            ));
+        }
+
+        List<TransferResult> results = new ArrayList<>(chunk.size());
+        for (int position = 0; position < chunk.size(); position++) {
+            int index = chunk.get(position).index();
+            try {
+                results.add(TransferResult.applied(index, await(submitted.get(position))));
+            } catch (RuntimeException ex) {
+                countRejection(ex);
+                results.add(TransferResult.rejected(index, ex.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private List<TransferResult> applyChunk(List<PreparedTransfer> chunk) {
+        Map<UUID, Wallet> wallets = lockWallets(chunk);
+        List<TransferResult> results = new ArrayList<>(chunk.size());
+        List<Transaction> transactions = new ArrayList<>(chunk.size());
+
+        for (PreparedTransfer transfer : chunk) {
+            Wallet fromWallet = wallets.get(transfer.fromWalletId());
+            Wallet toWallet = wallets.get(transfer.toWalletId());
+
+            try {
+                debitWallet(fromWallet, transfer.amount());
+            } catch (InsufficientBalanceException ex) {
+                insufficientBalanceRejections.increment();
+                results.add(TransferResult.rejected(transfer.index(), ex.getMessage()));
+                continue;
+            }
+
+            toWallet.credit(transfer.amountToCredit());
+
+            Transaction transaction = new Transaction(
+                fromWallet,
+                toWallet,
+                transfer.amount().toBigDecimal(),
+                transfer.amountToCredit().toBigDecimal(),
+                transfer.exchangeRate().rate(),
+                transfer.exchangeRate().rateId()
+            );
+            transactions.add(transaction);
+            results.add(TransferResult.applied(transfer.index(), transaction));
+        }
+
+        walletRepository.saveAll(wallets.values());
+        transactionRepository.saveAll(transactions);
+        walletCache.updateAfterCommit(wallets.values());
+        return results;
+    }
+
+    private Map<UUID, Wallet> lockWallets(List<PreparedTransfer> chunk) {
+        SortedSet<UUID> walletIds = new TreeSet<>(DatabaseOrder.UUID_ORDER);
+        for (PreparedTransfer transfer : chunk) {
+            walletIds.add(transfer.fromWalletId());
+            walletIds.add(transfer.toWalletId());
+        }
+
+        Map<UUID, Wallet> wallets = new HashMap<>();
+        if (lockingProperties.isPessimistic()) {
+            for (UUID walletId : walletIds) {
+                wallets.put(walletId, getWalletForUpdate(walletId));
+            }
+        } else {
+            walletRepository.findAllById(walletIds).forEach(wallet -> wallets.put(wallet.getId(), wallet));
+        }
+        return wallets;
+    }
+
+    private Wallet applyCredit(UUID walletId, BigDecimal amount) {
+        if (hotWalletService.isStriped(walletId)) {
+            Wallet wallet = findWallet(walletId);
+            hotWalletService.credit(wallet, amount);
+            Transaction transaction = Transaction.credit(wallet, Money.of(amount, wallet.getCurrency()));
+            transaction.markCreditedToStripe();
+            transactionRepository.save(transaction);
+            return wallet;
+        }
+
+        Wallet wallet = getWalletForUpdate(walletId);
+        transactionRepository.save(creditEntry(wallet, amount));
+        Wallet saved = walletRepository.save(wallet);
+        walletCache.updateAfterCommit(wallet);
+        return saved;
+    }
+
+    private Wallet applyDebit(UUID walletId, BigDecimal amount) {
+        Wallet wallet = getWalletForUpdate(walletId);
+        transactionRepository.save(debitEntry(wallet, amount));
+        Wallet saved = walletRepository.save(wallet);
+        walletCache.updateAfterCommit(wallet);
+        return saved;
+    }
+
+    private Transaction applyTransfer(
+        UUID fromWalletId,
+        UUID toWalletId,
+        Money amount,
+        Money amountToCredit,
+        RecordedRate exchangeRate
+    ) {
+        boolean stripedDestination = hotWalletService.isStriped(toWalletId);
+
+        Wallet fromWallet;
+        Wallet toWallet;
+        if (stripedDestination) {
+            fromWallet = getWalletForUpdate(fromWalletId);
+            toWallet = findWallet(toWalletId);
+        } else if (DatabaseOrder.UUID_ORDER.compare(fromWalletId, toWalletId) < 0) {
+            fromWallet = getWalletForUpdate(fromWalletId);
+            toWallet = getWalletForUpdate(toWalletId);
+        } else {
+            toWallet = getWalletForUpdate(toWalletId);
+            fromWallet = getWalletForUpdate(fromWalletId);
+        }
+
+        debitWallet(fromWallet, amount);
         walletRepository.save(fromWallet);
-        walletRepository.save(toWallet);
+        walletCache.updateAfterCommit(fromWallet);
+
+        if (stripedDestination) {
+            hotWalletService.credit(toWallet, amountToCredit.toBigDecimal());
+        } else {
+            toWallet.credit(amountToCredit);
+            walletRepository.save(toWallet);
+            walletCache.updateAfterCommit(toWallet);
+        }
 
         Transaction transaction = new Transaction(
             fromWallet,
             toWallet,
-            amount,
-            amountToCredit,
-            exchangeRate
+            amount.toBigDecimal(),
+            amountToCredit.toBigDecimal(),
+            exchangeRate.rate(),
+            exchangeRate.rateId()
         );
+        if (stripedDestination) {
+            transaction.markCreditedToStripe();
+        }
         transactionRepository.save(transaction);
 
         log.info(
@@ -104,12 +688,121 @@ public class WalletService {
         return transaction;
     }
 
-    private BigDecimal getExchangeRate(Currency fromCurrency, Currency toCurrency) {
+    private Transaction creditEntry(Wallet wallet, BigDecimal amount) {
+        Money money = Money.of(amount, wallet.getCurrency());
+        wallet.credit(money);
+        return Transaction.credit(wallet, money);
+    }
+
+    private Transaction debitEntry(Wallet wallet, BigDecimal amount) {
+        Money money = Money.of(amount, wallet.getCurrency());
+        debitWallet(wallet, money);
+        return Transaction.debit(wallet, money);
+    }
+
+    private void debitWallet(Wallet wallet, Money amount) {
+        if (wallet.isStriped()) {
+            hotWalletService.debit(wallet, amount);
+        } else {
+            wallet.debit(amount);
+        }
+    }
+
+    private Wallet findWallet(UUID id) {
+        return walletRepository.findById(id).orElseThrow(() -> new WalletNotFoundException(id));
+    }
+
+    private Wallet getWalletForUpdate(UUID id) {
+        Optional<Wallet> wallet = lockingProperties.isPessimistic()
+            ? walletRepository.findByIdForUpdate(id)
+            : walletRepository.findById(id);
+
+        return wallet.orElseThrow(() -> new WalletNotFoundException(id));
+    }
+
+    private RecordedRate getExchangeRate(Currency fromCurrency, Currency toCurrency) {
         if (fromCurrency.equals(toCurrency)) {
-            return BigDecimal.ONE;
+            return RecordedRate.IDENTITY;
         }
 
-        return exchangeClient.getRate(fromCurrency.getCurrencyCode(), toCurrency.getCurrencyCode());
+        String from = fromCurrency.getCurrencyCode();
+        String to = toCurrency.getCurrencyCode();
+        return RecordedExchangeClient.recordedRateOf(exchangeClient, from, to);
+    }
+
+    private RecordedRate getQuotedRate(UUID quoteId, Currency fromCurrency, Currency toCurrency) {
+        RateQuote quote = quoteService.getValidQuote(quoteId);
+
+        if (!quote.matches(fromCurrency, toCurrency)) {
+            throw new IllegalArgumentException(
+                "Quote " + quoteId + " does not match " + fromCurrency + " -> " + toCurrency + "."
+            );
+        }
+        return new RecordedRate(quote.rate(), quote.rateId());
     }
 
+    private <T> T inTransaction(TransactionCallback<T> callback) {
+        return databaseBulkhead.executeSupplier(() -> transactionTemplate.execute(callback));
+    }
+
+    private <T> T timed(String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } catch (InsufficientBalanceException ex) {
+            insufficientBalanceRejections.increment();
+            outcome = "insufficient-balance";
+            throw ex;
+        } catch (ConcurrencyFailureException ex) {
+            outcome = "conflict";
+            throw ex;
+        } catch (BulkheadFullException ex) {
+            outcome = "bulkhead-full";
+            throw ex;
+        } finally {
+            sample.stop(operationTimer(operation, outcome));
+        }
+    }
+
+    private Timer operationTimer(String operation, String outcome) {
+        return operationTimers.computeIfAbsent(operation + ":" + outcome, key -> Timer.builder("ledger.operations")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+    }
+
+    private void countRejection(RuntimeException ex) {
+        if (ex instanceof InsufficientBalanceException) {
+            insufficientBalanceRejections.increment();
+        }
+    }
+
+    private static Wallet detached(WalletView view) {
+        return Wallet.restore(view.id(), view.ownerId(), view.currency(), view.balance(), view.createdAt());
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private record PreparedTransfer(
+        int index,
+        UUID fromWalletId,
+        UUID toWalletId,
+        Money amount,
+        Money amountToCredit,
+        RecordedRate exchangeRate
+    ) { }
+
 }
@@ -0,0 +1,555 @@
+package com.trevizan.mithrilledger.service.engine;
+
+import com.trevizan.mithrilledger.config.LedgerEngineProperties;
+import com.trevizan.mithrilledger.domain.model.Money;
+import com.trevizan.mithrilledger.domain.model.Transaction;
+import com.trevizan.mithrilledger.domain.model.TransactionType;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.domain.model.WalletView;
+import com.trevizan.mithrilledger.exception.domain.WalletNotFoundException;
+import com.trevizan.mithrilledger.repository.TransactionRepository;
+import com.trevizan.mithrilledger.repository.WalletRepository;
+import com.trevizan.mithrilledger.service.engine.JournalCheckpoint.WalletState;
+import com.trevizan.mithrilledger.service.engine.JournalRecord.Credited;
+import com.trevizan.mithrilledger.service.engine.JournalRecord.Debited;
+import com.trevizan.mithrilledger.service.engine.JournalRecord.TransferCredited;
+import com.trevizan.mithrilledger.service.engine.JournalRecord.TransferDebited;
+import com.trevizan.mithrilledger.service.engine.JournalRecord.TransferReverted;
+import com.trevizan.mithrilledger.service.engine.JournalRecord.WalletOpened;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+
+public class InMemoryLedgerEngine implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryLedgerEngine.class);
+
+    private static final int PRELOAD_PAGE_SIZE = 1000;
+    private static final int RECONCILE_PAGE_SIZE = 1000;
+    private static final long PARK_TIMEOUT_SECONDS = 10;
+
+    private final WalletRepository walletRepository;
+    private final TransactionRepository transactionRepository;
+    private final LedgerPersister persister;
+    private final LedgerJournal journal;
+    private final LedgerEngineProperties properties;
+    private final LedgerPartition[] partitions;
+    private final ScheduledExecutorService flusher;
+
+    private final ConcurrentMap<UUID, Wallet> wallets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, WalletView> views = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, TransferDebited> inFlight = new ConcurrentHashMap<>();
+
+    public InMemoryLedgerEngine(
+        WalletRepository walletRepository,
+        TransactionRepository transactionRepository,
+        LedgerPersister persister,
+        LedgerJournal journal,
+        LedgerEngineProperties properties
+    ) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.persister = persister;
+        this.journal = journal;
+        this.properties = properties;
+        this.partitions = new LedgerPartition[properties.partitions()];
+        for (int index = 0; index < partitions.length; index++) {
+            partitions[index] = new LedgerPartition(index, properties.ringSize(), properties.writerBatchSize());
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("ledger-persister").daemon().factory()
+        );
+    }
+
+    public void start() {
+        if (journal == null) {
+            preload();
+        } else {
+            recover();
+        }
+        wallets.values().forEach(this::publish);
+        for (LedgerPartition partition : partitions) {
+            partition.start();
+        }
+        long interval = properties.persistInterval().toMillis();
+        flusher.scheduleWithFixedDelay(persister::flush, interval, interval, TimeUnit.MILLISECONDS);
+        if (journal != null) {
+            long checkpointInterval = properties.journal().checkpointInterval().toMillis();
+            flusher.scheduleWithFixedDelay(
+                this::checkpointSafely,
+                checkpointInterval,
+                checkpointInterval,
+                TimeUnit.MILLISECONDS
+            );
+        }
+
+        log.info("In-memory ledger engine started: partitions={}, wallets={}, journal={}",
+            partitions.length,
+            wallets.size(),
+            journal != null
+        );
+    }
+
+    public Optional<WalletView> find(UUID walletId) {
+        return Optional.ofNullable(views.get(walletId));
+    }
+
+    public CompletableFuture<WalletView> create(Wallet wallet) {
+        return submit(wallet.getId(), () -> {
+            long sequence = journal(WalletOpened.of(wallet));
+            wallets.put(wallet.getId(), wallet);
+            return new Applied<>(publish(wallet), sequence);
+        });
+    }
+
+    public CompletableFuture<WalletView> credit(UUID walletId, BigDecimal amount) {
+        return submit(walletId, () -> {
+            Wallet wallet = load(walletId);
+            Money money = Money.of(amount, wallet.getCurrency());
+            wallet.credit(money);
+            Transaction transaction = Transaction.credit(wallet, money);
+
+            long sequence;
+            try {
+                sequence = journal(new Credited(
+                    transaction.getId(),
+                    walletId,
+                    transaction.getAmountCredited(),
+                    transaction.getCreatedAt()
+                ));
+            } catch (RuntimeException ex) {
+                wallet.debit(money);
+                throw ex;
+            }
+
+            persister.record(transaction);
+            return new Applied<>(publish(wallet), sequence);
+        });
+    }
+
+    public CompletableFuture<WalletView> debit(UUID walletId, BigDecimal amount) {
+        return submit(walletId, () -> {
+            Wallet wallet = load(walletId);
+            Money money = Money.of(amount, wallet.getCurrency());
+            wallet.debit(money);
+            Transaction transaction = Transaction.debit(wallet, money);
+
+            long sequence;
+            try {
+                sequence = journal(new Debited(
+                    transaction.getId(),
+                    walletId,
+                    transaction.getAmountDebited(),
+                    transaction.getCreatedAt()
+                ));
+            } catch (RuntimeException ex) {
+                wallet.credit(money);
+                throw ex;
+            }
+
+            persister.record(transaction);
+            return new Applied<>(publish(wallet), sequence);
+        });
+    }
+
+    public CompletableFuture<Transaction> transfer(
+        UUID fromWalletId,
+        UUID toWalletId,
+        Money amountToDebit,
+        Money amountToCredit,
+        BigDecimal exchangeRate,
+        UUID exchangeRateId
+    ) {
+        if (fromWalletId.equals(toWalletId)) {
+            throw new IllegalArgumentException("Origin and Destination Wallet must be different.");
+        }
+        amountToDebit.requirePositive();
+        amountToCredit.requirePositive();
+
+        CompletableFuture<Transaction> result = new CompletableFuture<>();
+        LedgerPartition source = partitionFor(fromWalletId);
+        LedgerPartition target = partitionFor(toWalletId);
+
+        source.submit(() -> {
+            Wallet fromWallet = load(fromWalletId);
+            fromWallet.debit(amountToDebit);
+
+            TransferDebited debited = new TransferDebited(
+                UUID.randomUUID(),
+                fromWalletId,
+                toWalletId,
+                amountToDebit.toBigDecimal(),
+                amountToCredit.toBigDecimal(),
+                exchangeRate,
+                exchangeRateId,
+                Instant.now()
+            );
+            try {
+                journal(debited);
+            } catch (RuntimeException ex) {
+                fromWallet.credit(amountToDebit);
+                throw ex;
+            }
+            inFlight.put(debited.transactionId(), debited);
+            publish(fromWallet);
+
+            target.handoff(() -> {
+                try {
+                    Applied<Transaction> credited = completeTransfer(debited, fromWallet);
+                    whenDurable(credited).whenComplete((transaction, ex) -> {
+                        if (ex != null) {
+                            result.completeExceptionally(ex);
+                        } else {
+                            result.complete(transaction);
+                        }
+                    });
+                } catch (RuntimeException ex) {
+                    source.handoff(() -> revertTransfer(debited, fromWallet));
+                    result.completeExceptionally(ex);
+                }
+            });
+            return null;
+        }).whenComplete((ignored, ex) -> {
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            }
+        });
+
+        return result;
+    }
+
+    public int flush() {
+        return persister.flush();
+    }
+
+    public void checkpoint() {
+        if (journal == null) {
+            return;
+        }
+
+        CountDownLatch parked = new CountDownLatch(partitions.length);
+        CountDownLatch resume = new CountDownLatch(1);
+        for (LedgerPartition partition : partitions) {
+            partition.submit(() -> {
+                parked.countDown();
+                awaitQuietly(resume);
+                return null;
+            });
+        }
+
+        try {
+            if (!parked.await(PARK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Ledger partitions did not park for checkpoint.");
+            }
+            writeCheckpoint();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parking ledger partitions.", ex);
+        } finally {
+            resume.countDown();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (LedgerPartition partition : partitions) {
+            partition.stop();
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+
+        if (journal != null) {
+            writeCheckpoint();
+            journal.close();
+        } else {
+            persister.flush();
+        }
+
+        log.info("In-memory ledger engine stopped: unpersisted={}", persister.backlog());
+    }
+
+    private void preload() {
+        List<UUID> page = walletRepository.findIds(Limit.of(PRELOAD_PAGE_SIZE));
+        while (!page.isEmpty()) {
+            walletRepository.findAllById(page).forEach(wallet -> wallets.put(wallet.getId(), wallet));
+            page = walletRepository.findIdsAfter(page.getLast(), Limit.of(PRELOAD_PAGE_SIZE));
+        }
+    }
+
+    private void recover() {
+        journal.open();
+        Optional<JournalCheckpoint> checkpoint = journal.readCheckpoint();
+
+        if (checkpoint.isEmpty()) {
+            if (journal.nextSequence() > 1) {
+                throw new IllegalStateException("Ledger journal has records but no checkpoint to replay them from.");
+            }
+            preload();
+            writeCheckpoint();
+            return;
+        }
+
+        checkpoint.get().wallets().forEach(state -> wallets.put(state.id(), state.toWallet()));
+        checkpoint.get().inFlight().forEach(transfer -> inFlight.put(transfer.transactionId(), transfer));
+
+        Map<UUID, Transaction> replayed = new LinkedHashMap<>();
+        long[] records = {0};
+        journal.replay(checkpoint.get().sequence(), entry -> {
+            replay(entry.record(), replayed);
+            records[0]++;
+        });
+
+        for (TransferDebited pending : List.copyOf(inFlight.values())) {
+            Wallet fromWallet = replayed(pending.fromWalletId());
+            try {
+                completeTransfer(pending, fromWallet);
+            } catch (RuntimeException ex) {
+                log.warn("Reverting in-flight transfer during recovery: transactionId={}", pending.transactionId(), ex);
+                revertTransfer(pending, fromWallet);
+            }
+        }
+
+        reconcile(replayed);
+        writeCheckpoint();
+
+        log.info("Ledger journal replayed: fromSequence={}, records={}, transactions={}",
+            checkpoint.get().sequence(),
+            records[0],
+            replayed.size()
+        );
+    }
+
+    private void replay(JournalRecord record, Map<UUID, Transaction> replayed) {
+        switch (record) {
+            case WalletOpened opened -> wallets.put(opened.walletId(), Wallet.restore(
+                opened.walletId(),
+                opened.ownerId(),
+                Currency.getInstance(opened.currency()),
+                opened.balance(),
+                opened.createdAt()
+            ));
+            case Credited credited -> {
+                Wallet wallet = replayed(credited.walletId());
+                wallet.credit(credited.amount());
+                replayed.put(credited.transactionId(), Transaction.restore(
+                    credited.transactionId(),
+                    TransactionType.CREDIT,
+                    null,
+                    wallet,
+                    null,
+                    credited.amount(),
+                    null,
+                    null,
+                    credited.createdAt()
+                ));
+            }
+            case Debited debited -> {
+                Wallet wallet = replayed(debited.walletId());
+                wallet.debit(debited.amount());
+                replayed.put(debited.transactionId(), Transaction.restore(
+                    debited.transactionId(),
+                    TransactionType.DEBIT,
+                    wallet,
+                    null,
+                    debited.amount(),
+                    null,
+                    null,
+                    null,
+                    debited.createdAt()
+                ));
+            }
+            case TransferDebited debited -> {
+                Wallet wallet = replayed(debited.fromWalletId());
+                wallet.debit(debited.amountDebited());
+                inFlight.put(debited.transactionId(), debited);
+            }
+            case TransferCredited credited -> {
+                TransferDebited debited = pending(credited.transactionId());
+                Wallet toWallet = replayed(debited.toWalletId());
+                toWallet.credit(debited.amountCredited());
+                replayed.put(debited.transactionId(), transferOf(debited, replayed(debited.fromWalletId()), toWallet));
+            }
+            case TransferReverted reverted -> {
+                TransferDebited debited = pending(reverted.transactionId());
+                Wallet fromWallet = replayed(debited.fromWalletId());
+                fromWallet.credit(debited.amountDebited());
+            }
+        }
+    }
+
+    private void reconcile(Map<UUID, Transaction> replayed) {
+        List<UUID> ids = new ArrayList<>(replayed.keySet());
+        Set<UUID> existing = new HashSet<>();
+        for (int start = 0; start < ids.size(); start += RECONCILE_PAGE_SIZE) {
+            existing.addAll(transactionRepository.findExistingIds(
+                ids.subList(start, Math.min(start + RECONCILE_PAGE_SIZE, ids.size()))
+            ));
+        }
+
+        replayed.forEach((id, transaction) -> {
+            if (!existing.contains(id)) {
+                persister.record(transaction);
+            }
+        });
+    }
+
+    private Applied<Transaction> completeTransfer(TransferDebited debited, Wallet fromWallet) {
+        Wallet toWallet = load(debited.toWalletId());
+        toWallet.credit(debited.amountCredited());
+
+        long sequence;
+        try {
+            sequence = journal(new TransferCredited(debited.transactionId()));
+        } catch (RuntimeException ex) {
+            toWallet.debit(debited.amountCredited());
+            throw ex;
+        }
+        inFlight.remove(debited.transactionId());
+        publish(toWallet);
+
+        Transaction transaction = transferOf(debited, fromWallet, toWallet);
+        persister.record(transaction);
+        return new Applied<>(transaction, sequence);
+    }
+
+    private void revertTransfer(TransferDebited debited, Wallet fromWallet) {
+        try {
+            journal(new TransferReverted(debited.transactionId()));
+        } catch (RuntimeException ex) {
+            log.error("Failed to journal transfer reversal: transactionId={}", debited.transactionId(), ex);
+        }
+        inFlight.remove(debited.transactionId());
+        fromWallet.credit(debited.amountDebited());
+        publish(fromWallet);
+    }
+
+    private void writeCheckpoint() {
+        long sequence = journal.nextSequence();
+        List<WalletState> states = wallets.values().stream().map(WalletState::of).toList();
+        List<TransferDebited> pending = List.copyOf(inFlight.values());
+
+        persister.flush();
+        if (persister.backlog() > 0) {
+            log.warn("Ledger checkpoint skipped until pending writes reach the database: backlog={}", persister.backlog());
+            return;
+        }
+
+        journal.writeCheckpoint(new JournalCheckpoint(sequence, states, pending));
+        log.info("Ledger checkpoint written: sequence={}, wallets={}, inFlight={}",
+            sequence,
+            states.size(),
+            pending.size()
+        );
+    }
+
+    private void checkpointSafely() {
+        try {
+            checkpoint();
+        } catch (RuntimeException ex) {
+            log.error("Ledger checkpoint failed", ex);
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(UUID walletId, Supplier<Applied<T>> command) {
+        return partitionFor(walletId).submit(command).thenCompose(this::whenDurable);
+    }
+
+    private <T> CompletableFuture<T> whenDurable(Applied<T> applied) {
+        if (journal == null) {
+            return CompletableFuture.completedFuture(applied.value());
+        }
+        return journal.awaitDurable(applied.sequence()).thenApply(ignored -> applied.value());
+    }
+
+    private long journal(JournalRecord record) {
+        return journal == null ? 0 : journal.append(record);
+    }
+
+    private Wallet load(UUID walletId) {
+        Wallet wallet = wallets.get(walletId);
+        if (wallet == null) {
+            wallet = walletRepository.findById(walletId).orElseThrow(() -> new WalletNotFoundException(walletId));
+            if (!wallet.isStriped()) {
+                journal(WalletOpened.of(wallet));
+            }
+            wallets.put(walletId, wallet);
+            publish(wallet);
+        }
+        if (wallet.isStriped()) {
+            throw new IllegalArgumentException("Striped wallets are not supported by the in-memory engine.");
+        }
+        return wallet;
+    }
+
+    private WalletView publish(Wallet wallet) {
+        WalletView view = WalletView.of(wallet);
+        views.put(wallet.getId(), view);
+        return view;
+    }
+
+    private Wallet replayed(UUID walletId) {
+        Wallet wallet = wallets.get(walletId);
+        if (wallet == null) {
+            throw new IllegalStateException("Journal references wallet " + walletId + " that was never opened.");
+        }
+        return wallet;
+    }
+
+    private TransferDebited pending(UUID transactionId) {
+        TransferDebited debited = inFlight.remove(transactionId);
+        if (debited == null) {
+            throw new IllegalStateException("Journal resolves transfer " + transactionId + " that was never debited.");
+        }
+        return debited;
+    }
+
+    private LedgerPartition partitionFor(UUID walletId) {
+        return partitions[Math.floorMod(walletId.hashCode(), partitions.length)];
+    }
+
+    private static Transaction transferOf(TransferDebited debited, Wallet fromWallet, Wallet toWallet) {
+        return Transaction.restore(
+            debited.transactionId(),
+            TransactionType.TRANSFER,
+            fromWallet,
+            toWallet,
+            debited.amountDebited(),
+            debited.amountCredited(),
+            debited.exchangeRate(),
+            debited.exchangeRateId(),
+            debited.createdAt()
+        );
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Applied<T>(T value, long sequence) { }
+
+}
@@ -0,0 +1,163 @@
+package com.trevizan.mithrilledger.service.engine;
+
+import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.service.engine.JournalRecord.TransferDebited;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.readDecimal;
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.readInstant;
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.readString;
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.readUuid;
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.writeDecimal;
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.writeInstant;
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.writeString;
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.writeUuid;
+
+public record JournalCheckpoint(long sequence, List<WalletState> wallets, List<TransferDebited> inFlight) {
+
+    private static final int LEGACY_MAGIC = 0x4D4C4350;
+    private static final int MAGIC = 0x4D4C4351;
+    private static final int ENTRY_BUFFER_SIZE = 64 * 1024;
+
+    void writeTo(Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(
+            temporary,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            CRC32C crc = new CRC32C();
+            DataOutputStream out = new DataOutputStream(
+                new CheckedOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)), crc)
+            );
+            out.writeInt(MAGIC);
+            out.writeLong(sequence);
+            out.writeInt(wallets.size());
+            out.writeInt(inFlight.size());
+
+            ByteBuffer entry = ByteBuffer.allocate(ENTRY_BUFFER_SIZE);
+            for (WalletState wallet : wallets) {
+                entry.clear();
+                wallet.write(entry);
+                writeEntry(out, entry);
+            }
+            for (TransferDebited transfer : inFlight) {
+                entry.clear();
+                transfer.write(entry);
+                writeEntry(out, entry);
+            }
+
+            out.writeLong(crc.getValue());
+            out.flush();
+            channel.force(true);
+        }
+
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static Optional<JournalCheckpoint> readFrom(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+
+        CRC32C crc = new CRC32C();
+        try (DataInputStream in = new DataInputStream(
+            new CheckedInputStream(new BufferedInputStream(Files.newInputStream(file)), crc)
+        )) {
+            int magic = in.readInt();
+            if (magic != MAGIC && magic != LEGACY_MAGIC) {
+                throw new IOException("Invalid journal checkpoint: " + file);
+            }
+            byte transferType = magic == MAGIC ? TransferDebited.TYPE : TransferDebited.LEGACY_TYPE;
+            long sequence = in.readLong();
+            int walletCount = in.readInt();
+            int inFlightCount = in.readInt();
+
+            List<WalletState> wallets = new ArrayList<>(walletCount);
+            for (int i = 0; i < walletCount; i++) {
+                wallets.add(WalletState.read(readEntry(in)));
+            }
+            List<TransferDebited> inFlight = new ArrayList<>(inFlightCount);
+            for (int i = 0; i < inFlightCount; i++) {
+                inFlight.add((TransferDebited) JournalRecord.read(transferType, readEntry(in)));
+            }
+
+            long expected = crc.getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Journal checkpoint checksum mismatch: " + file);
+            }
+            return Optional.of(new JournalCheckpoint(sequence, wallets, inFlight));
+        }
+    }
+
+    private static void writeEntry(DataOutputStream out, ByteBuffer entry) throws IOException {
+        out.writeInt(entry.position());
+        out.write(entry.array(), 0, entry.position());
+    }
+
+    private static ByteBuffer readEntry(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return ByteBuffer.wrap(bytes);
+    }
+
+    public record WalletState(UUID id, String ownerId, String currency, BigDecimal balance, Instant createdAt) {
+
+        static WalletState of(Wallet wallet) {
+            return new WalletState(
+                wallet.getId(),
+                wallet.getOwnerId(),
+                wallet.getCurrency().getCurrencyCode(),
+                wallet.getBalance(),
+                wallet.getCreatedAt()
+            );
+        }
+
+        Wallet toWallet() {
+            return Wallet.restore(id, ownerId, Currency.getInstance(currency), balance, createdAt);
+        }
+
+        private void write(ByteBuffer buffer) {
+            writeUuid(buffer, id);
+            writeString(buffer, ownerId);
+            writeString(buffer, currency);
+            writeDecimal(buffer, balance);
+            writeInstant(buffer, createdAt);
+        }
+
+        private static WalletState read(ByteBuffer buffer) {
+            return new WalletState(
+                readUuid(buffer),
+                readString(buffer),
+                readString(buffer),
+                readDecimal(buffer),
+                readInstant(buffer)
+            );
+        }
+    }
+
+}
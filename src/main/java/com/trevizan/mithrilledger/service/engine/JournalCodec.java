@@ -0,0 +1,77 @@
+package com.trevizan.mithrilledger.service.engine;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+final class JournalCodec {
+
+    private JournalCodec() {
+
+    }
+
+    static void writeUuid(ByteBuffer buffer, UUID value) {
+        buffer.putLong(value.getMostSignificantBits());
+        buffer.putLong(value.getLeastSignificantBits());
+    }
+
+    static UUID readUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    static void writeNullableUuid(ByteBuffer buffer, UUID value) {
+        buffer.put((byte) (value == null ? 0 : 1));
+        if (value != null) {
+            writeUuid(buffer, value);
+        }
+    }
+
+    static UUID readNullableUuid(ByteBuffer buffer) {
+        return buffer.get() == 0 ? null : readUuid(buffer);
+    }
+
+    static void writeString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Journal string field is longer than 65535 bytes.");
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeDecimal(ByteBuffer buffer, BigDecimal value) {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        if (unscaled.length > 0xFF) {
+            throw new IllegalArgumentException("Journal decimal field is too large.");
+        }
+        buffer.putInt(value.scale());
+        buffer.put((byte) unscaled.length);
+        buffer.put(unscaled);
+    }
+
+    static BigDecimal readDecimal(ByteBuffer buffer) {
+        int scale = buffer.getInt();
+        byte[] unscaled = new byte[Byte.toUnsignedInt(buffer.get())];
+        buffer.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    static void writeInstant(ByteBuffer buffer, Instant value) {
+        buffer.putLong(value.getEpochSecond());
+        buffer.putInt(value.getNano());
+    }
+
+    static Instant readInstant(ByteBuffer buffer) {
+        return Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+    }
+
+}
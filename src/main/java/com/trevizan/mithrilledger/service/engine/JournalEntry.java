@@ -0,0 +1,3 @@
+package com.trevizan.mithrilledger.service.engine;
+
+public record JournalEntry(long sequence, JournalRecord record) { }
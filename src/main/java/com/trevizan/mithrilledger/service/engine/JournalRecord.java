@@ -0,0 +1,191 @@
+package com.trevizan.mithrilledger.service.engine;
+
+import com.trevizan.mithrilledger.domain.model.Wallet;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.UUID;
+
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.readDecimal;
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.readInstant;
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.readNullableUuid;
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.readString;
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.readUuid;
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.writeDecimal;
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.writeInstant;
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.writeNullableUuid;
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.writeString;
+import static com.trevizan.mithrilledger.service.engine.JournalCodec.writeUuid;
+
+public sealed interface JournalRecord {
+
+    byte type();
+
+    void write(ByteBuffer buffer);
+
+    static JournalRecord read(byte type, ByteBuffer buffer) {
+        return switch (type) {
+            case WalletOpened.TYPE -> new WalletOpened(
+                readUuid(buffer), readString(buffer), readString(buffer), readDecimal(buffer), readInstant(buffer)
+            );
+            case Credited.TYPE -> new Credited(
+                readUuid(buffer), readUuid(buffer), readDecimal(buffer), readInstant(buffer)
+            );
+            case Debited.TYPE -> new Debited(
+                readUuid(buffer), readUuid(buffer), readDecimal(buffer), readInstant(buffer)
+            );
+            case TransferDebited.LEGACY_TYPE -> new TransferDebited(
+                readUuid(buffer),
+                readUuid(buffer),
+                readUuid(buffer),
+                readDecimal(buffer),
+                readDecimal(buffer),
+                readDecimal(buffer),
+                null,
+                readInstant(buffer)
+            );
+            case TransferDebited.TYPE -> new TransferDebited(
+                readUuid(buffer),
+                readUuid(buffer),
+                readUuid(buffer),
+                readDecimal(buffer),
+                readDecimal(buffer),
+                readDecimal(buffer),
+                readNullableUuid(buffer),
+                readInstant(buffer)
+            );
+            case TransferCredited.TYPE -> new TransferCredited(readUuid(buffer));
+            case TransferReverted.TYPE -> new TransferReverted(readUuid(buffer));
+            default -> throw new IllegalStateException("Unknown journal record type: " + type);
+        };
+    }
+
+    record WalletOpened(
+        UUID walletId,
+        String ownerId,
+        String currency,
+        BigDecimal balance,
+        Instant createdAt
+    ) implements JournalRecord {
+        static final byte TYPE = 1;
+
+        static WalletOpened of(Wallet wallet) {
+            return new WalletOpened(
+                wallet.getId(),
+                wallet.getOwnerId(),
+                wallet.getCurrency().getCurrencyCode(),
+                wallet.getBalance(),
+                wallet.getCreatedAt()
+            );
+        }
+
+        @Override
+        public byte type() {
+            return TYPE;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer) {
+            writeUuid(buffer, walletId);
+            writeString(buffer, ownerId);
+            writeString(buffer, currency);
+            writeDecimal(buffer, balance);
+            writeInstant(buffer, createdAt);
+        }
+    }
+
+    record Credited(UUID transactionId, UUID walletId, BigDecimal amount, Instant createdAt) implements JournalRecord {
+        static final byte TYPE = 2;
+
+        @Override
+        public byte type() {
+            return TYPE;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer) {
+            writeUuid(buffer, transactionId);
+            writeUuid(buffer, walletId);
+            writeDecimal(buffer, amount);
+            writeInstant(buffer, createdAt);
+        }
+    }
+
+    record Debited(UUID transactionId, UUID walletId, BigDecimal amount, Instant createdAt) implements JournalRecord {
+        static final byte TYPE = 3;
+
+        @Override
+        public byte type() {
+            return TYPE;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer) {
+            writeUuid(buffer, transactionId);
+            writeUuid(buffer, walletId);
+            writeDecimal(buffer, amount);
+            writeInstant(buffer, createdAt);
+        }
+    }
+
+    record TransferDebited(
+        UUID transactionId,
+        UUID fromWalletId,
+        UUID toWalletId,
+        BigDecimal amountDebited,
+        BigDecimal amountCredited,
+        BigDecimal exchangeRate,
+        UUID exchangeRateId,
+        Instant createdAt
+    ) implements JournalRecord {
+        static final byte LEGACY_TYPE = 4;
+        static final byte TYPE = 7;
+
+        @Override
+        public byte type() {
+            return TYPE;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer) {
+            writeUuid(buffer, transactionId);
+            writeUuid(buffer, fromWalletId);
+            writeUuid(buffer, toWalletId);
+            writeDecimal(buffer, amountDebited);
+            writeDecimal(buffer, amountCredited);
+            writeDecimal(buffer, exchangeRate);
+            writeNullableUuid(buffer, exchangeRateId);
+            writeInstant(buffer, createdAt);
+        }
+    }
+
+    record TransferCredited(UUID transactionId) implements JournalRecord {
+        static final byte TYPE = 5;
+
+        @Override
+        public byte type() {
+            return TYPE;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer) {
+            writeUuid(buffer, transactionId);
+        }
+    }
+
+    record TransferReverted(UUID transactionId) implements JournalRecord {
+        static final byte TYPE = 6;
+
+        @Override
+        public byte type() {
+            return TYPE;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer) {
+            writeUuid(buffer, transactionId);
+        }
+    }
+
+}
@@ -0,0 +1,422 @@
+package com.trevizan.mithrilledger.service.engine;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class LedgerJournal implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerJournal.class);
+
+    static final int HEADER_SIZE = 17;
+    static final int MAX_PAYLOAD_SIZE = 64 * 1024;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint.bin";
+    private static final int ZERO_FILL_CHUNK = 8192;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Duration fsyncInterval;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ByteBuffer scratch = ByteBuffer.allocate(MAX_PAYLOAD_SIZE);
+    private final CRC32C crc = new CRC32C();
+    private final NavigableMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+    private final AtomicLong durableSequence = new AtomicLong();
+    private final Queue<DurabilityWaiter> waiters = new ConcurrentLinkedQueue<>();
+
+    private ScheduledExecutorService syncer;
+    private Segment active;
+    private long nextSequence = 1;
+    private volatile boolean open;
+
+    public LedgerJournal(Path directory, int segmentSize, Duration fsyncInterval) {
+        if (segmentSize < HEADER_SIZE + MAX_PAYLOAD_SIZE) {
+            throw new IllegalArgumentException("Journal segment size must be at least " + (HEADER_SIZE + MAX_PAYLOAD_SIZE) + " bytes.");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncInterval = fsyncInterval;
+    }
+
+    public void open() {
+        appendLock.lock();
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(LedgerJournal::isSegment)
+                    .forEach(file -> segments.put(firstSequenceOf(file), file));
+            }
+
+            if (segments.isEmpty()) {
+                nextSequence = JournalCheckpoint.readFrom(directory.resolve(CHECKPOINT_FILE))
+                    .map(JournalCheckpoint::sequence)
+                    .orElse(1L);
+                active = createSegment(nextSequence);
+            } else {
+                recover();
+            }
+            durableSequence.set(nextSequence - 1);
+            open = true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to open ledger journal at " + directory, ex);
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (!fsyncInterval.isZero()) {
+            syncer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("ledger-journal-sync").daemon().factory()
+            );
+            long interval = fsyncInterval.toNanos();
+            syncer.scheduleWithFixedDelay(this::syncSafely, interval, interval, TimeUnit.NANOSECONDS);
+        }
+
+        log.info("Ledger journal opened: directory={}, segments={}, nextSequence={}",
+            directory,
+            segments.size(),
+            nextSequence
+        );
+    }
+
+    public long append(JournalRecord record) {
+        appendLock.lock();
+        try {
+            if (!open) {
+                throw new IllegalStateException("Ledger journal is closed.");
+            }
+
+            scratch.clear();
+            try {
+                record.write(scratch);
+            } catch (BufferOverflowException ex) {
+                throw new IllegalArgumentException("Journal record exceeds " + MAX_PAYLOAD_SIZE + " bytes.", ex);
+            }
+            int payloadLength = scratch.position();
+            int recordSize = HEADER_SIZE + payloadLength;
+
+            if (active.buffer().remaining() < recordSize) {
+                roll();
+            }
+
+            long sequence = nextSequence;
+            MappedByteBuffer buffer = active.buffer();
+            int position = buffer.position();
+
+            buffer.putLong(position + 8, sequence);
+            buffer.put(position + 16, record.type());
+            buffer.put(position + HEADER_SIZE, scratch, 0, payloadLength);
+            crc.reset();
+            crc.update(buffer.slice(position + 8, recordSize - 8));
+            buffer.putInt(position + 4, (int) crc.getValue());
+            buffer.putInt(position, recordSize);
+            buffer.position(position + recordSize);
+
+            nextSequence++;
+            if (fsyncInterval.isZero()) {
+                buffer.force();
+                markDurable(sequence);
+            }
+            return sequence;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to append to ledger journal.", ex);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public CompletableFuture<Void> awaitDurable(long sequence) {
+        if (durableSequence.get() >= sequence) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        DurabilityWaiter waiter = new DurabilityWaiter(sequence, new CompletableFuture<>());
+        waiters.add(waiter);
+        if (durableSequence.get() >= sequence && waiters.remove(waiter)) {
+            waiter.future().complete(null);
+        }
+        return waiter.future();
+    }
+
+    public void sync() {
+        Segment segment;
+        long lastSequence;
+
+        appendLock.lock();
+        try {
+            segment = active;
+            lastSequence = nextSequence - 1;
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (segment == null || lastSequence <= durableSequence.get()) {
+            return;
+        }
+        segment.buffer().force();
+        markDurable(lastSequence);
+    }
+
+    public void replay(long fromSequence, Consumer<JournalEntry> consumer) {
+        long endSequence;
+        appendLock.lock();
+        try {
+            endSequence = nextSequence;
+        } finally {
+            appendLock.unlock();
+        }
+
+        List<Map.Entry<Long, Path>> files = List.copyOf(segments.entrySet());
+        for (int index = 0; index < files.size(); index++) {
+            if (index + 1 < files.size() && files.get(index + 1).getKey() <= fromSequence) {
+                continue;
+            }
+
+            ByteBuffer buffer = mapReadOnly(files.get(index).getValue());
+            long sequence = files.get(index).getKey();
+            int position = 0;
+            while (sequence < endSequence && position + HEADER_SIZE <= buffer.capacity()) {
+                int recordSize = buffer.getInt(position);
+                if (recordSize == 0) {
+                    break;
+                }
+                if (sequence >= fromSequence) {
+                    byte type = buffer.get(position + 16);
+                    ByteBuffer payload = buffer.slice(position + HEADER_SIZE, recordSize - HEADER_SIZE);
+                    consumer.accept(new JournalEntry(sequence, JournalRecord.read(type, payload)));
+                }
+                position += recordSize;
+                sequence++;
+            }
+        }
+    }
+
+    public long nextSequence() {
+        appendLock.lock();
+        try {
+            return nextSequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public Optional<JournalCheckpoint> readCheckpoint() {
+        try {
+            return JournalCheckpoint.readFrom(directory.resolve(CHECKPOINT_FILE));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read ledger journal checkpoint.", ex);
+        }
+    }
+
+    public void writeCheckpoint(JournalCheckpoint checkpoint) {
+        try {
+            checkpoint.writeTo(directory.resolve(CHECKPOINT_FILE));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write ledger journal checkpoint.", ex);
+        }
+        deleteSegmentsBefore(checkpoint.sequence());
+    }
+
+    @Override
+    public void close() {
+        if (syncer != null) {
+            syncer.shutdownNow();
+        }
+        sync();
+
+        appendLock.lock();
+        try {
+            open = false;
+            if (active != null) {
+                active.channel().close();
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to close ledger journal segment: {}", active.path(), ex);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void deleteSegmentsBefore(long sequence) {
+        appendLock.lock();
+        try {
+            for (Map.Entry<Long, Path> segment : segments.headMap(active.firstSequence(), false).entrySet()) {
+                Long next = segments.higherKey(segment.getKey());
+                if (next != null && next <= sequence) {
+                    Files.deleteIfExists(segment.getValue());
+                    segments.remove(segment.getKey());
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to delete checkpointed journal segments", ex);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        long sequence = segments.firstKey();
+
+        for (Map.Entry<Long, Path> file : segments.entrySet()) {
+            if (file.getKey() != sequence) {
+                throw new IllegalStateException("Journal segment " + file.getValue() + " does not continue sequence " + sequence + ".");
+            }
+
+            boolean last = file.getKey().equals(segments.lastKey());
+            Segment segment = mapSegment(file.getKey(), file.getValue());
+            MappedByteBuffer buffer = segment.buffer();
+            int position = 0;
+
+            while (position + HEADER_SIZE <= buffer.capacity()) {
+                int recordSize = buffer.getInt(position);
+                if (recordSize == 0) {
+                    break;
+                }
+                if (!isValid(buffer, position, recordSize, sequence)) {
+                    if (!last) {
+                        throw new IllegalStateException("Journal segment " + file.getValue() + " is corrupted at offset " + position + ".");
+                    }
+                    log.warn("Truncating torn journal tail: segment={}, offset={}, sequence={}", file.getValue(), position, sequence);
+                    zeroFill(buffer, position);
+                    break;
+                }
+                position += recordSize;
+                sequence++;
+            }
+
+            if (last) {
+                buffer.position(position);
+                active = segment;
+            } else {
+                segment.channel().close();
+            }
+        }
+
+        nextSequence = sequence;
+    }
+
+    private boolean isValid(ByteBuffer buffer, int position, int recordSize, long expectedSequence) {
+        if (recordSize < HEADER_SIZE || position + recordSize > buffer.capacity()) {
+            return false;
+        }
+        if (buffer.getLong(position + 8) != expectedSequence) {
+            return false;
+        }
+        crc.reset();
+        crc.update(buffer.slice(position + 8, recordSize - 8));
+        return buffer.getInt(position + 4) == (int) crc.getValue();
+    }
+
+    private void roll() throws IOException {
+        active.buffer().force();
+        active.channel().close();
+        markDurable(nextSequence - 1);
+        active = createSegment(nextSequence);
+    }
+
+    private Segment createSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(SEGMENT_PREFIX + "%020d".formatted(firstSequence) + SEGMENT_SUFFIX);
+        FileChannel channel = FileChannel.open(
+            path,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE
+        );
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        forceDirectory();
+        segments.put(firstSequence, path);
+        return new Segment(firstSequence, path, channel, buffer);
+    }
+
+    private Segment mapSegment(long firstSequence, Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        return new Segment(firstSequence, path, channel, buffer);
+    }
+
+    private ByteBuffer mapReadOnly(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read journal segment " + path, ex);
+        }
+    }
+
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            log.debug("Journal directory sync is not supported: {}", directory);
+        }
+    }
+
+    private void markDurable(long sequence) {
+        long durable = durableSequence.accumulateAndGet(sequence, Math::max);
+        waiters.removeIf(waiter -> {
+            if (waiter.sequence() > durable) {
+                return false;
+            }
+            waiter.future().complete(null);
+            return true;
+        });
+    }
+
+    private void syncSafely() {
+        try {
+            sync();
+        } catch (RuntimeException ex) {
+            log.error("Ledger journal sync failed", ex);
+        }
+    }
+
+    private static void zeroFill(MappedByteBuffer buffer, int from) {
+        byte[] zeros = new byte[ZERO_FILL_CHUNK];
+        for (int position = from; position < buffer.capacity(); position += zeros.length) {
+            buffer.put(position, zeros, 0, Math.min(zeros.length, buffer.capacity() - position));
+        }
+        buffer.force();
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long firstSequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private record Segment(long firstSequence, Path path, FileChannel channel, MappedByteBuffer buffer) { }
+
+    private record DurabilityWaiter(long sequence, CompletableFuture<Void> future) { }
+
+}
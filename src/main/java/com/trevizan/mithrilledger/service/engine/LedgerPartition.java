@@ -0,0 +1,122 @@
+package com.trevizan.mithrilledger.service.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class LedgerPartition implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerPartition.class);
+
+    private static final Runnable WAKE_UP = () -> { };
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final BlockingQueue<Runnable> ring;
+    private final Queue<Runnable> handoffs = new ConcurrentLinkedQueue<>();
+    private final int batchSize;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    LedgerPartition(int index, int ringSize, int batchSize) {
+        this.ring = new ArrayBlockingQueue<>(ringSize);
+        this.batchSize = batchSize;
+        this.writer = Thread.ofPlatform()
+            .name("ledger-partition-" + index)
+            .daemon()
+            .unstarted(this);
+    }
+
+    void start() {
+        writer.start();
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<T> command) {
+        if (!running) {
+            throw new IllegalStateException("Ledger engine is stopped.");
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            ring.put(() -> complete(future, command));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    void handoff(Runnable command) {
+        if (Thread.currentThread() == writer) {
+            command.run();
+            return;
+        }
+
+        handoffs.add(command);
+        ring.offer(WAKE_UP);
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        ring.offer(WAKE_UP);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Override
+    public void run() {
+        List<Runnable> batch = new ArrayList<>(batchSize);
+
+        while (running || !ring.isEmpty() || !handoffs.isEmpty()) {
+            drainHandoffs();
+
+            Runnable first;
+            try {
+                first = ring.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+
+            batch.add(first);
+            ring.drainTo(batch, batchSize - 1);
+            batch.forEach(LedgerPartition::runSafely);
+            batch.clear();
+        }
+    }
+
+    private void drainHandoffs() {
+        Runnable command;
+        while ((command = handoffs.poll()) != null) {
+            runSafely(command);
+        }
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, Supplier<T> command) {
+        try {
+            future.complete(command.get());
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(ex);
+        }
+    }
+
+    private static void runSafely(Runnable command) {
+        try {
+            command.run();
+        } catch (RuntimeException ex) {
+            log.error("Ledger partition command failed", ex);
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.trevizan.mithrilledger.service.engine;
+
+import com.trevizan.mithrilledger.domain.model.Money;
+import com.trevizan.mithrilledger.domain.model.Transaction;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class LedgerPersister {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerPersister.class);
+
+    private static final String INSERT_TRANSACTION = """
+        insert into transactions (id, type, from_wallet_id, to_wallet_id, amount_debited, amount_credited,
+            from_currency, to_currency, exchange_rate, exchange_rate_id, created_at,
+            from_wallet_version, to_wallet_version)
+        values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?,
+            (select version from wallets where id = ?), (select version from wallets where id = ?))
+        """;
+    private static final String UPDATE_BALANCE = """
+        update wallets set balance_minor_units = balance_minor_units + ?, version = version + 1 where id = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Runnable beforeWrite;
+
+    private final Queue<Transaction> transactions = new ConcurrentLinkedQueue<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final List<Transaction> pendingTransactions = new ArrayList<>();
+
+    public LedgerPersister(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, int batchSize) {
+        this(jdbcTemplate, transactionTemplate, batchSize, () -> { });
+    }
+
+    public LedgerPersister(
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        int batchSize,
+        Runnable beforeWrite
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.beforeWrite = beforeWrite;
+    }
+
+    void record(Transaction transaction) {
+        transactions.add(transaction);
+    }
+
+    public int flush() {
+        flushLock.lock();
+        try {
+            int written = 0;
+            while (true) {
+                drain();
+                if (pendingTransactions.isEmpty()) {
+                    return written;
+                }
+
+                beforeWrite.run();
+                transactionTemplate.executeWithoutResult(status -> write());
+                written += pendingTransactions.size();
+                pendingTransactions.clear();
+            }
+        } catch (RuntimeException ex) {
+            log.error("Ledger engine flush failed, will retry: transactions={}", pendingTransactions.size(), ex);
+            return 0;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    int backlog() {
+        return transactions.size() + pendingTransactions.size();
+    }
+
+    private void drain() {
+        Transaction transaction;
+        while (pendingTransactions.size() < batchSize && (transaction = transactions.poll()) != null) {
+            pendingTransactions.add(transaction);
+        }
+    }
+
+    private void write() {
+        Map<UUID, Long> deltas = new LinkedHashMap<>();
+        for (Transaction transaction : pendingTransactions) {
+            Wallet fromWallet = transaction.getFromWallet();
+            if (fromWallet != null) {
+                deltas.merge(fromWallet.getId(), -minorUnits(transaction.getAmountDebited(), fromWallet), Long::sum);
+            }
+            Wallet toWallet = transaction.getToWallet();
+            if (toWallet != null) {
+                deltas.merge(toWallet.getId(), minorUnits(transaction.getAmountCredited(), toWallet), Long::sum);
+            }
+        }
+
+        List<Object[]> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((walletId, delta) -> updates.add(new Object[] {delta, walletId}));
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE, updates);
+
+        List<Object[]> rows = new ArrayList<>(pendingTransactions.size());
+        for (Transaction transaction : pendingTransactions) {
+            rows.add(new Object[] {
+                transaction.getId(),
+                transaction.getType().name(),
+                walletId(transaction.getFromWallet()),
+                walletId(transaction.getToWallet()),
+                transaction.getAmountDebited(),
+                transaction.getAmountCredited(),
+                transaction.getFromCurrency(),
+                transaction.getToCurrency(),
+                transaction.getExchangeRate(),
+                transaction.getExchangeRateId(),
+                Timestamp.from(transaction.getCreatedAt()),
+                walletId(transaction.getFromWallet()),
+                walletId(transaction.getToWallet())
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, rows);
+    }
+
+    private static long minorUnits(BigDecimal amount, Wallet wallet) {
+        return Money.of(amount, wallet.getCurrency()).minorUnits();
+    }
+
+    private static UUID walletId(Wallet wallet) {
+        return wallet == null ? null : wallet.getId();
+    }
+
+}
@@ -0,0 +1,188 @@
+package com.trevizan.mithrilledger.exchange;
+
+import com.trevizan.mithrilledger.config.ExchangeCacheProperties;
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.exception.infrastructure.ExchangeServiceUnavailableException;
+import com.trevizan.mithrilledger.infrastructure.exchange.CachingExchangeClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingExchangeClientTest {
+
+    private ExchangeClient delegate;
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingExchangeClient cachingExchangeClient;
+
+    @BeforeEach
+    void setUp() {
+        delegate = Mockito.mock(ExchangeClient.class);
+        clock = new MutableClock(Instant.parse("2026-02-12T10:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+
+        ExchangeCacheProperties properties = new ExchangeCacheProperties(
+            Duration.ofSeconds(5),
+            Map.of("USD-BRL", Duration.ofSeconds(1)),
+            0.8,
+            Duration.ofSeconds(60),
+            Map.of()
+        );
+        cachingExchangeClient = new CachingExchangeClient(
+            delegate,
+            properties,
+            meterRegistry,
+            clock,
+            Executors.newSingleThreadExecutor()
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        cachingExchangeClient.close();
+    }
+
+    @Test
+    void shouldServeRateFromCacheWithinTtl() {
+        when(delegate.getRate("USD", "EUR")).thenReturn(new BigDecimal("0.91"));
+
+        assertThat(cachingExchangeClient.getRate("USD", "EUR")).isEqualByComparingTo("0.91");
+        clock.advance(Duration.ofSeconds(3));
+        assertThat(cachingExchangeClient.getRate("USD", "EUR")).isEqualByComparingTo("0.91");
+
+        verify(delegate, times(1)).getRate("USD", "EUR");
+        assertThat(meterRegistry.counter("exchange.rate.cache", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("exchange.rate.cache", "result", "miss").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReloadRateAfterPairTtlExpires() {
+        when(delegate.getRate("USD", "BRL"))
+            .thenReturn(new BigDecimal("5.10"))
+            .thenReturn(new BigDecimal("5.20"));
+
+        cachingExchangeClient.getRate("USD", "BRL");
+        clock.advance(Duration.ofSeconds(2));
+
+        assertThat(cachingExchangeClient.getRate("USD", "BRL")).isEqualByComparingTo("5.20");
+        verify(delegate, times(2)).getRate("USD", "BRL");
+    }
+
+    @Test
+    void shouldRefreshHotPairInBackgroundBeforeExpiry() {
+        when(delegate.getRate("USD", "EUR"))
+            .thenReturn(new BigDecimal("0.91"))
+            .thenReturn(new BigDecimal("0.92"));
+
+        cachingExchangeClient.getRate("USD", "EUR");
+        clock.advance(Duration.ofMillis(4500));
+
+        assertThat(cachingExchangeClient.getRate("USD", "EUR")).isEqualByComparingTo("0.91");
+        verify(delegate, timeout(1000).times(2)).getRate("USD", "EUR");
+    }
+
+    @Test
+    void shouldServeStaleRateWhenExchangeIsUnavailable() {
+        when(delegate.getRate("USD", "EUR"))
+            .thenReturn(new BigDecimal("0.91"))
+            .thenThrow(new ExchangeServiceUnavailableException("USD", "EUR", "Circuit breaker is OPEN", null));
+
+        cachingExchangeClient.getRate("USD", "EUR");
+        clock.advance(Duration.ofSeconds(30));
+
+        assertThat(cachingExchangeClient.getRate("USD", "EUR")).isEqualByComparingTo("0.91");
+        assertThat(meterRegistry.counter("exchange.rate.cache", "result", "stale").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailWhenCachedRateIsOlderThanStalenessBound() {
+        when(delegate.getRate("USD", "EUR"))
+            .thenReturn(new BigDecimal("0.91"))
+            .thenThrow(new ExchangeServiceUnavailableException("USD", "EUR", "Circuit breaker is OPEN", null));
+
+        cachingExchangeClient.getRate("USD", "EUR");
+        clock.advance(Duration.ofSeconds(61));
+
+        assertThatThrownBy(() -> cachingExchangeClient.getRate("USD", "EUR"))
+            .isInstanceOf(ExchangeServiceUnavailableException.class);
+    }
+
+    @Test
+    void shouldFetchOnlyMissingTargetsInSingleBulkCall() {
+        when(delegate.getRate("USD", "EUR")).thenReturn(new BigDecimal("0.91"));
+        when(delegate.getRates("USD", Set.of("GBP", "BRL")))
+            .thenReturn(Map.of("GBP", new BigDecimal("0.79"), "BRL", new BigDecimal("5.10")));
+
+        cachingExchangeClient.getRate("USD", "EUR");
+        Map<String, BigDecimal> rates = cachingExchangeClient.getRates("USD", Set.of("EUR", "GBP", "BRL"));
+
+        assertThat(rates).containsOnlyKeys("EUR", "GBP", "BRL");
+        assertThat(cachingExchangeClient.getRate("USD", "BRL")).isEqualByComparingTo("5.10");
+        verify(delegate, times(1)).getRates("USD", Set.of("GBP", "BRL"));
+        verify(delegate, times(0)).getRate("USD", "BRL");
+    }
+
+    @Test
+    void shouldRefreshHotBulkTargetInBackgroundBeforeExpiry() {
+        when(delegate.getRates("USD", Set.of("GBP")))
+            .thenReturn(Map.of("GBP", new BigDecimal("0.79")));
+        when(delegate.getRate("USD", "GBP")).thenReturn(new BigDecimal("0.80"));
+
+        cachingExchangeClient.getRates("USD", Set.of("GBP"));
+        clock.advance(Duration.ofMillis(4500));
+
+        assertThat(cachingExchangeClient.getRates("USD", Set.of("GBP")).get("GBP")).isEqualByComparingTo("0.79");
+        verify(delegate, timeout(1000).times(1)).getRate("USD", "GBP");
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}
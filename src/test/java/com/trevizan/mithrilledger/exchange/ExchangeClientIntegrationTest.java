@@ -1,15 +1,27 @@
 package com.trevizan.mithrilledger.exchange;
 
 import com.github.tomakehurst.wiremock.client.WireMock;
-import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.model.ExchangeRate;
+import com.trevizan.mithrilledger.domain.model.ExchangeRateSource;
+import com.trevizan.mithrilledger.domain.model.Transaction;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.infrastructure.exchange.HttpExchangeClient;
 import com.trevizan.mithrilledger.exception.infrastructure.ExchangeInvalidResponseException;
 import com.trevizan.mithrilledger.exception.infrastructure.ExchangeServiceUnavailableException;
+import com.trevizan.mithrilledger.repository.ExchangeRateRepository;
+import com.trevizan.mithrilledger.service.ExchangeRateHistoryService;
+import com.trevizan.mithrilledger.service.WalletService;
 
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 
 import java.math.BigDecimal;
 import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.Map;
+import java.util.Set;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,11 +46,20 @@ import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 class ExchangeClientIntegrationTest {
 
     @Autowired
-    private ExchangeClient exchangeClient;
+    private HttpExchangeClient exchangeClient;
 
     @Autowired
     private CircuitBreakerRegistry circuitBreakerRegistry;
 
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private ExchangeRateHistoryService exchangeRateHistory;
+
+    @Autowired
+    private ExchangeRateRepository exchangeRateRepository;
+
     private CircuitBreaker circuitBreaker;
 
     @BeforeEach
@@ -177,4 +198,88 @@ class ExchangeClientIntegrationTest {
             .isEqualTo(CircuitBreaker.State.CLOSED);
     }
 
+    @Test
+    void shouldReturnRatesForAllTargetsInSingleRequest() {
+        stubFor(get(urlPathEqualTo("/api/v1/exchanges/rates/bulk"))
+            .withQueryParam("base", WireMock.equalTo("USD"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"base\": \"USD\", \"rates\": {\"EUR\": 0.91, \"GBP\": 0.79, \"BRL\": 5.10}}")
+            )
+        );
+
+        Map<String, BigDecimal> rates = exchangeClient.getRates("USD", Set.of("EUR", "GBP"));
+
+        Assertions.assertThat(rates).containsOnlyKeys("EUR", "GBP");
+        Assertions.assertThat(rates.get("EUR")).isEqualByComparingTo("0.91");
+        Assertions.assertThat(rates.get("GBP")).isEqualByComparingTo("0.79");
+        verify(1, getRequestedFor(urlPathEqualTo("/api/v1/exchanges/rates/bulk")));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenBulkResponseMissesTarget() {
+        stubFor(get(urlPathEqualTo("/api/v1/exchanges/rates/bulk"))
+            .withQueryParam("base", WireMock.equalTo("USD"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"base\": \"USD\", \"rates\": {\"EUR\": 0.91}}")
+            )
+        );
+
+        Assertions.assertThatThrownBy(() -> exchangeClient.getRates("USD", Set.of("EUR", "JPY")))
+            .isInstanceOf(ExchangeInvalidResponseException.class)
+            .hasMessageContaining("USD -> JPY");
+    }
+
+    @Test
+    void shouldLinkTransfersToFetchedRateWithoutWritingRowPerTransfer() {
+        stubFor(get(urlPathEqualTo("/api/v1/exchanges/rates"))
+            .withQueryParam("from", WireMock.equalTo("EUR"))
+            .withQueryParam("to", WireMock.equalTo("JPY"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"rate\": 162.5}")
+            )
+        );
+        Wallet fromWallet = walletService.createWallet("1234", Currency.getInstance("EUR"));
+        Wallet toWallet = walletService.createWallet("1235", Currency.getInstance("JPY"));
+        walletService.credit(fromWallet.getId(), BigDecimal.valueOf(100));
+        long rowsBefore = exchangeRateRepository.count();
+
+        Transaction first = walletService.transfer(fromWallet, toWallet, BigDecimal.TEN);
+        Transaction second = walletService.transfer(fromWallet, toWallet, BigDecimal.TEN);
+
+        ExchangeRate recorded = exchangeRateHistory.findAt("EUR", "JPY", Instant.now()).orElseThrow();
+        Assertions.assertThat(recorded.getSource()).isEqualTo(ExchangeRateSource.FETCHED);
+        Assertions.assertThat(recorded.getRate()).isEqualByComparingTo("162.5");
+        Assertions.assertThat(first.getExchangeRateId()).isEqualTo(recorded.getId());
+        Assertions.assertThat(second.getExchangeRateId()).isEqualTo(recorded.getId());
+        Assertions.assertThat(exchangeRateRepository.count()).isEqualTo(rowsBefore + 1);
+        verify(1, getRequestedFor(urlPathEqualTo("/api/v1/exchanges/rates"))
+            .withQueryParam("from", WireMock.equalTo("EUR"))
+            .withQueryParam("to", WireMock.equalTo("JPY")));
+    }
+
+    @Test
+    void shouldReloadUnchangedRateConfirmedAfterItWasFirstFetched() {
+        ExchangeRate stored = exchangeRateRepository.save(ExchangeRate.of(
+            "GBP", "CHF", new BigDecimal("1.12"), ExchangeRateSource.FETCHED, Instant.now().minus(Duration.ofMinutes(10))
+        ));
+        exchangeRateHistory.loadLatestSince(stored.getFetchedAt());
+        Instant since = Instant.now().minusSeconds(60);
+        Assertions.assertThat(exchangeRateRepository.findLatestPerPairSince(since))
+            .extracting(ExchangeRate::getId)
+            .doesNotContain(stored.getId());
+
+        ExchangeRate confirmed = exchangeRateHistory.record("GBP", "CHF", new BigDecimal("1.12"), ExchangeRateSource.FETCHED);
+
+        Assertions.assertThat(confirmed.getId()).isEqualTo(stored.getId());
+        Assertions.assertThat(exchangeRateRepository.findLatestPerPairSince(since))
+            .extracting(ExchangeRate::getId)
+            .contains(stored.getId());
+    }
+
 }
@@ -0,0 +1,143 @@
+package com.trevizan.mithrilledger.exchange;
+
+import com.trevizan.mithrilledger.domain.model.ExchangeRate;
+import com.trevizan.mithrilledger.domain.model.ExchangeRateSource;
+import com.trevizan.mithrilledger.repository.ExchangeRateRepository;
+import com.trevizan.mithrilledger.service.ExchangeRateHistoryService;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExchangeRateHistoryServiceTest {
+
+    private ExchangeRateRepository exchangeRateRepository;
+    private ExchangeRateHistoryService exchangeRateHistory;
+
+    @BeforeEach
+    void setUp() {
+        exchangeRateRepository = Mockito.mock(ExchangeRateRepository.class);
+        when(exchangeRateRepository.save(any(ExchangeRate.class))).thenAnswer(i -> i.getArgument(0));
+        exchangeRateHistory = new ExchangeRateHistoryService(exchangeRateRepository);
+    }
+
+    @Test
+    void shouldWriteRowOnlyWhenRateChanges() {
+        ExchangeRate first = exchangeRateHistory.record("EUR", "USD", new BigDecimal("1.09"), ExchangeRateSource.FETCHED);
+        ExchangeRate repeated = exchangeRateHistory.record("EUR", "USD", new BigDecimal("1.0900"), ExchangeRateSource.FETCHED);
+        ExchangeRate changed = exchangeRateHistory.record("EUR", "USD", new BigDecimal("1.10"), ExchangeRateSource.FETCHED);
+
+        assertThat(repeated.getId()).isEqualTo(first.getId());
+        assertThat(changed.getId()).isNotEqualTo(first.getId());
+        verify(exchangeRateRepository, times(2)).save(any(ExchangeRate.class));
+        verify(exchangeRateRepository, times(1)).confirm(eq(first.getId()), any(Instant.class));
+    }
+
+    @Test
+    void shouldWriteOneRowWhenSameRateIsRecordedConcurrently() throws Exception {
+        int callers = 64;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ExchangeRate>> calls = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                calls.add(executor.submit(() -> {
+                    start.await();
+                    return exchangeRateHistory.record("EUR", "USD", new BigDecimal("1.09"), ExchangeRateSource.FETCHED);
+                }));
+            }
+            start.countDown();
+        }
+
+        UUID recordedId = calls.getFirst().get().getId();
+        for (Future<ExchangeRate> call : calls) {
+            assertThat(call.get().getId()).isEqualTo(recordedId);
+        }
+        verify(exchangeRateRepository, times(1)).save(any(ExchangeRate.class));
+        verify(exchangeRateRepository, times(callers - 1)).confirm(eq(recordedId), any(Instant.class));
+    }
+
+    @Test
+    void shouldRecordOtherPairWhileOnePairIsWriting() throws Exception {
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(exchangeRateRepository.save(any(ExchangeRate.class))).thenAnswer(invocation -> {
+            ExchangeRate rate = invocation.getArgument(0);
+            if (rate.getFromCurrency().equals("EUR")) {
+                saving.countDown();
+                release.await();
+            }
+            return rate;
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<ExchangeRate> blocked = executor.submit(
+                () -> exchangeRateHistory.record("EUR", "USD", new BigDecimal("1.09"), ExchangeRateSource.FETCHED)
+            );
+            try {
+                assertThat(saving.await(5, TimeUnit.SECONDS)).isTrue();
+
+                Future<ExchangeRate> other = executor.submit(
+                    () -> exchangeRateHistory.record("GBP", "USD", new BigDecimal("1.27"), ExchangeRateSource.FETCHED)
+                );
+                assertThat(other.get(5, TimeUnit.SECONDS).getRate()).isEqualByComparingTo("1.27");
+                assertThat(blocked.isDone()).isFalse();
+            } finally {
+                release.countDown();
+            }
+            assertThat(blocked.get(5, TimeUnit.SECONDS).getRate()).isEqualByComparingTo("1.09");
+        }
+    }
+
+    @Test
+    void shouldServeRecentLookupsFromMemoryAndOlderOnesFromRepository() {
+        ExchangeRate latest = exchangeRateHistory.record("EUR", "USD", new BigDecimal("1.09"), ExchangeRateSource.FETCHED);
+        Instant before = latest.getFetchedAt().minusSeconds(60);
+        ExchangeRate older = ExchangeRate.of("EUR", "USD", new BigDecimal("1.05"), ExchangeRateSource.FETCHED, before);
+        when(exchangeRateRepository.findFirstByFromCurrencyAndToCurrencyAndFetchedAtLessThanEqualOrderByFetchedAtDesc(
+            "EUR", "USD", before
+        )).thenReturn(Optional.of(older));
+
+        assertThat(exchangeRateHistory.findAt("EUR", "USD", Instant.now())).contains(latest);
+        assertThat(exchangeRateHistory.findAt("EUR", "USD", before)).contains(older);
+        verify(exchangeRateRepository, times(1))
+            .findFirstByFromCurrencyAndToCurrencyAndFetchedAtLessThanEqualOrderByFetchedAtDesc(any(), any(), any());
+    }
+
+    @Test
+    void shouldNotRewriteRatesLoadedAtStartup() {
+        ExchangeRate persisted = ExchangeRate.of(
+            "EUR", "GBP", new BigDecimal("0.85"), ExchangeRateSource.FETCHED, Instant.now().minusSeconds(5)
+        );
+        when(exchangeRateRepository.findLatestPerPairSince(any())).thenReturn(List.of(persisted));
+
+        exchangeRateHistory.loadLatestSince(Instant.now().minusSeconds(60));
+
+        ExchangeRate fetched = exchangeRateHistory.record("EUR", "GBP", new BigDecimal("0.85"), ExchangeRateSource.FETCHED);
+
+        assertThat(fetched.getId()).isEqualTo(persisted.getId());
+        verify(exchangeRateRepository, never()).save(any(ExchangeRate.class));
+        verify(exchangeRateRepository).confirm(eq(persisted.getId()), any(Instant.class));
+    }
+
+}
@@ -0,0 +1,202 @@
+package com.trevizan.mithrilledger.exchange;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.trevizan.mithrilledger.config.RateFeedProperties;
+import com.trevizan.mithrilledger.config.RestConfig;
+import com.trevizan.mithrilledger.infrastructure.exchange.FeedExchangeClient;
+import com.trevizan.mithrilledger.infrastructure.exchange.HttpExchangeClient;
+import com.trevizan.mithrilledger.infrastructure.exchange.RateFeedSubscriber;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedExchangeClientTest {
+
+    private static final String RATES_PATH = "/api/v1/exchanges/rates";
+    private static final String STREAM_PATH = "/api/v1/exchanges/rates/stream";
+
+    private WireMockServer exchange;
+    private SimpleMeterRegistry meterRegistry;
+    private RateFeedSubscriber rateFeedSubscriber;
+    private FeedExchangeClient feedExchangeClient;
+
+    @BeforeEach
+    void setUp() {
+        exchange = new WireMockServer(wireMockConfig().dynamicPort());
+        exchange.start();
+        exchange.stubFor(get(urlPathEqualTo(RATES_PATH)).willReturn(okJson("{\"rate\": 0.91}")));
+        meterRegistry = new SimpleMeterRegistry();
+
+        rateFeedSubscriber = subscriber(Clock.systemUTC());
+
+        RestConfig restConfig = new RestConfig();
+        HttpExchangeClient httpExchangeClient = new HttpExchangeClient(
+            restConfig.restTemplate(restConfig.exchangeConnectionManager(50)),
+            exchange.baseUrl(),
+            meterRegistry
+        );
+        feedExchangeClient = new FeedExchangeClient(rateFeedSubscriber, httpExchangeClient, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateFeedSubscriber.close();
+        exchange.stop();
+    }
+
+    @Test
+    void shouldServeRatesFromFeedWithoutCallingExchange() throws Exception {
+        stubFeed(
+            event(1, "{\"base\": \"USD\", \"rates\": {\"EUR\": 0.92, \"GBP\": 0.79}}"),
+            event(2, "{\"base\": \"USD\", \"rates\": {\"EUR\": 0.93}}")
+        );
+        rateFeedSubscriber.start();
+        awaitFeedRate("USD", "EUR", "0.93");
+
+        assertThat(feedExchangeClient.getRate("USD", "EUR")).isEqualByComparingTo("0.93");
+        assertThat(feedExchangeClient.getRates("USD", Set.of("EUR", "GBP")))
+            .containsEntry("GBP", rateFeedSubscriber.rate("USD", "GBP"));
+        exchange.verify(0, getRequestedFor(urlPathEqualTo(RATES_PATH)));
+        assertThat(meterRegistry.counter("exchange.rate.feed.lookups", "source", "feed").count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldFallBackToExchangeForPairMissingFromFeed() throws Exception {
+        stubFeed(event(1, "{\"base\": \"USD\", \"rates\": {\"GBP\": 0.79}}"));
+        rateFeedSubscriber.start();
+        awaitFeedRate("USD", "GBP", "0.79");
+
+        assertThat(feedExchangeClient.getRate("USD", "EUR")).isEqualByComparingTo("0.91");
+        exchange.verify(1, getRequestedFor(urlPathEqualTo(RATES_PATH)));
+        assertThat(meterRegistry.counter("exchange.rate.feed.lookups", "source", "fallback").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFallBackToExchangeWhenFeedIsDisconnected() throws Exception {
+        exchange.stubFor(get(urlPathEqualTo(STREAM_PATH)).willReturn(aResponse().withStatus(503)));
+        rateFeedSubscriber.start();
+        Thread.sleep(300);
+
+        assertThat(rateFeedSubscriber.isFresh()).isFalse();
+        assertThat(feedExchangeClient.getRate("USD", "EUR")).isEqualByComparingTo("0.91");
+        assertThat(meterRegistry.counter("exchange.rate.feed.reconnects").count()).isPositive();
+    }
+
+    @Test
+    void shouldCountMissedEventsAndRecordLag() throws Exception {
+        String timestamp = Instant.now().minusMillis(250).toString();
+        stubFeed(
+            event(1, "{\"base\": \"USD\", \"rates\": {\"EUR\": 0.92}, \"timestamp\": \"" + timestamp + "\"}"),
+            event(2, "{\"base\": \"USD\", \"rates\": {\"EUR\": 0.93}, \"timestamp\": \"" + timestamp + "\"}"),
+            event(5, "{\"base\": \"USD\", \"rates\": {\"EUR\": 0.94}, \"timestamp\": \"" + timestamp + "\"}")
+        );
+        rateFeedSubscriber.start();
+        awaitFeedRate("USD", "EUR", "0.94");
+
+        assertThat(meterRegistry.counter("exchange.rate.feed.gaps").count()).isEqualTo(2);
+        assertThat(meterRegistry.timer("exchange.rate.feed.lag").count()).isEqualTo(3);
+        assertThat(meterRegistry.timer("exchange.rate.feed.lag").max(TimeUnit.MILLISECONDS))
+            .isGreaterThanOrEqualTo(250);
+    }
+
+    @Test
+    void shouldReconnectAfterUnexpectedFailureWhileReading() throws Exception {
+        rateFeedSubscriber.close();
+        rateFeedSubscriber = subscriber(new FailingOnceClock());
+        stubFeed(event(1, "{\"base\": \"USD\", \"rates\": {\"EUR\": 0.92}}"));
+        rateFeedSubscriber.start();
+
+        awaitFeedRate("USD", "EUR", "0.92");
+        assertThat(meterRegistry.counter("exchange.rate.feed.reconnects").count()).isPositive();
+    }
+
+    private RateFeedSubscriber subscriber(Clock clock) {
+        return new RateFeedSubscriber(
+            HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(),
+            URI.create(exchange.baseUrl() + STREAM_PATH),
+            JsonMapper.builder().build(),
+            new RateFeedProperties(true, STREAM_PATH, Duration.ofSeconds(10), Duration.ofMillis(100)),
+            meterRegistry,
+            clock
+        );
+    }
+
+    private void stubFeed(String... events) {
+        StringBuilder body = new StringBuilder(String.join("", events));
+        for (int i = 0; i < 1000; i++) {
+            body.append(": heartbeat\n\n");
+        }
+        exchange.stubFor(get(urlPathEqualTo(STREAM_PATH))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "text/event-stream")
+                .withBody(body.toString())
+                .withChunkedDribbleDelay(200, 10_000)));
+    }
+
+    private void awaitFeedRate(String from, String to, String expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (rateFeedSubscriber.rate(from, to) != null
+                && rateFeedSubscriber.rate(from, to).compareTo(new BigDecimal(expected)) == 0) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Feed did not deliver " + from + "-" + to + " = " + expected);
+    }
+
+    private static String event(long id, String data) {
+        return "id: " + id + "\nevent: rates\ndata: " + data + "\n\n";
+    }
+
+    private static class FailingOnceClock extends Clock {
+
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            if (failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Clock unavailable.");
+            }
+            return Instant.now();
+        }
+
+    }
+
+}
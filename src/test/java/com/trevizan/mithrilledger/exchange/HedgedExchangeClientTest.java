@@ -0,0 +1,173 @@
+package com.trevizan.mithrilledger.exchange;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.trevizan.mithrilledger.config.ExchangeHedgingProperties;
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.exception.infrastructure.ExchangeServiceUnavailableException;
+import com.trevizan.mithrilledger.infrastructure.exchange.HedgedExchangeClient;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgedExchangeClientTest {
+
+    private static final String RATES_PATH = "/api/v1/exchanges/rates";
+
+    private WireMockServer exchange;
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreaker circuitBreaker;
+    private HedgedExchangeClient hedgedExchangeClient;
+
+    @BeforeEach
+    void setUp() {
+        exchange = new WireMockServer(wireMockConfig().dynamicPort());
+        exchange.start();
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = CircuitBreaker.ofDefaults("exchange-service");
+
+        hedgedExchangeClient = new HedgedExchangeClient(
+            HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(),
+            exchange.baseUrl(),
+            JsonMapper.builder().build(),
+            Mockito.mock(ExchangeClient.class),
+            circuitBreaker,
+            Bulkhead.ofDefaults("exchange-service"),
+            new ExchangeHedgingProperties(
+                true,
+                0.95,
+                Duration.ofMillis(100),
+                Duration.ofMillis(5),
+                Duration.ofMillis(500),
+                20,
+                Duration.ofSeconds(2)
+            ),
+            meterRegistry,
+            Executors.newSingleThreadScheduledExecutor()
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        hedgedExchangeClient.close();
+        exchange.stop();
+    }
+
+    @Test
+    void shouldNotHedgeWhenFirstAttemptAnswersWithinDelay() throws Exception {
+        exchange.stubFor(get(urlPathEqualTo(RATES_PATH)).willReturn(okJson("{\"rate\": 0.91}")));
+
+        assertThat(hedgedExchangeClient.getRate("USD", "EUR")).isEqualByComparingTo("0.91");
+        Thread.sleep(200);
+
+        exchange.verify(1, getRequestedFor(urlPathEqualTo(RATES_PATH)));
+        assertThat(meterRegistry.counter("exchange.rate.hedges", "trigger", "delay").count()).isZero();
+    }
+
+    @Test
+    void shouldUseHedgedResponseWhenFirstAttemptIsSlow() {
+        exchange.stubFor(get(urlPathEqualTo(RATES_PATH))
+            .inScenario("slow-first")
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(okJson("{\"rate\": 0.91}").withFixedDelay(1500))
+            .willSetStateTo("hedged"));
+        exchange.stubFor(get(urlPathEqualTo(RATES_PATH))
+            .inScenario("slow-first")
+            .whenScenarioStateIs("hedged")
+            .willReturn(okJson("{\"rate\": 0.92}")));
+
+        long started = System.nanoTime();
+        BigDecimal rate = hedgedExchangeClient.getRate("USD", "EUR");
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertThat(rate).isEqualByComparingTo("0.92");
+        assertThat(elapsed).isLessThan(Duration.ofMillis(1000));
+        assertThat(meterRegistry.counter("exchange.rate.hedges", "trigger", "delay").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("exchange.rate.hedges.won").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldHedgeImmediatelyWhenFirstAttemptFails() {
+        exchange.stubFor(get(urlPathEqualTo(RATES_PATH))
+            .inScenario("failing-first")
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(aResponse().withStatus(500))
+            .willSetStateTo("recovered"));
+        exchange.stubFor(get(urlPathEqualTo(RATES_PATH))
+            .inScenario("failing-first")
+            .whenScenarioStateIs("recovered")
+            .willReturn(okJson("{\"rate\": 0.91}")));
+
+        assertThat(hedgedExchangeClient.getRate("USD", "EUR")).isEqualByComparingTo("0.91");
+        assertThat(meterRegistry.counter("exchange.rate.hedges", "trigger", "failure").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailWhenBothAttemptsFail() {
+        exchange.stubFor(get(urlPathEqualTo(RATES_PATH)).willReturn(aResponse().withStatus(503)));
+
+        assertThatThrownBy(() -> hedgedExchangeClient.getRate("USD", "EUR"))
+            .isInstanceOf(ExchangeServiceUnavailableException.class)
+            .hasMessageContaining("503");
+        exchange.verify(2, getRequestedFor(urlPathEqualTo(RATES_PATH)));
+    }
+
+    @Test
+    void shouldNotCallExchangeWhenCircuitBreakerIsOpen() {
+        circuitBreaker.transitionToOpenState();
+
+        assertThatThrownBy(() -> hedgedExchangeClient.getRate("USD", "EUR"))
+            .isInstanceOf(ExchangeServiceUnavailableException.class)
+            .hasMessageContaining("Circuit breaker is OPEN");
+        exchange.verify(0, getRequestedFor(urlPathEqualTo(RATES_PATH)));
+    }
+
+    @Test
+    void shouldDeriveHedgeDelayFromObservedLatency() {
+        exchange.stubFor(get(urlPathEqualTo(RATES_PATH)).willReturn(okJson("{\"rate\": 0.91}").withFixedDelay(150)));
+
+        assertThat(hedgedExchangeClient.hedgeDelay()).isEqualTo(Duration.ofMillis(100));
+        for (int i = 0; i < 25; i++) {
+            hedgedExchangeClient.getRate("USD", "EUR");
+        }
+
+        assertThat(hedgedExchangeClient.hedgeDelay())
+            .isBetween(Duration.ofMillis(140), Duration.ofMillis(500));
+    }
+
+    @Test
+    void shouldNotDeriveHedgeDelayFromFailedAttempts() {
+        exchange.stubFor(get(urlPathEqualTo(RATES_PATH)).willReturn(aResponse().withStatus(503)));
+
+        for (int i = 0; i < 25; i++) {
+            assertThatThrownBy(() -> hedgedExchangeClient.getRate("USD", "EUR"))
+                .isInstanceOf(ExchangeServiceUnavailableException.class);
+        }
+
+        assertThat(meterRegistry.timer("exchange.rate.attempt").count()).isZero();
+        assertThat(hedgedExchangeClient.hedgeDelay()).isEqualTo(Duration.ofMillis(100));
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.trevizan.mithrilledger.exchange;
+
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.RateQuote;
+import com.trevizan.mithrilledger.domain.exchange.RecordedExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.RecordedRate;
+import com.trevizan.mithrilledger.exception.domain.QuoteExpiredException;
+import com.trevizan.mithrilledger.exception.domain.QuoteNotFoundException;
+import com.trevizan.mithrilledger.service.QuoteService;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuoteServiceTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private final ExchangeClient exchangeClient = Mockito.mock(ExchangeClient.class);
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-02-12T10:00:00Z"));
+
+    @Test
+    void shouldLockRateResolvedOnce() {
+        QuoteService quoteService = new QuoteService(exchangeClient, TTL, clock);
+        when(exchangeClient.getRate("EUR", "USD")).thenReturn(new BigDecimal("1.09"));
+
+        RateQuote quote = quoteService.createQuote(Currency.getInstance("EUR"), Currency.getInstance("USD"));
+
+        assertThat(quoteService.getValidQuote(quote.id()).rate()).isEqualByComparingTo("1.09");
+        assertThat(quoteService.getValidQuote(quote.id()).rate()).isEqualByComparingTo("1.09");
+        assertThat(quote.rateId()).isNull();
+        verify(exchangeClient).getRate("EUR", "USD");
+    }
+
+    @Test
+    void shouldLockRecordedRateIdFromExchangeClient() {
+        RecordedExchangeClient recordedExchangeClient = Mockito.mock(RecordedExchangeClient.class);
+        QuoteService quoteService = new QuoteService(recordedExchangeClient, TTL, clock);
+        UUID rateId = UUID.randomUUID();
+        when(recordedExchangeClient.getRecordedRate("EUR", "USD"))
+            .thenReturn(new RecordedRate(new BigDecimal("1.09"), rateId));
+
+        RateQuote quote = quoteService.createQuote(Currency.getInstance("EUR"), Currency.getInstance("USD"));
+
+        assertThat(quote.rate()).isEqualByComparingTo("1.09");
+        assertThat(quote.rateId()).isEqualTo(rateId);
+    }
+
+    @Test
+    void shouldQuoteSameCurrencyWithoutCallingExchange() {
+        QuoteService quoteService = new QuoteService(exchangeClient, TTL, clock);
+
+        RateQuote quote = quoteService.createQuote(Currency.getInstance("EUR"), Currency.getInstance("EUR"));
+
+        assertThat(quote.rate()).isEqualByComparingTo(BigDecimal.ONE);
+        assertThat(quote.rateId()).isNull();
+        verify(exchangeClient, never()).getRate(any(), any());
+    }
+
+    @Test
+    void shouldExpireQuoteExactlyAtTtl() {
+        QuoteService quoteService = new QuoteService(exchangeClient, TTL, clock);
+        when(exchangeClient.getRate("EUR", "USD")).thenReturn(new BigDecimal("1.09"));
+
+        RateQuote quote = quoteService.createQuote(Currency.getInstance("EUR"), Currency.getInstance("USD"));
+
+        assertThat(quote.expiresAt()).isEqualTo(Instant.parse("2026-02-12T10:00:30Z"));
+        clock.advance(TTL.minusNanos(1));
+        assertThat(quoteService.getValidQuote(quote.id()).rate()).isEqualByComparingTo("1.09");
+
+        clock.advance(Duration.ofNanos(1));
+        assertThatThrownBy(() -> quoteService.getValidQuote(quote.id()))
+            .isInstanceOf(QuoteExpiredException.class)
+            .hasMessageContaining(quote.id().toString());
+        assertThatThrownBy(() -> quoteService.getValidQuote(quote.id()))
+            .isInstanceOf(QuoteNotFoundException.class);
+    }
+
+    @Test
+    void shouldPurgeOnlyExpiredQuotes() {
+        QuoteService quoteService = new QuoteService(exchangeClient, TTL, clock);
+        when(exchangeClient.getRate("EUR", "USD")).thenReturn(new BigDecimal("1.09"));
+
+        RateQuote expired = quoteService.createQuote(Currency.getInstance("EUR"), Currency.getInstance("USD"));
+        clock.advance(Duration.ofSeconds(10));
+        RateQuote valid = quoteService.createQuote(Currency.getInstance("EUR"), Currency.getInstance("USD"));
+        clock.advance(Duration.ofSeconds(20));
+
+        quoteService.purgeExpiredQuotes();
+
+        assertThatThrownBy(() -> quoteService.getValidQuote(expired.id()))
+            .isInstanceOf(QuoteNotFoundException.class);
+        assertThat(quoteService.getValidQuote(valid.id()).id()).isEqualTo(valid.id());
+    }
+
+    @Test
+    void shouldRejectUnknownQuote() {
+        QuoteService quoteService = new QuoteService(exchangeClient, TTL, clock);
+        UUID id = UUID.randomUUID();
+
+        assertThatThrownBy(() -> quoteService.getValidQuote(id))
+            .isInstanceOf(QuoteNotFoundException.class)
+            .hasMessageContaining(id.toString());
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}
@@ -0,0 +1,188 @@
+package com.trevizan.mithrilledger.exchange;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.trevizan.mithrilledger.config.RestConfig;
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.exception.infrastructure.ExchangeServiceUnavailableException;
+import com.trevizan.mithrilledger.infrastructure.exchange.HttpExchangeClient;
+import com.trevizan.mithrilledger.infrastructure.exchange.SingleFlightExchangeClient;
+import com.trevizan.mithrilledger.infrastructure.exchange.TriangulatingExchangeClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightExchangeClientTest {
+
+    private static final String RATES_PATH = "/api/v1/exchanges/rates";
+    private static final String BULK_RATES_PATH = "/api/v1/exchanges/rates/bulk";
+    private static final int CALLERS = 500;
+
+    private WireMockServer exchange;
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlightExchangeClient singleFlightExchangeClient;
+
+    @BeforeEach
+    void setUp() {
+        exchange = new WireMockServer(wireMockConfig().dynamicPort());
+        exchange.start();
+        meterRegistry = new SimpleMeterRegistry();
+
+        RestConfig restConfig = new RestConfig();
+        HttpExchangeClient httpExchangeClient = new HttpExchangeClient(
+            restConfig.restTemplate(restConfig.exchangeConnectionManager(50)),
+            exchange.baseUrl(),
+            meterRegistry
+        );
+        singleFlightExchangeClient = new SingleFlightExchangeClient(httpExchangeClient, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        exchange.stop();
+    }
+
+    @Test
+    void shouldShareOneRequestAcrossConcurrentCallersOfSamePair() throws Exception {
+        exchange.stubFor(get(urlPathEqualTo(RATES_PATH))
+            .willReturn(okJson("{\"rate\": 0.91}").withFixedDelay(1000)));
+
+        List<Object> results = callConcurrently(singleFlightExchangeClient, "USD", "EUR");
+
+        assertThat(results).hasSize(CALLERS).allSatisfy(result ->
+            assertThat(result).isInstanceOfSatisfying(BigDecimal.class, rate ->
+                assertThat(rate).isEqualByComparingTo("0.91")
+            )
+        );
+        exchange.verify(1, getRequestedFor(urlPathEqualTo(RATES_PATH)));
+        assertThat(meterRegistry.counter("exchange.rate.single-flight", "role", "leader").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("exchange.rate.single-flight", "role", "coalesced").count())
+            .isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void shouldPropagateLeaderExceptionToEveryWaiter() throws Exception {
+        exchange.stubFor(get(urlPathEqualTo(RATES_PATH))
+            .willReturn(aResponse().withStatus(503).withFixedDelay(1000)));
+
+        List<Object> results = callConcurrently(singleFlightExchangeClient, "USD", "EUR");
+
+        assertThat(results).hasSize(CALLERS)
+            .allSatisfy(result -> assertThat(result).isInstanceOf(ExchangeServiceUnavailableException.class));
+        exchange.verify(1, getRequestedFor(urlPathEqualTo(RATES_PATH)));
+    }
+
+    @Test
+    void shouldNotCoalesceDifferentPairs() {
+        exchange.stubFor(get(urlPathEqualTo(RATES_PATH))
+            .withQueryParam("to", equalTo("EUR"))
+            .willReturn(okJson("{\"rate\": 0.91}")));
+        exchange.stubFor(get(urlPathEqualTo(RATES_PATH))
+            .withQueryParam("to", equalTo("GBP"))
+            .willReturn(okJson("{\"rate\": 0.78}")));
+
+        assertThat(singleFlightExchangeClient.getRate("USD", "EUR")).isEqualByComparingTo("0.91");
+        assertThat(singleFlightExchangeClient.getRate("USD", "GBP")).isEqualByComparingTo("0.78");
+
+        exchange.verify(2, getRequestedFor(urlPathEqualTo(RATES_PATH)));
+        assertThat(meterRegistry.counter("exchange.rate.single-flight", "role", "coalesced").count()).isZero();
+    }
+
+    @Test
+    void shouldCallExchangeAgainAfterPreviousCallCompletes() {
+        exchange.stubFor(get(urlPathEqualTo(RATES_PATH)).willReturn(okJson("{\"rate\": 0.91}")));
+
+        singleFlightExchangeClient.getRate("USD", "EUR");
+        singleFlightExchangeClient.getRate("USD", "EUR");
+
+        exchange.verify(2, getRequestedFor(urlPathEqualTo(RATES_PATH)));
+    }
+
+    @Test
+    void shouldShareOneBulkRequestAcrossConcurrentTriangulatedLookups() throws Exception {
+        exchange.stubFor(get(urlPathEqualTo(BULK_RATES_PATH))
+            .willReturn(okJson("{\"base\": \"USD\", \"rates\": {\"EUR\": 0.92, \"GBP\": 0.79}}")
+                .withFixedDelay(1000)));
+        TriangulatingExchangeClient triangulatingExchangeClient = new TriangulatingExchangeClient(
+            singleFlightExchangeClient,
+            "USD",
+            MathContext.DECIMAL64
+        );
+        BigDecimal expected = new BigDecimal("0.79").divide(new BigDecimal("0.92"), MathContext.DECIMAL64);
+
+        List<Object> results = callConcurrently(triangulatingExchangeClient, "EUR", "GBP");
+
+        assertThat(results).hasSize(CALLERS).allSatisfy(result ->
+            assertThat(result).isInstanceOfSatisfying(BigDecimal.class, rate ->
+                assertThat(rate).isEqualByComparingTo(expected)
+            )
+        );
+        exchange.verify(1, getRequestedFor(urlPathEqualTo(BULK_RATES_PATH)));
+        assertThat(meterRegistry.counter("exchange.rate.single-flight", "role", "leader").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("exchange.rate.single-flight", "role", "coalesced").count())
+            .isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void shouldNotCoalesceBulkLookupsOfDifferentTargets() {
+        exchange.stubFor(get(urlPathEqualTo(BULK_RATES_PATH))
+            .willReturn(okJson("{\"base\": \"USD\", \"rates\": {\"EUR\": 0.92, \"GBP\": 0.79, \"JPY\": 150.1}}")));
+
+        assertThat(singleFlightExchangeClient.getRates("USD", Set.of("EUR", "GBP"))).containsOnlyKeys("EUR", "GBP");
+        assertThat(singleFlightExchangeClient.getRates("USD", Set.of("EUR", "JPY"))).containsOnlyKeys("EUR", "JPY");
+
+        exchange.verify(2, getRequestedFor(urlPathEqualTo(BULK_RATES_PATH)));
+        assertThat(meterRegistry.counter("exchange.rate.single-flight", "role", "coalesced").count()).isZero();
+    }
+
+    private List<Object> callConcurrently(ExchangeClient client, String from, String to) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BigDecimal>> calls = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                calls.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    return client.getRate(from, to);
+                }));
+            }
+            ready.await();
+            start.countDown();
+        }
+
+        List<Object> results = new ArrayList<>();
+        for (Future<BigDecimal> call : calls) {
+            try {
+                results.add(call.get());
+            } catch (ExecutionException ex) {
+                results.add(ex.getCause());
+            }
+        }
+        return results;
+    }
+
+}
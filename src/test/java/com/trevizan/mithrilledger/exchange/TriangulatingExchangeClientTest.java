@@ -0,0 +1,103 @@
+package com.trevizan.mithrilledger.exchange;
+
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.model.Money;
+import com.trevizan.mithrilledger.infrastructure.exchange.TriangulatingExchangeClient;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TriangulatingExchangeClientTest {
+
+    private static final MathContext MATH_CONTEXT = new MathContext(16, RoundingMode.HALF_EVEN);
+
+    private ExchangeClient delegate;
+    private TriangulatingExchangeClient triangulatingExchangeClient;
+
+    @BeforeEach
+    void setUp() {
+        delegate = Mockito.mock(ExchangeClient.class);
+        triangulatingExchangeClient = new TriangulatingExchangeClient(delegate, "USD", MATH_CONTEXT);
+    }
+
+    @Test
+    void shouldFetchBaseRateDirectly() {
+        when(delegate.getRate("USD", "EUR")).thenReturn(new BigDecimal("0.92"));
+
+        assertThat(triangulatingExchangeClient.getRate("USD", "EUR")).isEqualByComparingTo("0.92");
+    }
+
+    @Test
+    void shouldInvertRateIntoBaseCurrency() {
+        when(delegate.getRate("USD", "EUR")).thenReturn(new BigDecimal("0.8"));
+
+        assertThat(triangulatingExchangeClient.getRate("EUR", "USD")).isEqualByComparingTo("1.25");
+    }
+
+    @Test
+    void shouldDeriveCrossRateFromBaseVector() {
+        when(delegate.getRates("USD", Set.of("EUR", "GBP")))
+            .thenReturn(Map.of("EUR", new BigDecimal("0.92"), "GBP", new BigDecimal("0.79")));
+
+        BigDecimal rate = triangulatingExchangeClient.getRate("EUR", "GBP");
+
+        assertThat(rate).isEqualByComparingTo("0.858695652173913");
+        verify(delegate, never()).getRate(anyString(), anyString());
+    }
+
+    @Test
+    void shouldKeepSignificantDigitsOfSmallDerivedRates() {
+        Currency idr = Currency.getInstance("IDR");
+        when(delegate.getRate("USD", "IDR")).thenReturn(new BigDecimal("15800"));
+        when(delegate.getRates("USD", Set.of("IDR", "EUR")))
+            .thenReturn(Map.of("IDR", new BigDecimal("15800"), "EUR", new BigDecimal("0.92")));
+        Money amount = Money.of(new BigDecimal("1000000.00"), idr);
+
+        BigDecimal inverse = triangulatingExchangeClient.getRate("IDR", "USD");
+        BigDecimal cross = triangulatingExchangeClient.getRate("IDR", "EUR");
+
+        assertThat(inverse).isEqualByComparingTo("0.00006329113924050633");
+        assertThat(cross).isEqualByComparingTo("0.00005822784810126582");
+        assertThat(amount.convert(inverse, Currency.getInstance("USD")).minorUnits()).isEqualTo(6329);
+        assertThat(amount.convert(cross, Currency.getInstance("EUR")).minorUnits()).isEqualTo(5823);
+        assertThat(triangulatingExchangeClient.getRates("IDR", Set.of("EUR")).get("EUR")).isEqualTo(cross);
+    }
+
+    @Test
+    void shouldNotCallExchangeForSameCurrency() {
+        assertThat(triangulatingExchangeClient.getRate("EUR", "EUR")).isEqualByComparingTo("1");
+
+        verify(delegate, never()).getRate(anyString(), anyString());
+    }
+
+    @Test
+    void shouldResolveBulkRatesOfNonBaseCurrencyFromOneVectorLookup() {
+        when(delegate.getRates("USD", Set.of("EUR", "GBP", "JPY")))
+            .thenReturn(Map.of(
+                "EUR", new BigDecimal("0.8"),
+                "GBP", new BigDecimal("0.6"),
+                "JPY", new BigDecimal("120")
+            ));
+
+        Map<String, BigDecimal> rates = triangulatingExchangeClient.getRates("EUR", Set.of("GBP", "JPY", "USD"));
+
+        assertThat(rates.get("GBP")).isEqualByComparingTo("0.75");
+        assertThat(rates.get("JPY")).isEqualByComparingTo("150");
+        assertThat(rates.get("USD")).isEqualByComparingTo("1.25");
+    }
+
+}
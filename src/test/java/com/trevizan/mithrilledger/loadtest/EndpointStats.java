@@ -0,0 +1,40 @@
+package com.trevizan.mithrilledger.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Recorder latencies = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+    private final ConcurrentMap<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    void record(long latencyNanos, String outcome) {
+        latencies.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    void reset() {
+        latencies.reset();
+        outcomes.clear();
+    }
+
+    Histogram histogram() {
+        return latencies.getIntervalHistogram();
+    }
+
+    Map<String, Long> outcomes() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> snapshot.put(outcome, count.sum()));
+        return snapshot;
+    }
+
+}
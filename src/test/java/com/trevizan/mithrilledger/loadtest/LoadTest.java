@@ -0,0 +1,350 @@
+package com.trevizan.mithrilledger.loadtest;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.zaxxer.hikari.HikariDataSource;
+import com.trevizan.mithrilledger.MithrilledgerApplication;
+import com.trevizan.mithrilledger.controller.dto.TransferRequest;
+import com.trevizan.mithrilledger.controller.dto.WalletAmountRequest;
+import com.trevizan.mithrilledger.controller.dto.WalletRequest;
+import com.trevizan.mithrilledger.controller.dto.WalletResponse;
+import com.trevizan.mithrilledger.controller.error.ErrorResponse;
+import com.trevizan.mithrilledger.loadtest.LoadTestOptions.Operation;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+public class LoadTest {
+
+    private static final String WALLETS_PATH = "/api/v1/wallets";
+    private static final BigDecimal EXCHANGE_RATE = new BigDecimal("1.084211");
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final int FEED_HEARTBEATS = 3600;
+    private static final Duration POOL_SAMPLE_INTERVAL = Duration.ofMillis(10);
+
+    private final LoadTestOptions options;
+    private final URI baseUri;
+    private final boolean virtualThreads;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final List<UUID> wallets = new ArrayList<>();
+    private final Operation[] weightedOperations;
+    private final AtomicLong owners = new AtomicLong();
+
+    LoadTest(LoadTestOptions options, URI baseUri, boolean virtualThreads) {
+        this.options = options;
+        this.baseUri = baseUri;
+        this.virtualThreads = virtualThreads;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.weightedOperations = options.mix().entrySet().stream()
+            .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+            .toArray(Operation[]::new);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        WireMockServer exchange = startExchange(options);
+        try (ConfigurableApplicationContext context = startApplication(options, exchange.port());
+             PoolOccupancy pool = new PoolOccupancy(context.getBean(HikariDataSource.class), POOL_SAMPLE_INTERVAL)) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            boolean virtualThreads = context.getEnvironment()
+                .getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+            LoadTest loadTest = new LoadTest(options, URI.create("http://localhost:" + port), virtualThreads);
+
+            loadTest.seedWallets();
+            loadTest.drive(options.warmUp());
+            loadTest.stats.values().forEach(EndpointStats::reset);
+            pool.reset();
+
+            long started = System.nanoTime();
+            loadTest.drive(options.duration());
+            loadTest.report(Duration.ofNanos(System.nanoTime() - started), pool);
+        } finally {
+            exchange.stop();
+        }
+    }
+
+    private void seedWallets() throws IOException, InterruptedException {
+        for (int i = 0; i < options.wallets(); i++) {
+            String currency = options.currencies().get(i % options.currencies().size());
+            HttpResponse<String> created = send(post(WALLETS_PATH, new WalletRequest(nextOwner(), currency)));
+            UUID walletId = objectMapper.readValue(created.body(), WalletResponse.class).id();
+
+            HttpResponse<String> credited = send(post(
+                WALLETS_PATH + "/credit",
+                new WalletAmountRequest(walletId, BigDecimal.valueOf(options.initialBalance()))
+            ));
+            if (credited.statusCode() != 200) {
+                throw new IllegalStateException("Seeding wallet " + walletId + " failed: " + credited.body());
+            }
+            wallets.add(walletId);
+        }
+    }
+
+    private void drive(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        if (options.closedModel()) {
+            driveClients(duration);
+            return;
+        }
+
+        double meanIntervalNanos = 1_000_000_000.0 / options.ratePerSecond();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long end = System.nanoTime() + duration.toNanos();
+            long next = System.nanoTime();
+            while (next < end) {
+                long delay = next - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+
+                long intendedStart = next;
+                Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+                executor.execute(() -> execute(operation, intendedStart));
+
+                next += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+            }
+        }
+    }
+
+    private void driveClients(Duration duration) {
+        long end = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < options.clients(); client++) {
+                executor.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                        execute(weightedOperations[random.nextInt(weightedOperations.length)], System.nanoTime());
+                    }
+                });
+            }
+        }
+    }
+
+    private void execute(Operation operation, long intendedStart) {
+        String outcome;
+        try {
+            outcome = classify(send(request(operation)));
+        } catch (IOException ex) {
+            outcome = "io-error";
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            outcome = "interrupted";
+        }
+        stats.get(operation).record(System.nanoTime() - intendedStart, outcome);
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 51));
+
+        return switch (operation) {
+            case CREATE -> post(WALLETS_PATH, new WalletRequest(
+                nextOwner(),
+                options.currencies().get(random.nextInt(options.currencies().size()))
+            ));
+            case CREDIT -> post(WALLETS_PATH + "/credit", new WalletAmountRequest(randomWallet(), amount));
+            case DEBIT -> post(WALLETS_PATH + "/debit", new WalletAmountRequest(randomWallet(), amount));
+            case TRANSFER -> {
+                int from = random.nextInt(wallets.size());
+                int to = (from + random.nextInt(1, wallets.size())) % wallets.size();
+                yield post(WALLETS_PATH + "/transfer", new TransferRequest(wallets.get(from), wallets.get(to), amount));
+            }
+        };
+    }
+
+    private String classify(HttpResponse<String> response) {
+        int status = response.statusCode();
+        if (status != 409) {
+            return String.valueOf(status);
+        }
+
+        String message = objectMapper.readValue(response.body(), ErrorResponse.class).message();
+        if (message.contains("insufficient balance")) {
+            return "409 insufficient-balance";
+        }
+        if (message.contains("updated concurrently")) {
+            return "409 concurrent-update";
+        }
+        return "409 conflict";
+    }
+
+    private void report(Duration elapsed, PoolOccupancy pool) throws IOException {
+        Files.createDirectories(options.reportDirectory());
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+
+        System.out.printf("%nLoad test: %s, threads=%s, duration=%s, wallets=%d, mix=%s%n%n",
+            options.closedModel()
+                ? "clients=" + options.clients()
+                : String.format("rate=%.0f/s", options.ratePerSecond()),
+            virtualThreads ? "virtual" : "platform",
+            elapsed,
+            options.wallets(),
+            options.mix()
+        );
+        System.out.printf("%-10s %10s %12s %10s %10s %10s %10s%n",
+            "endpoint", "requests", "throughput", "p50 ms", "p99 ms", "p99.9 ms", "max ms"
+        );
+
+        Map<Operation, Map<String, Long>> outcomes = new EnumMap<>(Operation.class);
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().histogram();
+            outcomes.put(entry.getKey(), entry.getValue().outcomes());
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+
+            System.out.printf("%-10s %10d %12.1f %10.2f %10.2f %10.2f %10.2f%n",
+                entry.getKey().name().toLowerCase(),
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI
+            );
+
+            String fileName = entry.getKey().name().toLowerCase() + ".hgrm";
+            try (PrintStream out = new PrintStream(Files.newOutputStream(options.reportDirectory().resolve(fileName)))) {
+                histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+
+        System.out.printf("%nOutcomes:%n");
+        outcomes.forEach((operation, counts) -> {
+            if (!counts.isEmpty()) {
+                System.out.printf("%-10s %s%n",
+                    operation.name().toLowerCase(),
+                    counts.entrySet().stream()
+                        .map(count -> count.getKey() + "=" + count.getValue())
+                        .collect(Collectors.joining(", "))
+                );
+            }
+        });
+
+        Histogram active = pool.active();
+        Histogram pending = pool.pending();
+        System.out.printf("%nConnection pool (maximum %d, sampled every %dms):%n",
+            pool.maximumPoolSize(),
+            POOL_SAMPLE_INTERVAL.toMillis()
+        );
+        System.out.printf("%-10s %10s %10s %10s %10s%n", "", "mean", "p50", "p99", "max");
+        System.out.printf("%-10s %10.1f %10d %10d %10d%n",
+            "active", active.getMean(), active.getValueAtPercentile(50), active.getValueAtPercentile(99), active.getMaxValue()
+        );
+        System.out.printf("%-10s %10.1f %10d %10d %10d%n",
+            "pending", pending.getMean(), pending.getValueAtPercentile(50), pending.getValueAtPercentile(99), pending.getMaxValue()
+        );
+        System.out.printf("%nHistograms written to %s%n", options.reportDirectory().toAbsolutePath());
+    }
+
+    private HttpRequest post(String path, Object body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+            .header("Content-Type", "application/json")
+            .timeout(Duration.ofSeconds(30))
+            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+            .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private UUID randomWallet() {
+        return wallets.get(ThreadLocalRandom.current().nextInt(wallets.size()));
+    }
+
+    private String nextOwner() {
+        return "load-owner-" + owners.incrementAndGet();
+    }
+
+    private static WireMockServer startExchange(LoadTestOptions options) {
+        WireMockServer server = new WireMockServer(wireMockConfig().dynamicPort());
+        server.start();
+
+        int latency = (int) options.exchangeLatency().toMillis();
+        String rates = options.currencies().stream()
+            .map(currency -> "\"" + currency + "\": " + EXCHANGE_RATE)
+            .collect(Collectors.joining(", "));
+
+        server.stubFor(get(urlPathEqualTo("/api/v1/exchanges/rates"))
+            .willReturn(okJson("{\"rate\": " + EXCHANGE_RATE + "}").withFixedDelay(latency)));
+        server.stubFor(get(urlPathEqualTo("/api/v1/exchanges/rates/bulk"))
+            .willReturn(okJson("{\"rates\": {" + rates + "}}").withFixedDelay(latency)));
+        server.stubFor(get(urlPathEqualTo("/api/v1/exchanges/rates/stream"))
+            .willReturn(rateFeed(options.currencies(), rates)));
+        return server;
+    }
+
+    private static ResponseDefinitionBuilder rateFeed(List<String> currencies, String rates) {
+        StringBuilder body = new StringBuilder();
+        for (String base : currencies) {
+            body.append("event: rates\ndata: {\"base\": \"").append(base).append("\", \"rates\": {")
+                .append(rates).append("}}\n\n");
+        }
+        for (int i = 0; i < FEED_HEARTBEATS; i++) {
+            body.append(": heartbeat\n\n");
+        }
+        return aResponse()
+            .withStatus(200)
+            .withHeader("Content-Type", "text/event-stream")
+            .withBody(body.toString())
+            .withChunkedDribbleDelay(FEED_HEARTBEATS, FEED_HEARTBEATS * 1000);
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options, int exchangePort) {
+        List<String> args = new ArrayList<>(options.applicationArgs());
+        args.add("--server.port=0");
+        args.add("--exchange.base-url=http://localhost:" + exchangePort);
+        if (args.stream().noneMatch(arg -> arg.startsWith("--logging.level.root="))) {
+            args.add("--logging.level.root=WARN");
+        }
+        return new SpringApplicationBuilder(MithrilledgerApplication.class).run(args.toArray(String[]::new));
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.trevizan.mithrilledger.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.convert.DurationStyle;
+
+record LoadTestOptions(
+    double ratePerSecond,
+    int clients,
+    Duration duration,
+    Duration warmUp,
+    Map<Operation, Integer> mix,
+    int wallets,
+    List<String> currencies,
+    long initialBalance,
+    Duration exchangeLatency,
+    Path reportDirectory,
+    List<String> applicationArgs
+) {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+        "rate", "200",
+        "clients", "0",
+        "duration", "60s",
+        "warm-up", "10s",
+        "mix", "create:5,credit:25,debit:20,transfer:50",
+        "wallets", "100",
+        "currencies", "EUR,USD",
+        "initial-balance", "1000",
+        "exchange-latency", "20ms",
+        "report-dir", "target/loadtest"
+    );
+
+    LoadTestOptions {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive.");
+        }
+        if (clients < 0) {
+            throw new IllegalArgumentException("Clients must not be negative.");
+        }
+        if (wallets < 2) {
+            throw new IllegalArgumentException("At least two wallets are required.");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Operation mix must have a positive total weight.");
+        }
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>(DEFAULTS);
+        List<String> applicationArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (DEFAULTS.containsKey(name)) {
+                values.put(name, arg.substring(arg.indexOf('=') + 1));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+
+        return new LoadTestOptions(
+            Double.parseDouble(values.get("rate")),
+            Integer.parseInt(values.get("clients")),
+            DurationStyle.detectAndParse(values.get("duration")),
+            DurationStyle.detectAndParse(values.get("warm-up")),
+            parseMix(values.get("mix")),
+            Integer.parseInt(values.get("wallets")),
+            List.of(values.get("currencies").split(",")),
+            Long.parseLong(values.get("initial-balance")),
+            DurationStyle.detectAndParse(values.get("exchange-latency")),
+            Path.of(values.get("report-dir")),
+            List.copyOf(applicationArgs)
+        );
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries must be operation:weight but got: " + entry);
+            }
+            mix.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    boolean closedModel() {
+        return clients > 0;
+    }
+
+    enum Operation {
+        CREATE,
+        CREDIT,
+        DEBIT,
+        TRANSFER
+    }
+
+}
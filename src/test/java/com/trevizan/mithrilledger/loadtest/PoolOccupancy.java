@@ -0,0 +1,59 @@
+package com.trevizan.mithrilledger.loadtest;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+class PoolOccupancy implements AutoCloseable {
+
+    private final HikariPoolMXBean pool;
+    private final int maximumPoolSize;
+    private final Recorder active = new Recorder(3);
+    private final Recorder pending = new Recorder(3);
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pool-occupancy");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    PoolOccupancy(HikariDataSource dataSource, Duration interval) {
+        this.pool = dataSource.getHikariPoolMXBean();
+        this.maximumPoolSize = dataSource.getMaximumPoolSize();
+        sampler.scheduleAtFixedRate(this::sample, 0, interval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    void reset() {
+        active.reset();
+        pending.reset();
+    }
+
+    Histogram active() {
+        return active.getIntervalHistogram();
+    }
+
+    Histogram pending() {
+        return pending.getIntervalHistogram();
+    }
+
+    int maximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+    }
+
+    private void sample() {
+        active.recordValue(pool.getActiveConnections());
+        pending.recordValue(pool.getThreadsAwaitingConnection());
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.trevizan.mithrilledger.wallet;
+
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.service.BalanceSnapshotService;
+import com.trevizan.mithrilledger.service.WalletService;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BalanceSnapshotTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private ExchangeClient exchangeClient;
+
+    @Test
+    void shouldAnswerPointInTimeBalanceFromSnapshotAndLaterTransactions() {
+        Wallet wallet = walletService.createWallet("1234", EUR);
+        Wallet counterparty = walletService.createWallet("1235", EUR);
+        walletService.credit(wallet.getId(), BigDecimal.valueOf(100));
+        Instant afterCredit = Instant.now();
+
+        assertThat(balanceSnapshotService.snapshot(wallet.getId())).isTrue();
+        walletService.debit(wallet.getId(), BigDecimal.valueOf(30));
+        walletService.transfer(wallet, counterparty, BigDecimal.valueOf(20));
+        Instant afterTransfer = Instant.now();
+
+        walletService.credit(wallet.getId(), BigDecimal.valueOf(5));
+
+        assertThat(balanceSnapshotService.getBalanceAsOf(wallet, afterCredit)).isEqualByComparingTo("100");
+        assertThat(balanceSnapshotService.getBalanceAsOf(wallet, afterTransfer)).isEqualByComparingTo("50");
+        assertThat(balanceSnapshotService.getBalanceAsOf(wallet, Instant.now())).isEqualByComparingTo("55");
+        assertThat(balanceSnapshotService.getBalanceAsOf(counterparty, Instant.now())).isEqualByComparingTo("20");
+    }
+
+    @Test
+    void shouldSkipSnapshotWhenWalletIsUnchanged() {
+        Wallet wallet = walletService.createWallet("1234", EUR);
+        walletService.credit(wallet.getId(), BigDecimal.valueOf(10));
+
+        assertThat(balanceSnapshotService.snapshot(wallet.getId())).isTrue();
+        assertThat(balanceSnapshotService.snapshot(wallet.getId())).isFalse();
+
+        walletService.credit(wallet.getId(), BigDecimal.valueOf(10));
+        assertThat(balanceSnapshotService.snapshot(wallet.getId())).isTrue();
+    }
+
+    @Test
+    void shouldReplayWriteThatCommitsAfterAConcurrentSnapshot() {
+        Wallet wallet = walletService.createWallet("1234", EUR);
+        walletService.credit(wallet.getId(), BigDecimal.valueOf(100));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            walletService.credit(wallet.getId(), BigDecimal.valueOf(30));
+            boolean taken = CompletableFuture.supplyAsync(() -> balanceSnapshotService.snapshot(wallet.getId())).join();
+            assertThat(taken).isTrue();
+        });
+
+        assertThat(balanceSnapshotService.getBalanceAsOf(wallet, Instant.now())).isEqualByComparingTo("130");
+    }
+
+    @Test
+    void shouldIncludeStripedCreditsInPointInTimeBalance() {
+        Wallet hotWallet = walletService.createWallet("marketplace", EUR);
+        walletService.enableStriping(hotWallet.getId(), 4);
+        for (int i = 0; i < 4; i++) {
+            walletService.credit(hotWallet.getId(), BigDecimal.valueOf(5));
+        }
+
+        balanceSnapshotService.snapshotAll();
+        walletService.credit(hotWallet.getId(), BigDecimal.valueOf(5));
+
+        assertThat(balanceSnapshotService.getBalanceAsOf(hotWallet, Instant.now())).isEqualByComparingTo("25");
+    }
+
+    @Test
+    void shouldReturnBalanceAsOfInstantThroughApi() throws Exception {
+        Wallet wallet = walletService.createWallet("1234", EUR);
+        walletService.credit(wallet.getId(), BigDecimal.valueOf(40));
+        Instant asOf = Instant.now();
+        walletService.debit(wallet.getId(), BigDecimal.valueOf(15));
+
+        mockMvc.perform(get("/api/v1/wallets/{id}/balance", wallet.getId()).param("asOf", asOf.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.balance").value(40.0))
+            .andExpect(jsonPath("$.currency").value("EUR"));
+
+        mockMvc.perform(get("/api/v1/wallets/{id}/balance", wallet.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.balance").value(25.0));
+    }
+
+    @Test
+    void shouldReturn400WhenAsOfIsBeforeWalletCreation() throws Exception {
+        Wallet wallet = walletService.createWallet("1234", EUR);
+
+        mockMvc.perform(get("/api/v1/wallets/{id}/balance", wallet.getId()).param("asOf", "2000-01-01T00:00:00Z"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("AsOf must not be before the wallet was created."));
+    }
+
+}
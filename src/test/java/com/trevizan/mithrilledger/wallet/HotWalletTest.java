@@ -0,0 +1,103 @@
+package com.trevizan.mithrilledger.wallet;
+
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.exception.domain.InsufficientBalanceException;
+import com.trevizan.mithrilledger.service.HotWalletService;
+import com.trevizan.mithrilledger.service.WalletService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class HotWalletTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private HotWalletService hotWalletService;
+
+    @MockitoBean
+    private ExchangeClient exchangeClient;
+
+    @Test
+    void shouldSpreadConcurrentCreditsAcrossStripes() throws Exception {
+        Wallet hotWallet = walletService.createWallet("marketplace", EUR);
+        walletService.enableStriping(hotWallet.getId(), 4);
+
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> walletService.credit(hotWallet.getId(), BigDecimal.ONE)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        Wallet reloaded = walletService.getWalletById(hotWallet.getId());
+        assertThat(reloaded.getBalance()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(hotWalletService.getTotalBalance(hotWallet)).isEqualByComparingTo("200");
+    }
+
+    @Test
+    void shouldRebalanceStripesWhenDebitExceedsWalletRow() {
+        Wallet hotWallet = walletService.createWallet("marketplace", EUR);
+        walletService.credit(hotWallet.getId(), BigDecimal.valueOf(10));
+        walletService.enableStriping(hotWallet.getId(), 4);
+
+        for (int i = 0; i < 8; i++) {
+            walletService.credit(hotWallet.getId(), BigDecimal.valueOf(5));
+        }
+
+        Wallet debited = walletService.debit(hotWallet.getId(), BigDecimal.valueOf(45));
+
+        assertThat(debited.getBalance()).isEqualByComparingTo("5");
+        assertThat(walletService.getTotalBalance(debited)).isEqualByComparingTo("5");
+    }
+
+    @Test
+    void shouldRejectDebitAboveTotalStripedBalance() {
+        Wallet hotWallet = walletService.createWallet("marketplace", EUR);
+        walletService.enableStriping(hotWallet.getId(), 2);
+        walletService.credit(hotWallet.getId(), BigDecimal.valueOf(20));
+
+        assertThatThrownBy(() -> walletService.debit(hotWallet.getId(), BigDecimal.valueOf(21)))
+            .isInstanceOf(InsufficientBalanceException.class);
+        assertThat(hotWalletService.getTotalBalance(hotWallet)).isEqualByComparingTo("20");
+    }
+
+    @Test
+    void shouldCreditStripedDestinationOnTransfer() {
+        Wallet payer = walletService.createWallet("payer", EUR);
+        walletService.credit(payer.getId(), BigDecimal.valueOf(30));
+        Wallet hotWallet = walletService.createWallet("marketplace", EUR);
+        walletService.enableStriping(hotWallet.getId(), 4);
+
+        walletService.transfer(
+            walletService.getWalletById(payer.getId()),
+            walletService.getWalletById(hotWallet.getId()),
+            BigDecimal.valueOf(30)
+        );
+
+        assertThat(walletService.getWalletById(payer.getId()).getBalance()).isEqualByComparingTo("0");
+        assertThat(hotWalletService.getTotalBalance(hotWallet)).isEqualByComparingTo("30");
+    }
+
+}
@@ -0,0 +1,214 @@
+package com.trevizan.mithrilledger.wallet;
+
+import com.trevizan.mithrilledger.config.IdempotencyProperties;
+import com.trevizan.mithrilledger.controller.dto.WalletAmountRequest;
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.exception.domain.IdempotencyKeyInProgressException;
+import com.trevizan.mithrilledger.repository.IdempotencyRecordRepository;
+import com.trevizan.mithrilledger.service.IdempotencyService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import tools.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+class IdempotencyServiceTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private ExchangeClient exchangeClient;
+
+    private MutableClock clock;
+    private AtomicInteger executions;
+    private WalletAmountRequest request;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-02-12T10:00:00Z"));
+        executions = new AtomicInteger();
+        request = new WalletAmountRequest(UUID.randomUUID(), new BigDecimal("10.00"));
+        key = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void shouldReturnResponseAndReleaseKeyAfterLeaseWhenStoringResponseFails() {
+        IdempotencyRecordRepository failingRepository = Mockito.mock(
+            IdempotencyRecordRepository.class,
+            AdditionalAnswers.delegatesTo(repository)
+        );
+        doThrow(new DataAccessResourceFailureException("Database unavailable."))
+            .when(failingRepository).save(any());
+        IdempotencyService first = service(failingRepository);
+        IdempotencyService second = service(repository);
+
+        ResponseEntity<String> response = execute(first);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("applied-1", response.getBody());
+        assertEquals("true", execute(first).getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertFalse(repository.findById(key).orElseThrow().isCompleted());
+        assertThrows(IdempotencyKeyInProgressException.class, () -> execute(second));
+
+        clock.advance(LEASE);
+        ResponseEntity<String> retried = execute(second);
+
+        assertEquals("applied-2", retried.getBody());
+        assertNull(retried.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(2, executions.get());
+        assertEquals("applied-2", execute(service(repository)).getBody());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldKeepPendingKeyClaimedWithinLease() {
+        IdempotencyService first = service(repository);
+        IdempotencyService second = service(repository);
+
+        first.execute(key, "wallet.credit", request, String.class, () -> {
+            clock.advance(LEASE.minusSeconds(1));
+            assertThrows(IdempotencyKeyInProgressException.class, () -> execute(second));
+            return ResponseEntity.ok("applied");
+        });
+
+        assertEquals("applied", execute(second).getBody());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void shouldKeepClaimTakenOverDuringFailedActionOfPreviousOwner() throws Exception {
+        IdempotencyService first = service(repository);
+        IdempotencyService second = service(repository);
+        CountDownLatch secondRunning = new CountDownLatch(1);
+        CountDownLatch releaseSecond = new CountDownLatch(1);
+        AtomicReference<Future<ResponseEntity<String>>> secondCall = new AtomicReference<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Supplier<ResponseEntity<String>> secondAction = () -> {
+                secondRunning.countDown();
+                await(releaseSecond);
+                return ResponseEntity.ok("applied-second");
+            };
+            Supplier<ResponseEntity<String>> failingAction = () -> {
+                clock.advance(LEASE);
+                secondCall.set(executor.submit(
+                    () -> second.execute(key, "wallet.credit", request, String.class, secondAction)
+                ));
+                await(secondRunning);
+                throw new IllegalStateException("Wallet service failed.");
+            };
+
+            try {
+                assertThrows(
+                    IllegalStateException.class,
+                    () -> first.execute(key, "wallet.credit", request, String.class, failingAction)
+                );
+
+                assertTrue(repository.findById(key).isPresent());
+                assertThrows(IdempotencyKeyInProgressException.class, () -> execute(service(repository)));
+            } finally {
+                releaseSecond.countDown();
+            }
+
+            assertEquals("applied-second", secondCall.get().get(5, TimeUnit.SECONDS).getBody());
+        }
+
+        assertEquals("applied-second", execute(service(repository)).getBody());
+        assertEquals(0, executions.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private ResponseEntity<String> execute(IdempotencyService service) {
+        Supplier<ResponseEntity<String>> action = () -> ResponseEntity.ok("applied-" + executions.incrementAndGet());
+        return service.execute(key, "wallet.credit", request, String.class, action);
+    }
+
+    private IdempotencyService service(IdempotencyRecordRepository idempotencyRepository) {
+        return new IdempotencyService(
+            idempotencyRepository,
+            objectMapper,
+            new IdempotencyProperties(Duration.ofHours(24), 100, LEASE),
+            new SimpleMeterRegistry(),
+            clock
+        );
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}
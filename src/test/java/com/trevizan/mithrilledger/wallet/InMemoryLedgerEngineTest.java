@@ -0,0 +1,136 @@
+package com.trevizan.mithrilledger.wallet;
+
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.exception.domain.InsufficientBalanceException;
+import com.trevizan.mithrilledger.repository.TransactionRepository;
+import com.trevizan.mithrilledger.repository.WalletRepository;
+import com.trevizan.mithrilledger.service.WalletService;
+import com.trevizan.mithrilledger.service.engine.InMemoryLedgerEngine;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+    "ledger.engine.mode=in-memory",
+    "ledger.engine.partitions=4",
+    "ledger.engine.persist-interval=1h",
+    "ledger.engine.journal.enabled=true",
+    "ledger.engine.journal.directory=target/journal-${random.uuid}"
+})
+class InMemoryLedgerEngineTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private InMemoryLedgerEngine ledgerEngine;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @MockitoBean
+    private ExchangeClient exchangeClient;
+
+    @Test
+    void shouldApplyConcurrentTransfersAcrossPartitionsAndPersistThemAsynchronously() throws Exception {
+        List<Wallet> wallets = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Wallet wallet = walletService.createWallet("owner-" + i, EUR);
+            walletService.credit(wallet.getId(), BigDecimal.valueOf(100));
+            wallets.add(wallet);
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 400; i++) {
+                Wallet from = wallets.get(i % wallets.size());
+                Wallet to = wallets.get((i + 1 + i / wallets.size() % 7) % wallets.size());
+                futures.add(executor.submit(() -> walletService.transfer(from, to, BigDecimal.ONE)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        BigDecimal inMemoryTotal = wallets.stream()
+            .map(wallet -> walletService.getWalletById(wallet.getId()).getBalance())
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(inMemoryTotal).isEqualByComparingTo("800");
+
+        ledgerEngine.flush();
+
+        BigDecimal persistedTotal = walletRepository.findAllById(wallets.stream().map(Wallet::getId).toList())
+            .stream()
+            .map(Wallet::getBalance)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(persistedTotal).isEqualByComparingTo("800");
+
+        Wallet first = wallets.getFirst();
+        BigDecimal persistedBalance = walletRepository.findById(first.getId()).orElseThrow().getBalance();
+        BigDecimal replayed = transactionRepository.sumCredited(first.getId(), -1, Instant.EPOCH, Instant.now())
+            .subtract(transactionRepository.sumDebited(first.getId(), -1, Instant.EPOCH, Instant.now()));
+        assertThat(persistedBalance).isEqualByComparingTo(walletService.getWalletById(first.getId()).getBalance());
+        assertThat(replayed).isEqualByComparingTo(persistedBalance);
+    }
+
+    @Test
+    void shouldReturnWalletsThatLaterOperationsDoNotChange() {
+        Wallet created = walletService.createWallet("1234", EUR);
+        Wallet credited = walletService.credit(created.getId(), BigDecimal.valueOf(100));
+        Wallet found = walletService.getWalletById(created.getId());
+
+        walletService.debit(created.getId(), BigDecimal.valueOf(30));
+
+        assertThat(created.getBalance()).isEqualByComparingTo("0");
+        assertThat(credited.getBalance()).isEqualByComparingTo("100");
+        assertThat(found.getBalance()).isEqualByComparingTo("100");
+        assertThat(walletService.getWalletView(created.getId()).balance()).isEqualByComparingTo("70");
+    }
+
+    @Test
+    void shouldRejectDebitAboveBalanceWithoutChangingIt() {
+        Wallet wallet = walletService.createWallet("1234", EUR);
+        walletService.credit(wallet.getId(), BigDecimal.valueOf(10));
+
+        assertThatThrownBy(() -> walletService.debit(wallet.getId(), BigDecimal.valueOf(11)))
+            .isInstanceOf(InsufficientBalanceException.class);
+        assertThatThrownBy(() -> walletService.credit(wallet.getId(), BigDecimal.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(walletService.getWalletById(wallet.getId()).getBalance()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    void shouldLeaveBothWalletsUnchangedWhenTransferIsRejected() {
+        Wallet payer = walletService.createWallet("1234", EUR);
+        Wallet payee = walletService.createWallet("1235", EUR);
+        walletService.credit(payer.getId(), BigDecimal.valueOf(5));
+
+        assertThatThrownBy(() -> walletService.transfer(payer, payee, BigDecimal.valueOf(6)))
+            .isInstanceOf(InsufficientBalanceException.class);
+
+        assertThat(walletService.getWalletById(payer.getId()).getBalance()).isEqualByComparingTo("5");
+        assertThat(walletService.getWalletById(payee.getId()).getBalance()).isEqualByComparingTo("0");
+    }
+
+}
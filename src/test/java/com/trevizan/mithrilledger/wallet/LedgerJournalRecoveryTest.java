@@ -0,0 +1,99 @@
+package com.trevizan.mithrilledger.wallet;
+
+import com.trevizan.mithrilledger.service.engine.JournalEntry;
+import com.trevizan.mithrilledger.service.engine.JournalRecord.Credited;
+import com.trevizan.mithrilledger.service.engine.LedgerJournal;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LedgerJournalRecoveryTest {
+
+    private static final int SEGMENT_SIZE = 1024 * 1024;
+    private static final String ACK_PREFIX = "ACK ";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldReplayEveryAcknowledgedRecordAfterWriterProcessIsKilled() throws Exception {
+        Process writer = new ProcessBuilder(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            "-cp",
+            System.getProperty("java.class.path"),
+            JournalWriter.class.getName(),
+            directory.toString()
+        ).redirectErrorStream(true).start();
+
+        long acknowledged = 0;
+        try (BufferedReader output = new BufferedReader(
+            new InputStreamReader(writer.getInputStream(), StandardCharsets.UTF_8)
+        )) {
+            String line;
+            while (acknowledged < 2000 && (line = output.readLine()) != null) {
+                if (line.startsWith(ACK_PREFIX)) {
+                    acknowledged = Long.parseLong(line.substring(ACK_PREFIX.length()));
+                }
+            }
+            writer.destroyForcibly();
+            assertThat(writer.waitFor(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(acknowledged).isGreaterThanOrEqualTo(2000);
+
+        try (LedgerJournal journal = new LedgerJournal(directory, SEGMENT_SIZE, Duration.ZERO)) {
+            journal.open();
+
+            List<Long> sequences = new ArrayList<>();
+            journal.replay(1, entry -> sequences.add(entry.sequence()));
+
+            assertThat(sequences.size()).isGreaterThanOrEqualTo((int) acknowledged);
+            for (int index = 0; index < sequences.size(); index++) {
+                assertThat(sequences.get(index)).isEqualTo(index + 1L);
+            }
+            assertThat(journal.append(credited())).isEqualTo(sequences.size() + 1L);
+
+            List<JournalEntry> tail = new ArrayList<>();
+            journal.replay(sequences.size() + 1L, tail::add);
+            assertThat(tail).hasSize(1);
+        }
+    }
+
+    private static Credited credited() {
+        return new Credited(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("1.00"), Instant.now());
+    }
+
+    public static class JournalWriter {
+
+        public static void main(String[] args) {
+            LedgerJournal journal = new LedgerJournal(Path.of(args[0]), SEGMENT_SIZE, Duration.ofMillis(1));
+            journal.open();
+
+            while (true) {
+                long sequence = 0;
+                for (int i = 0; i < 16; i++) {
+                    sequence = journal.append(credited());
+                }
+                journal.awaitDurable(sequence).join();
+                System.out.println(ACK_PREFIX + sequence);
+                System.out.flush();
+            }
+        }
+
+    }
+
+}
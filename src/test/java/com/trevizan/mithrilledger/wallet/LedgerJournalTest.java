@@ -0,0 +1,329 @@
+package com.trevizan.mithrilledger.wallet;
+
+import com.trevizan.mithrilledger.config.LedgerEngineProperties;
+import com.trevizan.mithrilledger.domain.model.Money;
+import com.trevizan.mithrilledger.domain.model.Transaction;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.domain.model.WalletView;
+import com.trevizan.mithrilledger.repository.TransactionRepository;
+import com.trevizan.mithrilledger.repository.WalletRepository;
+import com.trevizan.mithrilledger.service.engine.InMemoryLedgerEngine;
+import com.trevizan.mithrilledger.service.engine.JournalCheckpoint;
+import com.trevizan.mithrilledger.service.engine.JournalEntry;
+import com.trevizan.mithrilledger.service.engine.JournalRecord.Credited;
+import com.trevizan.mithrilledger.service.engine.JournalRecord.TransferDebited;
+import com.trevizan.mithrilledger.service.engine.LedgerJournal;
+import com.trevizan.mithrilledger.service.engine.LedgerPersister;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LedgerJournalTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final int SEGMENT_SIZE = 70_000;
+
+    @TempDir
+    private Path directory;
+
+    private WalletRepository walletRepository;
+    private TransactionRepository transactionRepository;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        walletRepository = Mockito.mock(WalletRepository.class);
+        transactionRepository = Mockito.mock(TransactionRepository.class);
+        jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        when(walletRepository.findIds(any())).thenReturn(List.of());
+        when(transactionRepository.findExistingIds(anyCollection())).thenReturn(List.of());
+    }
+
+    @Test
+    void shouldReplayAppendedRecordsAfterReopen() {
+        List<Credited> appended = new ArrayList<>();
+        try (LedgerJournal journal = openJournal(Duration.ZERO)) {
+            for (int i = 1; i <= 5; i++) {
+                Credited record = credited(BigDecimal.valueOf(i));
+                assertThat(journal.append(record)).isEqualTo(i);
+                appended.add(record);
+            }
+        }
+
+        try (LedgerJournal journal = openJournal(Duration.ZERO)) {
+            assertThat(replayAll(journal)).extracting(JournalEntry::record).containsExactlyElementsOf(appended);
+            assertThat(journal.nextSequence()).isEqualTo(6);
+        }
+    }
+
+    @Test
+    void shouldRollOverToNewSegmentWhenCurrentOneIsFull() throws IOException {
+        try (LedgerJournal journal = openJournal(Duration.ZERO)) {
+            for (int i = 0; i < 2000; i++) {
+                journal.append(credited(BigDecimal.ONE));
+            }
+        }
+
+        assertThat(segments()).hasSizeGreaterThan(1);
+        try (LedgerJournal journal = openJournal(Duration.ZERO)) {
+            List<JournalEntry> entries = replayAll(journal);
+            assertThat(entries).hasSize(2000);
+            assertThat(entries.getLast().sequence()).isEqualTo(2000);
+        }
+    }
+
+    @Test
+    void shouldTruncateTornTailAndContinueFromLastValidRecord() throws IOException {
+        try (LedgerJournal journal = openJournal(Duration.ZERO)) {
+            journal.append(credited(BigDecimal.ONE));
+            journal.append(credited(BigDecimal.ONE));
+            journal.append(credited(BigDecimal.ONE));
+        }
+
+        Path segment = segments().getFirst();
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            int recordSize = file.readInt();
+            long thirdRecord = 2L * recordSize;
+            file.seek(thirdRecord + recordSize - 1);
+            file.writeByte(0x7F);
+        }
+
+        try (LedgerJournal journal = openJournal(Duration.ZERO)) {
+            assertThat(replayAll(journal)).hasSize(2);
+            assertThat(journal.append(credited(BigDecimal.ONE))).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void shouldAcknowledgeDurabilityOnlyAfterGroupSync() {
+        try (LedgerJournal journal = openJournal(Duration.ofHours(1))) {
+            long first = journal.append(credited(BigDecimal.ONE));
+            long second = journal.append(credited(BigDecimal.TWO));
+
+            CompletableFuture<Void> firstDurable = journal.awaitDurable(first);
+            CompletableFuture<Void> secondDurable = journal.awaitDurable(second);
+            assertThat(firstDurable).isNotDone();
+            assertThat(secondDurable).isNotDone();
+
+            journal.sync();
+
+            assertThat(firstDurable).isCompleted();
+            assertThat(secondDurable).isCompleted();
+        }
+    }
+
+    @Test
+    void shouldDropSegmentsCoveredByCheckpoint() throws IOException {
+        try (LedgerJournal journal = openJournal(Duration.ZERO)) {
+            for (int i = 0; i < 2000; i++) {
+                journal.append(credited(BigDecimal.ONE));
+            }
+            JournalCheckpoint checkpoint = new JournalCheckpoint(
+                journal.nextSequence(),
+                List.of(new JournalCheckpoint.WalletState(UUID.randomUUID(), "owner", "EUR", new BigDecimal("2000.00"), Instant.now())),
+                List.of()
+            );
+            journal.writeCheckpoint(checkpoint);
+
+            assertThat(journal.readCheckpoint()).contains(checkpoint);
+            assertThat(segments()).hasSize(1);
+            List<JournalEntry> entries = new ArrayList<>();
+            journal.replay(checkpoint.sequence(), entries::add);
+            assertThat(entries).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldRecoverEngineBalancesAndPersistOnlyMissingTransactions() throws Exception {
+        InMemoryLedgerEngine engine = startEngine();
+        WalletView alice = engine.create(Wallet.create("alice", EUR)).join();
+        WalletView bob = engine.create(Wallet.create("bob", EUR)).join();
+        engine.credit(alice.id(), new BigDecimal("100.00")).join();
+        Transaction transfer = engine.transfer(
+            alice.id(),
+            bob.id(),
+            Money.of(new BigDecimal("40.00"), EUR),
+            Money.of(new BigDecimal("40.00"), EUR),
+            BigDecimal.ONE,
+            null
+        ).join();
+        engine.debit(bob.id(), new BigDecimal("10.00")).join();
+
+        when(transactionRepository.findExistingIds(anyCollection())).thenReturn(List.of(transfer.getId()));
+        InMemoryLedgerEngine recovered = startEngine();
+
+        assertThat(recovered.find(alice.id())).get().extracting(WalletView::balance).isEqualTo(new BigDecimal("60.00"));
+        assertThat(recovered.find(bob.id())).get().extracting(WalletView::balance).isEqualTo(new BigDecimal("30.00"));
+        assertThat(insertedTransactionIds()).hasSize(2).doesNotContain(transfer.getId());
+
+        recovered.close();
+        engine.close();
+    }
+
+    @Test
+    void shouldCompleteInFlightTransferOnRecovery() throws Exception {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        UUID transactionId = UUID.randomUUID();
+
+        try (LedgerJournal journal = openJournal(Duration.ZERO)) {
+            journal.writeCheckpoint(new JournalCheckpoint(
+                journal.nextSequence(),
+                List.of(
+                    new JournalCheckpoint.WalletState(alice, "alice", "EUR", new BigDecimal("100.00"), Instant.now()),
+                    new JournalCheckpoint.WalletState(bob, "bob", "EUR", new BigDecimal("0.00"), Instant.now())
+                ),
+                List.of()
+            ));
+            journal.append(new TransferDebited(
+                transactionId,
+                alice,
+                bob,
+                new BigDecimal("40.00"),
+                new BigDecimal("40.00"),
+                BigDecimal.ONE,
+                null,
+                Instant.now()
+            ));
+        }
+
+        InMemoryLedgerEngine engine = startEngine();
+
+        assertThat(engine.find(alice)).get().extracting(WalletView::balance).isEqualTo(new BigDecimal("60.00"));
+        assertThat(engine.find(bob)).get().extracting(WalletView::balance).isEqualTo(new BigDecimal("40.00"));
+        assertThat(insertedTransactionIds()).containsExactly(transactionId);
+
+        engine.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPersistEachBatchOfTransactionsWithTheBalanceChangesTheyProduced() throws Exception {
+        InMemoryLedgerEngine engine = startEngine(1);
+        WalletView alice = engine.create(Wallet.create("alice", EUR)).join();
+        engine.credit(alice.id(), new BigDecimal("100.00")).join();
+        engine.debit(alice.id(), new BigDecimal("30.00")).join();
+
+        assertThat(engine.flush()).isEqualTo(2);
+
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        InOrder inOrder = Mockito.inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).batchUpdate(startsWith("update wallets"), updates.capture());
+        inOrder.verify(jdbcTemplate).batchUpdate(startsWith("insert into transactions"), anyList());
+        inOrder.verify(jdbcTemplate).batchUpdate(startsWith("update wallets"), updates.capture());
+        inOrder.verify(jdbcTemplate).batchUpdate(startsWith("insert into transactions"), anyList());
+        assertThat(updates.getAllValues())
+            .extracting(rows -> rows.getFirst()[0])
+            .containsExactly(10000L, -3000L);
+
+        engine.close();
+    }
+
+    private InMemoryLedgerEngine startEngine() {
+        return startEngine(1000);
+    }
+
+    private InMemoryLedgerEngine startEngine(int persistBatchSize) {
+        LedgerEngineProperties properties = new LedgerEngineProperties(
+            LedgerEngineProperties.Mode.IN_MEMORY,
+            2,
+            1024,
+            64,
+            persistBatchSize,
+            Duration.ofHours(1),
+            new LedgerEngineProperties.Journal(
+                true,
+                directory,
+                DataSize.ofBytes(SEGMENT_SIZE),
+                Duration.ZERO,
+                Duration.ofHours(1)
+            )
+        );
+        LedgerJournal journal = openJournal(Duration.ZERO);
+        InMemoryLedgerEngine engine = new InMemoryLedgerEngine(
+            walletRepository,
+            transactionRepository,
+            new LedgerPersister(jdbcTemplate, transactionTemplate(), persistBatchSize, journal::sync),
+            journal,
+            properties
+        );
+        engine.start();
+        return engine;
+    }
+
+    @SuppressWarnings("unchecked")
+    private TransactionTemplate transactionTemplate() {
+        TransactionTemplate transactionTemplate = Mockito.mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        return transactionTemplate;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<UUID> insertedTransactionIds() {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, Mockito.atLeast(0)).batchUpdate(startsWith("insert into transactions"), rows.capture());
+        return rows.getAllValues().stream()
+            .flatMap(List::stream)
+            .map(row -> (UUID) row[0])
+            .toList();
+    }
+
+    private LedgerJournal openJournal(Duration fsyncInterval) {
+        LedgerJournal journal = new LedgerJournal(directory, SEGMENT_SIZE, fsyncInterval);
+        journal.open();
+        return journal;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private static List<JournalEntry> replayAll(LedgerJournal journal) {
+        List<JournalEntry> entries = new ArrayList<>();
+        journal.replay(1, entries::add);
+        return entries;
+    }
+
+    private static Credited credited(BigDecimal amount) {
+        return new Credited(UUID.randomUUID(), UUID.randomUUID(), amount.setScale(2), Instant.now());
+    }
+
+}
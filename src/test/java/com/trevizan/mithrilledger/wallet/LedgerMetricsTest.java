@@ -0,0 +1,73 @@
+package com.trevizan.mithrilledger.wallet;
+
+import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.exception.domain.InsufficientBalanceException;
+import com.trevizan.mithrilledger.infrastructure.exchange.HttpExchangeClient;
+import com.trevizan.mithrilledger.service.WalletService;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.wiremock.spring.EnableWireMock;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@EnableWireMock
+class LedgerMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private HttpExchangeClient exchangeClient;
+
+    @Test
+    void shouldExposeLedgerExchangeAndPoolMetricsForPrometheus() throws Exception {
+        stubFor(get(urlPathEqualTo("/api/v1/exchanges/rates"))
+            .willReturn(okJson("{\"rate\": 1.08}")));
+
+        Wallet wallet = walletService.createWallet("metrics-owner", Currency.getInstance("EUR"));
+        walletService.credit(wallet.getId(), BigDecimal.TEN);
+        assertThatThrownBy(() -> walletService.debit(wallet.getId(), BigDecimal.valueOf(50)))
+            .isInstanceOf(InsufficientBalanceException.class);
+        exchangeClient.getRate("EUR", "USD");
+
+        String scrape = mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertThat(scrape)
+            .contains("ledger_operations_seconds_count{operation=\"create-wallet\",outcome=\"success\"}")
+            .contains("ledger_operations_seconds_bucket{operation=\"credit\",outcome=\"success\"")
+            .contains("ledger_operations_seconds_count{operation=\"debit\",outcome=\"insufficient-balance\"}")
+            .contains("ledger_rejections_total{reason=\"insufficient-balance\"}")
+            .contains("ledger_optimistic_conflicts_total")
+            .contains("exchange_rate_request_seconds_bucket{outcome=\"success\",pair=\"EUR-USD\"")
+            .contains("resilience4j_circuitbreaker_state")
+            .contains("resilience4j_retry_calls")
+            .contains("resilience4j_bulkhead_available_concurrent_calls{name=\"database\"}")
+            .contains("resilience4j_bulkhead_available_concurrent_calls{name=\"exchange-service\"}")
+            .contains("hikaricp_connections_active")
+            .contains("httpcomponents_httpclient_pool_total_max");
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.trevizan.mithrilledger.wallet;
+
+import com.trevizan.mithrilledger.domain.model.Money;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency JPY = Currency.getInstance("JPY");
+    private static final Currency BHD = Currency.getInstance("BHD");
+
+    @Test
+    void shouldStoreAmountInMinorUnitsOfCurrency() {
+        assertThat(Money.of(new BigDecimal("12.34"), USD).minorUnits()).isEqualTo(1234);
+        assertThat(Money.of(new BigDecimal("1500"), JPY).minorUnits()).isEqualTo(1500);
+        assertThat(Money.of(new BigDecimal("1.234"), BHD).minorUnits()).isEqualTo(1234);
+        assertThat(Money.ofMinor(1234, BHD).toBigDecimal()).isEqualTo(new BigDecimal("1.234"));
+    }
+
+    @Test
+    void shouldRejectMoreDecimalPlacesThanCurrencyAllows() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("10.5"), JPY))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Amount must have at most 0 decimal places for JPY.");
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.001"), USD))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRoundStoredAmountsHalfEvenToCurrencyScale() {
+        assertThat(Money.ofStored(new BigDecimal("10.1250"), USD).toBigDecimal()).isEqualTo(new BigDecimal("10.12"));
+        assertThat(Money.ofStored(new BigDecimal("10.1350"), USD).toBigDecimal()).isEqualTo(new BigDecimal("10.14"));
+        assertThat(Money.ofStored(new BigDecimal("1500.5000"), JPY).toBigDecimal()).isEqualTo(new BigDecimal("1500"));
+        assertThat(Money.ofStored(new BigDecimal("1.2345"), BHD).toBigDecimal()).isEqualTo(new BigDecimal("1.234"));
+        assertThat(Money.rescale(new BigDecimal("12.3456"), "USD")).isEqualTo(new BigDecimal("12.35"));
+    }
+
+    @Test
+    void shouldRejectOverflowInsteadOfWrappingAround() {
+        Money max = Money.ofMinor(Long.MAX_VALUE, USD);
+
+        assertThatThrownBy(() -> max.plus(Money.ofMinor(1, USD)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Amount exceeds the supported range.");
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1E+30"), USD))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectArithmeticAcrossCurrencies() {
+        assertThatThrownBy(() -> Money.ofMinor(100, USD).plus(Money.ofMinor(100, JPY)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldConvertToTargetScaleWithSingleHalfEvenRounding() {
+        Money amount = Money.of(new BigDecimal("10.01"), USD);
+
+        assertThat(amount.convert(new BigDecimal("0.91"), Currency.getInstance("EUR")).toBigDecimal())
+            .isEqualTo(new BigDecimal("9.11"));
+        assertThat(amount.convert(new BigDecimal("149.5"), JPY).toBigDecimal())
+            .isEqualTo(new BigDecimal("1496"));
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.01"), USD).convert(new BigDecimal("0.1"), USD))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Amount must be greater than 0.");
+    }
+
+}
@@ -1,6 +1,8 @@
 package com.trevizan.mithrilledger.wallet;
 
+import com.trevizan.mithrilledger.domain.model.Money;
 import com.trevizan.mithrilledger.domain.model.Transaction;
+import com.trevizan.mithrilledger.domain.model.TransactionType;
 import com.trevizan.mithrilledger.domain.model.Wallet;
 
 import java.math.BigDecimal;
@@ -24,7 +26,8 @@ class TransactionDomainTest {
             toWallet,
             BigDecimal.valueOf(50),
             BigDecimal.valueOf(50),
-            BigDecimal.ONE
+            BigDecimal.ONE,
+            null
         );
 
         assertThat(transaction.getFromWallet()).isEqualTo(fromWallet);
@@ -33,24 +36,44 @@ class TransactionDomainTest {
         assertThat(transaction.getCreatedAt()).isNotNull();
     }
 
+    @Test
+    void shouldRecordCreditAndDebitAgainstSingleWallet() {
+        Currency usd = Currency.getInstance("USD");
+        Wallet wallet = Wallet.create("1234", usd);
+
+        Transaction credit = Transaction.credit(wallet, Money.of(BigDecimal.valueOf(25), usd));
+        Transaction debit = Transaction.debit(wallet, Money.of(BigDecimal.valueOf(10), usd));
+
+        assertThat(credit.getType()).isEqualTo(TransactionType.CREDIT);
+        assertThat(credit.getFromWallet()).isNull();
+        assertThat(credit.getToWallet()).isEqualTo(wallet);
+        assertThat(credit.getAmountCredited()).isEqualByComparingTo("25.00");
+        assertThat(debit.getType()).isEqualTo(TransactionType.DEBIT);
+        assertThat(debit.getFromWallet()).isEqualTo(wallet);
+        assertThat(debit.getToWallet()).isNull();
+        assertThat(debit.getAmountDebited()).isEqualByComparingTo("10.00");
+        assertThatThrownBy(() -> Transaction.credit(wallet, Money.zero(usd)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void shouldThrowExceptionWhenAmountIsZeroOrNegative() {
         Wallet fromWallet = Wallet.create("1234", Currency.getInstance("USD"));
         Wallet toWallet = Wallet.create("1235", Currency.getInstance("USD"));
 
-        assertThatThrownBy(() -> new Transaction(fromWallet, toWallet, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO))
+        assertThatThrownBy(() -> new Transaction(fromWallet, toWallet, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, null))
             .isInstanceOf(IllegalArgumentException.class)
             .hasMessageContaining("Amount debited must be positive");
 
-        assertThatThrownBy(() -> new Transaction(fromWallet, toWallet, BigDecimal.valueOf(-10), BigDecimal.ZERO, BigDecimal.ZERO))
+        assertThatThrownBy(() -> new Transaction(fromWallet, toWallet, BigDecimal.valueOf(-10), BigDecimal.ZERO, BigDecimal.ZERO, null))
             .isInstanceOf(IllegalArgumentException.class)
             .hasMessageContaining("Amount debited must be positive");
 
-        assertThatThrownBy(() -> new Transaction(fromWallet, toWallet, BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ZERO))
+        assertThatThrownBy(() -> new Transaction(fromWallet, toWallet, BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ZERO, null))
             .isInstanceOf(IllegalArgumentException.class)
             .hasMessageContaining("Amount credited must be positive");
 
-        assertThatThrownBy(() -> new Transaction(fromWallet, toWallet, BigDecimal.ONE, BigDecimal.valueOf(-1.0), BigDecimal.ZERO))
+        assertThatThrownBy(() -> new Transaction(fromWallet, toWallet, BigDecimal.ONE, BigDecimal.valueOf(-1.0), BigDecimal.ZERO, null))
             .isInstanceOf(IllegalArgumentException.class)
             .hasMessageContaining("Amount credited must be positive");
     }
@@ -59,7 +82,7 @@ class TransactionDomainTest {
     void shouldThrowExceptionWhenFromAndToWalletAreSame() {
         Wallet wallet = Wallet.create("1234", Currency.getInstance("USD"));
 
-        assertThatThrownBy(() -> new Transaction(wallet, wallet, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.ONE))
+        assertThatThrownBy(() -> new Transaction(wallet, wallet, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.ONE, null))
             .isInstanceOf(IllegalArgumentException.class)
             .hasMessageContaining("Origin and Destination Wallet must be different");
     }
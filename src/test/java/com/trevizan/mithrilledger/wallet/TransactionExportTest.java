@@ -0,0 +1,210 @@
+package com.trevizan.mithrilledger.wallet;
+
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.service.BalanceSnapshotService;
+import com.trevizan.mithrilledger.service.TransactionExportService;
+import com.trevizan.mithrilledger.service.WalletService;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.persistence.EntityManager;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TransactionExportTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final long MAX_HEAP_GROWTH_BYTES = 32L * 1024 * 1024;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private ExchangeClient exchangeClient;
+
+    @Test
+    void shouldExportWalletTransactionsAsCsvInChronologicalOrder() throws Exception {
+        Wallet payer = walletService.createWallet("1234", EUR);
+        Wallet payee = walletService.createWallet("1235", EUR);
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        insertTransactions(payer, payee, start, 3);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/transactions/export")
+                .param("format", "csv")
+                .param("walletId", payee.getId().toString())
+                .param("from", "2026-01-01T00:00:01Z"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String csv = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        List<String> lines = csv.lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).isEqualTo(
+            "id,type,fromWalletId,toWalletId,amountDebited,amountCredited,fromCurrency,toCurrency,exchangeRate,createdAt"
+        );
+        assertThat(lines.get(1)).contains(",TRANSFER," + payer.getId() + "," + payee.getId()).endsWith(",2026-01-01T00:00:01Z");
+        assertThat(lines.get(2)).endsWith(",2026-01-01T00:00:02Z");
+    }
+
+    @Test
+    void shouldRoundLegacyFourDecimalAmountsWhenReadingThem() throws Exception {
+        Wallet payer = walletService.createWallet("1234", EUR);
+        Wallet payee = walletService.createWallet("1235", Currency.getInstance("JPY"));
+        Instant createdAt = Instant.parse("2024-06-01T00:00:00Z");
+        jdbcTemplate.update(
+            "insert into transactions (id, type, from_wallet_id, to_wallet_id, amount_debited, amount_credited, "
+                + "from_currency, to_currency, exchange_rate, created_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            UUID.randomUUID(),
+            "TRANSFER",
+            payer.getId(),
+            payee.getId(),
+            new BigDecimal("10.1250"),
+            new BigDecimal("1640.5000"),
+            "EUR",
+            "JPY",
+            new BigDecimal("162.024691"),
+            Timestamp.from(createdAt)
+        );
+
+        mockMvc.perform(get("/api/v1/wallets/{id}/transactions", payee.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].amountDebited").value(10.12))
+            .andExpect(jsonPath("$.items[0].amountCredited").value(1640));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/transactions/export")
+                .param("format", "csv")
+                .param("walletId", payer.getId().toString()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String csv = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertThat(csv.lines().skip(1).findFirst().orElseThrow()).contains(",10.12,1640,EUR,JPY,");
+        assertThat(balanceSnapshotService.getBalanceAsOf(payee, Instant.now())).isEqualTo(new BigDecimal("1640"));
+    }
+
+    @Test
+    void shouldReturn400WhenExportFormatIsUnknown() throws Exception {
+        mockMvc.perform(get("/api/v1/transactions/export").param("format", "xml"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Format must be one of: ndjson, csv."));
+    }
+
+    @Test
+    void shouldStreamExportWithBoundedHeapAndEmptyPersistenceContext() {
+        Wallet payer = walletService.createWallet("1234", EUR);
+        Wallet payee = walletService.createWallet("1235", EUR);
+        int rows = 60_000;
+        insertTransactions(payer, payee, Instant.parse("2025-01-01T00:00:00Z"), rows);
+
+        Runtime runtime = Runtime.getRuntime();
+        AtomicInteger exported = new AtomicInteger();
+        AtomicLong baseline = new AtomicLong();
+        AtomicLong peakGrowth = new AtomicLong();
+        AtomicInteger managedEntities = new AtomicInteger();
+
+        long count = transactionExportService.export(
+            payer.getId(),
+            Instant.EPOCH,
+            Instant.now(),
+            transaction -> {
+                int seen = exported.incrementAndGet();
+                if (seen == 1_000) {
+                    baseline.set(usedHeapAfterGc(runtime));
+                } else if (seen % 10_000 == 0) {
+                    peakGrowth.accumulateAndGet(usedHeapAfterGc(runtime) - baseline.get(), Math::max);
+                    managedEntities.accumulateAndGet(
+                        entityManager.unwrap(Session.class).getStatistics().getEntityCount(),
+                        Math::max
+                    );
+                }
+            }
+        );
+
+        assertThat(count).isEqualTo(rows);
+        assertThat(managedEntities.get()).isZero();
+        assertThat(peakGrowth.get()).isLessThan(MAX_HEAP_GROWTH_BYTES);
+    }
+
+    private void insertTransactions(Wallet payer, Wallet payee, Instant start, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] {
+                UUID.randomUUID(),
+                "TRANSFER",
+                payer.getId(),
+                payee.getId(),
+                BigDecimal.TEN,
+                BigDecimal.TEN,
+                "EUR",
+                "EUR",
+                BigDecimal.ONE,
+                Timestamp.from(start.plusSeconds(i))
+            });
+        }
+
+        jdbcTemplate.batchUpdate(
+            "insert into transactions (id, type, from_wallet_id, to_wallet_id, amount_debited, amount_credited, "
+                + "from_currency, to_currency, exchange_rate, created_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            rows
+        );
+    }
+
+    private static long usedHeapAfterGc(Runtime runtime) {
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.trevizan.mithrilledger.wallet;
+
+import com.trevizan.mithrilledger.infrastructure.jvm.VirtualThreadPinningMonitor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.wiremock.spring.EnableWireMock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.threads.virtual.enabled=true",
+    "ledger.virtual-threads.pinned-threshold=10ms"
+})
+@EnableWireMock
+class VirtualThreadModeTest {
+
+    private final Object monitor = new Object();
+
+    @Autowired
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldRunApplicationTasksOnVirtualThreads() throws Exception {
+        boolean virtual = applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual()).get();
+
+        assertThat(virtual).isTrue();
+        assertThat(pinningMonitor).isNotNull();
+    }
+
+    @Test
+    void shouldRecordPinnedVirtualThreads() throws Exception {
+        Thread.ofVirtual().start(this::sleepWhilePinned).join();
+
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(15));
+        while (pinnedEvents() == 0 && Instant.now().isBefore(deadline)) {
+            Thread.sleep(100);
+        }
+
+        assertThat(pinnedEvents()).isPositive();
+    }
+
+    private void sleepWhilePinned() {
+        synchronized (monitor) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private double pinnedEvents() {
+        return meterRegistry.counter("jvm.threads.virtual.pinned").count();
+    }
+
+}
@@ -1,5 +1,8 @@
 package com.trevizan.mithrilledger.wallet;
 
+import com.trevizan.mithrilledger.controller.dto.BatchTransferRequest;
+import com.trevizan.mithrilledger.controller.dto.BulkAmountRequest;
+import com.trevizan.mithrilledger.controller.dto.QuoteRequest;
 import com.trevizan.mithrilledger.controller.dto.TransferRequest;
 import com.trevizan.mithrilledger.controller.dto.WalletAmountRequest;
 import com.trevizan.mithrilledger.controller.dto.WalletRequest;
@@ -7,25 +10,44 @@ import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
 
 import java.math.BigDecimal;
 import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -41,6 +63,20 @@ class WalletApiTest {
     @MockitoBean
     private ExchangeClient exchangeClient;
 
+    @Autowired
+    private MutableClock clock;
+
+    @TestConfiguration
+    static class ClockConfig {
+
+        @Bean
+        @Primary
+        MutableClock mutableClock() {
+            return new MutableClock(Instant.parse("2026-02-12T10:00:00Z"));
+        }
+
+    }
+
     private UUID createWallet(String ownerId, String currency) throws Exception {
         WalletRequest request = new WalletRequest(ownerId, currency);
         String location = mockMvc.perform(post("/api/v1/wallets")
@@ -83,6 +119,23 @@ class WalletApiTest {
             .andExpect(status().isCreated());
     }
 
+    private List<JsonNode> bulk(String path, BulkAmountRequest request) throws Exception {
+        MvcResult result = mockMvc.perform(post(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String content = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        return content.lines().map(objectMapper::readTree).toList();
+    }
+
     private BigDecimal getBalance(UUID walletId) throws Exception {
         String content = mockMvc.perform(get("/api/v1/wallets/{id}", walletId))
             .andExpect(status().isOk())
@@ -184,4 +237,275 @@ class WalletApiTest {
         assertEquals(BigDecimal.valueOf(54.50), getBalance(toWalletId));
     }
 
+    @Test
+    void shouldReturn201WhenTransferUsingLockedQuote() throws Exception {
+        UUID fromWalletId = createWallet("1234", "EUR");
+        UUID toWalletId = createWallet("1235", "GBP");
+        creditWallet(fromWalletId, BigDecimal.valueOf(100.0));
+
+        when(exchangeClient.getRate(eq("EUR"), eq("GBP"))).thenReturn(BigDecimal.valueOf(0.85));
+
+        String content = mockMvc.perform(post("/api/v1/quotes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new QuoteRequest("EUR", "GBP"))))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.rate").value(0.85))
+            .andExpect(jsonPath("$.expiresAt").exists())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        UUID quoteId = UUID.fromString(objectMapper.readTree(content).get("id").asString());
+
+        when(exchangeClient.getRate(eq("EUR"), eq("GBP"))).thenReturn(BigDecimal.valueOf(0.99));
+
+        TransferRequest request = new TransferRequest(fromWalletId, toWalletId, BigDecimal.valueOf(50.0), quoteId);
+        mockMvc.perform(post("/api/v1/wallets/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.exchangeRate").value(0.85));
+
+        assertEquals(BigDecimal.valueOf(42.5), getBalance(toWalletId));
+        verify(exchangeClient, times(1)).getRate(eq("EUR"), eq("GBP"));
+    }
+
+    @Test
+    void shouldReturn410WhenTransferUsingExpiredQuote() throws Exception {
+        UUID fromWalletId = createWallet("1234", "EUR");
+        UUID toWalletId = createWallet("1235", "GBP");
+        creditWallet(fromWalletId, BigDecimal.valueOf(100.0));
+
+        when(exchangeClient.getRate(eq("EUR"), eq("GBP"))).thenReturn(BigDecimal.valueOf(0.85));
+
+        String content = mockMvc.perform(post("/api/v1/quotes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new QuoteRequest("EUR", "GBP"))))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        JsonNode quote = objectMapper.readTree(content);
+        UUID quoteId = UUID.fromString(quote.get("id").asString());
+        assertEquals(clock.instant().plusSeconds(30), Instant.parse(quote.get("expiresAt").asString()));
+
+        clock.advance(Duration.ofSeconds(30));
+
+        TransferRequest request = new TransferRequest(fromWalletId, toWalletId, BigDecimal.valueOf(50.0), quoteId);
+        mockMvc.perform(post("/api/v1/wallets/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isGone())
+            .andExpect(jsonPath("$.message").value("Quote " + quoteId + " has expired."));
+
+        assertEquals(BigDecimal.valueOf(100.0), getBalance(fromWalletId));
+    }
+
+    @Test
+    void shouldReturn404WhenTransferUsingUnknownQuote() throws Exception {
+        UUID fromWalletId = createWallet("1234", "EUR");
+        UUID toWalletId = createWallet("1235", "GBP");
+        creditWallet(fromWalletId, BigDecimal.valueOf(100.0));
+
+        TransferRequest request = new TransferRequest(fromWalletId, toWalletId, BigDecimal.valueOf(50.0), UUID.randomUUID());
+        mockMvc.perform(post("/api/v1/wallets/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isNotFound());
+
+        assertEquals(BigDecimal.valueOf(100.0), getBalance(fromWalletId));
+    }
+
+    @Test
+    void shouldReturn200WithPerItemResultsWhenTransferBatch() throws Exception {
+        UUID payerId = createWallet("1234", "EUR");
+        UUID firstPayeeId = createWallet("1235", "EUR");
+        UUID secondPayeeId = createWallet("1236", "EUR");
+        creditWallet(payerId, BigDecimal.valueOf(100.0));
+
+        BatchTransferRequest request = new BatchTransferRequest(List.of(
+            new TransferRequest(payerId, firstPayeeId, BigDecimal.valueOf(70.0)),
+            new TransferRequest(payerId, secondPayeeId, BigDecimal.valueOf(40.0)),
+            new TransferRequest(payerId, secondPayeeId, BigDecimal.valueOf(30.0))
+        ));
+
+        mockMvc.perform(post("/api/v1/wallets/transfers/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.applied").value(2))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.results[0].status").value("APPLIED"))
+            .andExpect(jsonPath("$.results[0].transaction.id").exists())
+            .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+            .andExpect(jsonPath("$.results[1].error").value("Wallet " + payerId + " has insufficient balance."))
+            .andExpect(jsonPath("$.results[2].status").value("APPLIED"));
+
+        assertEquals(BigDecimal.valueOf(0.0), getBalance(payerId));
+        assertEquals(BigDecimal.valueOf(70.0), getBalance(firstPayeeId));
+        assertEquals(BigDecimal.valueOf(30.0), getBalance(secondPayeeId));
+    }
+
+    @Test
+    void shouldReturn400WhenTransferBatchIsEmpty() throws Exception {
+        mockMvc.perform(post("/api/v1/wallets/transfers/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchTransferRequest(List.of()))))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Transfers are required."));
+    }
+
+    @Test
+    void shouldStreamPerItemResultsWhenBulkCreditAndDebit() throws Exception {
+        UUID firstWalletId = createWallet("1234", "EUR");
+        UUID secondWalletId = createWallet("1235", "EUR");
+        UUID unknownWalletId = UUID.randomUUID();
+
+        List<JsonNode> credits = bulk("/api/v1/wallets/credit/bulk", new BulkAmountRequest(List.of(
+            new WalletAmountRequest(firstWalletId, BigDecimal.valueOf(100.0)),
+            new WalletAmountRequest(secondWalletId, BigDecimal.valueOf(50.0)),
+            new WalletAmountRequest(unknownWalletId, BigDecimal.valueOf(10.0))
+        )));
+
+        assertEquals(3, credits.size());
+        assertEquals("APPLIED", credits.get(0).get("status").asString());
+        assertEquals(100.0, credits.get(0).get("balance").asDouble());
+        assertEquals("APPLIED", credits.get(1).get("status").asString());
+        assertEquals("REJECTED", credits.get(2).get("status").asString());
+        assertEquals("Wallet not found: " + unknownWalletId, credits.get(2).get("error").asString());
+
+        List<JsonNode> debits = bulk("/api/v1/wallets/debit/bulk", new BulkAmountRequest(List.of(
+            new WalletAmountRequest(firstWalletId, BigDecimal.valueOf(30.0)),
+            new WalletAmountRequest(secondWalletId, BigDecimal.valueOf(80.0))
+        )));
+
+        assertEquals("APPLIED", debits.get(0).get("status").asString());
+        assertEquals(1, debits.get(1).get("index").asInt());
+        assertEquals("REJECTED", debits.get(1).get("status").asString());
+        assertEquals(BigDecimal.valueOf(70.0), getBalance(firstWalletId));
+        assertEquals(BigDecimal.valueOf(50.0), getBalance(secondWalletId));
+    }
+
+    @Test
+    void shouldReturn400WhenBulkCreditHasNoItems() throws Exception {
+        mockMvc.perform(post("/api/v1/wallets/credit/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkAmountRequest(List.of()))))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Items are required."));
+    }
+
+    @Test
+    void shouldApplyTransferOnceWhenRetriedWithSameIdempotencyKey() throws Exception {
+        UUID fromWalletId = createWallet("1234", "EUR");
+        UUID toWalletId = createWallet("1235", "EUR");
+        creditWallet(fromWalletId, BigDecimal.valueOf(100.0));
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        TransferRequest request = new TransferRequest(fromWalletId, toWalletId, BigDecimal.valueOf(40.0));
+        String firstId = null;
+        for (int attempt = 0; attempt < 3; attempt++) {
+            String content = mockMvc.perform(post("/api/v1/wallets/transfer")
+                    .header("Idempotency-Key", idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists("Location"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+            String id = objectMapper.readTree(content).get("id").asString();
+            if (firstId == null) {
+                firstId = id;
+            }
+            assertEquals(firstId, id);
+        }
+
+        assertEquals(BigDecimal.valueOf(60.0), getBalance(fromWalletId));
+        assertEquals(BigDecimal.valueOf(40.0), getBalance(toWalletId));
+    }
+
+    @Test
+    void shouldPageTransactionHistoryInBothDirectionsNewestFirst() throws Exception {
+        UUID walletId = createWallet("1234", "EUR");
+        UUID counterpartyId = createWallet("1235", "EUR");
+        creditWallet(walletId, BigDecimal.valueOf(100.0));
+        creditWallet(counterpartyId, BigDecimal.valueOf(100.0));
+
+        for (int i = 1; i <= 3; i++) {
+            transfer(walletId, counterpartyId, BigDecimal.valueOf(i));
+            transfer(counterpartyId, walletId, BigDecimal.valueOf(10 * i));
+        }
+
+        List<JsonNode> items = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/v1/wallets/{id}/transactions", walletId).param("limit", "4");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String content = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+            JsonNode page = objectMapper.readTree(content);
+            page.get("items").forEach(items::add);
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asString();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(2, pages);
+        assertEquals(7, items.size());
+        List<Double> amounts = items.subList(0, 6).stream().map(item -> item.get("amountDebited").asDouble()).toList();
+        assertEquals(List.of(30.0, 3.0, 20.0, 2.0, 10.0, 1.0), amounts);
+        assertEquals("CREDIT", items.getLast().get("type").asString());
+        assertEquals(100.0, items.getLast().get("amountCredited").asDouble());
+        for (int i = 1; i < items.size(); i++) {
+            String newer = items.get(i - 1).get("createdAt").asString();
+            String older = items.get(i).get("createdAt").asString();
+            assertTrue(Instant.parse(newer).compareTo(Instant.parse(older)) >= 0);
+        }
+    }
+
+    @Test
+    void shouldReturn400WhenTransactionHistoryCursorIsInvalid() throws Exception {
+        UUID walletId = createWallet("1234", "EUR");
+
+        mockMvc.perform(get("/api/v1/wallets/{id}/transactions", walletId).param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Invalid cursor: not-a-cursor"));
+    }
+
+    static class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
 }
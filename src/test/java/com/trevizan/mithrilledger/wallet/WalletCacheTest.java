@@ -0,0 +1,106 @@
+package com.trevizan.mithrilledger.wallet;
+
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.repository.WalletRepository;
+import com.trevizan.mithrilledger.service.WalletCache;
+import com.trevizan.mithrilledger.service.WalletService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class WalletCacheTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private WalletCache walletCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private ExchangeClient exchangeClient;
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() throws Exception {
+        Wallet wallet = walletService.createWallet("1234", EUR);
+        double hitsBefore = hits();
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/v1/wallets/{id}", wallet.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(0));
+        }
+
+        assertThat(hits() - hitsBefore).isEqualTo(3);
+    }
+
+    @Test
+    void shouldServeCommittedBalanceRightAfterEachWrite() throws Exception {
+        Wallet wallet = walletService.createWallet("1234", EUR);
+        Wallet counterparty = walletService.createWallet("1235", EUR);
+        expectBalance(wallet, 0);
+
+        walletService.credit(wallet.getId(), BigDecimal.valueOf(100));
+        expectBalance(wallet, 100);
+
+        walletService.debit(wallet.getId(), BigDecimal.valueOf(30));
+        expectBalance(wallet, 70);
+
+        expectBalance(counterparty, 0);
+        walletService.transfer(wallet, counterparty, BigDecimal.valueOf(20));
+        expectBalance(wallet, 50);
+        expectBalance(counterparty, 20);
+    }
+
+    @Test
+    void shouldKeepNewerViewWhenStaleWalletArrivesLate() {
+        Wallet wallet = walletService.createWallet("1234", EUR);
+        Wallet stale = walletRepository.findById(wallet.getId()).orElseThrow();
+
+        walletService.credit(wallet.getId(), BigDecimal.valueOf(100));
+        walletCache.updateAfterCommit(stale);
+
+        assertThat(walletService.getWalletView(wallet.getId()).balance()).isEqualByComparingTo("100");
+    }
+
+    private void expectBalance(Wallet wallet, int balance) throws Exception {
+        mockMvc.perform(get("/api/v1/wallets/{id}", wallet.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.balance").value(balance));
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets")
+            .tags("cache", "wallets", "result", "hit")
+            .functionCounter()
+            .count();
+    }
+
+}
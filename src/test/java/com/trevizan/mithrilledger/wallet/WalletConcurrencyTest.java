@@ -0,0 +1,77 @@
+package com.trevizan.mithrilledger.wallet;
+
+import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.service.WalletService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class WalletConcurrencyTest {
+
+    private static final int WRITERS = 8;
+    private static final int TRANSFERS_PER_WRITER = 25;
+
+    @Autowired
+    private WalletService walletService;
+
+    @MockitoBean
+    private ExchangeClient exchangeClient;
+
+    @Test
+    void shouldApplyConcurrentTransfersToHotWalletWithoutFailures() throws Exception {
+        Currency eur = Currency.getInstance("EUR");
+        Wallet hotWallet = walletService.createWallet("merchant", eur);
+
+        List<Wallet> payers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            Wallet payer = walletService.createWallet("payer-" + i, eur);
+            walletService.credit(payer.getId(), BigDecimal.valueOf(TRANSFERS_PER_WRITER));
+            payers.add(walletService.getWalletById(payer.getId()));
+        }
+
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(WRITERS)) {
+            for (Wallet payer : payers) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < TRANSFERS_PER_WRITER; i++) {
+                        try {
+                            walletService.transfer(payer, hotWallet, BigDecimal.ONE);
+                        } catch (RuntimeException ex) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(failures).hasValue(0);
+        assertThat(walletService.getWalletById(hotWallet.getId()).getBalance())
+            .isEqualByComparingTo(BigDecimal.valueOf((long) WRITERS * TRANSFERS_PER_WRITER));
+    }
+
+}
@@ -6,6 +6,7 @@ import com.trevizan.mithrilledger.controller.dto.WalletRequest;
 import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
 import com.trevizan.mithrilledger.domain.model.Transaction;
 import com.trevizan.mithrilledger.domain.model.Wallet;
+import com.trevizan.mithrilledger.domain.model.WalletView;
 import com.trevizan.mithrilledger.exception.domain.WalletNotFoundException;
 import com.trevizan.mithrilledger.service.WalletService;
 
@@ -26,6 +27,8 @@ import tools.jackson.databind.ObjectMapper;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -97,7 +100,9 @@ class WalletControllerTest {
 
     @Test
     void shouldReturn200WhenGetWalletById() throws Exception {
-        when(walletService.getWalletById(any())).thenReturn(walletCreated);
+        WalletView view = WalletView.of(walletCreated);
+        when(walletService.getWalletView(any())).thenReturn(view);
+        when(walletService.getTotalBalance(view)).thenReturn(view.balance());
 
         mockMvc.perform(get("/api/v1/wallets/{id}", walletCreated.getId()))
             .andExpect(status().isOk())
@@ -111,7 +116,7 @@ class WalletControllerTest {
     @Test
     void shouldReturn404WhenWalletNotFound() throws Exception {
         UUID id = UUID.randomUUID();
-        when(walletService.getWalletById(id)).thenThrow(new WalletNotFoundException(id));
+        when(walletService.getWalletView(id)).thenThrow(new WalletNotFoundException(id));
 
         mockMvc.perform(get("/api/v1/wallets/" + id))
             .andExpect(status().isNotFound())
@@ -204,13 +209,13 @@ class WalletControllerTest {
         when(walletService.getWalletById(fromWalletId)).thenReturn(fromWallet);
         when(walletService.getWalletById(toWalletId)).thenReturn(toWallet);
 
-        Transaction transaction = new Transaction(fromWallet, toWallet, amount, amount, BigDecimal.ONE);
+        Transaction transaction = new Transaction(fromWallet, toWallet, amount, amount, BigDecimal.ONE, null);
         UUID transactionId = UUID.randomUUID();
 
         Transaction transactionSpy = Mockito.spy(transaction);
         doReturn(transactionId).when(transactionSpy).getId();
 
-        when(walletService.transfer(fromWallet, toWallet, amount)).thenReturn(transactionSpy);
+        when(walletService.transfer(fromWallet, toWallet, amount, null)).thenReturn(transactionSpy);
 
         mockMvc.perform(post("/api/v1/wallets/transfer")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -246,7 +251,7 @@ class WalletControllerTest {
 
         TransferRequest request = new TransferRequest(fromWalletId, toWalletId, amount);
 
-        when(walletService.transfer(any(), any(), any()))
+        when(walletService.transfer(any(), any(), any(), any()))
             .thenThrow(new WalletNotFoundException(fromWalletId));
 
         mockMvc.perform(post("/api/v1/wallets/transfer")
@@ -271,13 +276,13 @@ class WalletControllerTest {
         when(walletService.getWalletById(fromWalletId)).thenReturn(fromWallet);
         when(walletService.getWalletById(toWalletId)).thenReturn(toWallet);
 
-        Transaction transaction = new Transaction(fromWallet, toWallet, amount, amountCredited, exchangeRate);
+        Transaction transaction = new Transaction(fromWallet, toWallet, amount, amountCredited, exchangeRate, null);
         UUID transactionId = UUID.randomUUID();
 
         Transaction transactionSpy = Mockito.spy(transaction);
         doReturn(transactionId).when(transactionSpy).getId();
 
-        when(walletService.transfer(fromWallet, toWallet, amount)).thenReturn(transactionSpy);
+        when(walletService.transfer(fromWallet, toWallet, amount, null)).thenReturn(transactionSpy);
 
         mockMvc.perform(post("/api/v1/wallets/transfer")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -291,4 +296,48 @@ class WalletControllerTest {
             .andExpect(jsonPath("$.id").value(transactionId.toString()));
     }
 
+    @Test
+    void shouldReplayCreditWithSameIdempotencyKeyWithoutCallingService() throws Exception {
+        UUID walletId = walletCreated.getId();
+        BigDecimal amount = BigDecimal.valueOf(100);
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        WalletAmountRequest request = new WalletAmountRequest(walletId, amount);
+
+        when(walletService.credit(walletId, amount)).thenReturn(walletCreated);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/v1/wallets/credit")
+                    .header("Idempotency-Key", idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(walletId.toString()));
+        }
+
+        verify(walletService, times(1)).credit(walletId, amount);
+    }
+
+    @Test
+    void shouldReturn422WhenIdempotencyKeyIsReusedWithDifferentRequest() throws Exception {
+        UUID walletId = walletCreated.getId();
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        when(walletService.credit(any(), any())).thenReturn(walletCreated);
+
+        mockMvc.perform(post("/api/v1/wallets/credit")
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new WalletAmountRequest(walletId, BigDecimal.valueOf(100)))))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/wallets/credit")
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new WalletAmountRequest(walletId, BigDecimal.valueOf(200)))))
+            .andExpect(status().isUnprocessableContent())
+            .andExpect(jsonPath("$.message")
+                .value("Idempotency-Key " + idempotencyKey + " was already used with a different request."));
+    }
+
 }
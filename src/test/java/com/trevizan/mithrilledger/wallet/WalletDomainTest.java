@@ -70,4 +70,18 @@ class WalletDomainTest {
             .isInstanceOf(IllegalArgumentException.class);
     }
 
+    @Test
+    void shouldUseCurrencyPrecisionForBalance() {
+        Wallet yen = Wallet.create("owner-y", Currency.getInstance("JPY"));
+        yen.credit(BigDecimal.valueOf(1500));
+
+        Wallet dinar = Wallet.create("owner-d", Currency.getInstance("BHD"));
+        dinar.credit(new BigDecimal("1.125"));
+
+        assertThat(yen.getBalance()).isEqualTo(new BigDecimal("1500"));
+        assertThat(dinar.getBalance()).isEqualTo(new BigDecimal("1.125"));
+        assertThatThrownBy(() -> yen.credit(new BigDecimal("0.5")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
 }
@@ -1,27 +1,61 @@
 package com.trevizan.mithrilledger.wallet;
 
+import com.trevizan.mithrilledger.config.LedgerBatchProperties;
+import com.trevizan.mithrilledger.config.LedgerLockingProperties;
+import com.trevizan.mithrilledger.config.WalletCacheProperties;
 import com.trevizan.mithrilledger.domain.exchange.ExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.RecordedExchangeClient;
+import com.trevizan.mithrilledger.domain.exchange.RecordedRate;
 import com.trevizan.mithrilledger.domain.model.Transaction;
 import com.trevizan.mithrilledger.domain.model.Wallet;
 import com.trevizan.mithrilledger.exception.domain.InsufficientBalanceException;
 import com.trevizan.mithrilledger.exception.domain.WalletNotFoundException;
+import com.trevizan.mithrilledger.exception.infrastructure.ExchangeServiceUnavailableException;
 import com.trevizan.mithrilledger.repository.TransactionRepository;
 import com.trevizan.mithrilledger.repository.WalletRepository;
+import com.trevizan.mithrilledger.service.BatchItemStatus;
+import com.trevizan.mithrilledger.service.HotWalletService;
+import com.trevizan.mithrilledger.service.QuoteService;
+import com.trevizan.mithrilledger.service.TransferCommand;
+import com.trevizan.mithrilledger.service.TransferResult;
+import com.trevizan.mithrilledger.service.WalletAmountCommand;
+import com.trevizan.mithrilledger.service.WalletAmountResult;
+import com.trevizan.mithrilledger.service.WalletCache;
 import com.trevizan.mithrilledger.service.WalletService;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Currency;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -32,13 +66,37 @@ class WalletServiceTest {
     private WalletService walletService;
     private TransactionRepository transactionRepository;
     private ExchangeClient exchangeClient;
+    private PlatformTransactionManager transactionManager;
+    private QuoteService quoteService;
+    private WalletCache walletCache;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
         walletRepository = Mockito.mock(WalletRepository.class);
         transactionRepository = Mockito.mock(TransactionRepository.class);
         exchangeClient = Mockito.mock(ExchangeClient.class);
-        walletService = new WalletService(walletRepository, transactionRepository, exchangeClient);
+        transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        quoteService = new QuoteService(exchangeClient, Duration.ofSeconds(30), Clock.systemUTC());
+        meterRegistry = new SimpleMeterRegistry();
+        walletCache = new WalletCache(
+            new WalletCacheProperties(true, 100, Duration.ofMinutes(5)),
+            meterRegistry
+        );
+        walletService = new WalletService(
+            walletRepository,
+            transactionRepository,
+            exchangeClient,
+            quoteService,
+            new TransactionTemplate(transactionManager),
+            new LedgerLockingProperties(LedgerLockingProperties.Mode.OPTIMISTIC, 3),
+            new LedgerBatchProperties(2, 10),
+            Mockito.mock(HotWalletService.class),
+            walletCache,
+            meterRegistry,
+            Bulkhead.ofDefaults("database"),
+            Optional.empty()
+        );
     }
 
     @Test
@@ -58,6 +116,18 @@ class WalletServiceTest {
         verify(walletRepository, times(1)).save(any(Wallet.class));
     }
 
+    @Test
+    void shouldSaveNewWalletInsideTransaction() {
+        when(walletRepository.save(any(Wallet.class))).thenAnswer(i -> i.getArgument(0));
+
+        walletService.createWallet("1234", Currency.getInstance("EUR"));
+
+        InOrder inOrder = inOrder(transactionManager, walletRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(walletRepository).save(any(Wallet.class));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
     @Test
     void shouldGetExistingWalletById() {
         Wallet wallet = Wallet.create("1234", Currency.getInstance("EUR"));
@@ -126,6 +196,9 @@ class WalletServiceTest {
 
         verify(walletRepository, times(1)).findById(id);
         verify(walletRepository, times(0)).save(wallet);
+        assertThat(meterRegistry.counter("ledger.rejections", "reason", "insufficient-balance").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("ledger.operations", "operation", "debit", "outcome", "insufficient-balance").count())
+            .isEqualTo(1);
     }
 
     @Test
@@ -188,6 +261,9 @@ class WalletServiceTest {
 
         fromWallet.credit(BigDecimal.valueOf(100));
 
+        when(walletRepository.findById(fromWallet.getId())).thenReturn(Optional.of(fromWallet));
+        when(walletRepository.findById(toWallet.getId())).thenReturn(Optional.of(toWallet));
+
         assertThatThrownBy(() -> walletService.transfer(fromWallet, toWallet, BigDecimal.ZERO))
             .isInstanceOf(IllegalArgumentException.class)
             .hasMessageContaining("Amount must be greater than 0.");
@@ -215,9 +291,363 @@ class WalletServiceTest {
 
         BigDecimal transferAmount = BigDecimal.valueOf(100);
 
+        when(walletRepository.findById(fromWallet.getId())).thenReturn(Optional.of(fromWallet));
+        when(walletRepository.findById(toWallet.getId())).thenReturn(Optional.of(toWallet));
+
         assertThatThrownBy(() -> walletService.transfer(fromWallet, toWallet, transferAmount))
             .isInstanceOf(InsufficientBalanceException.class)
             .hasMessageContaining(fromWallet.getId().toString());
     }
 
+    @Test
+    void shouldResolveExchangeRateBeforeOpeningTransaction() {
+        Wallet fromWallet = Wallet.create("1234", Currency.getInstance("EUR"));
+        fromWallet.credit(BigDecimal.valueOf(100));
+        Wallet toWallet = Wallet.create("1235", Currency.getInstance("USD"));
+
+        when(walletRepository.findById(fromWallet.getId())).thenReturn(Optional.of(fromWallet));
+        when(walletRepository.findById(toWallet.getId())).thenReturn(Optional.of(toWallet));
+        when(exchangeClient.getRate("EUR", "USD")).thenReturn(BigDecimal.valueOf(1.09));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> i.getArgument(0));
+
+        Transaction transaction = walletService.transfer(fromWallet, toWallet, BigDecimal.valueOf(50));
+
+        assertEquals(0, transaction.getAmountCredited().compareTo(new BigDecimal("54.50")));
+
+        InOrder inOrder = inOrder(exchangeClient, transactionManager);
+        inOrder.verify(exchangeClient).getRate("EUR", "USD");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void shouldTransferUsingLockedQuoteRateWithoutCallingExchange() {
+        Wallet fromWallet = Wallet.create("1234", Currency.getInstance("EUR"));
+        fromWallet.credit(BigDecimal.valueOf(100));
+        Wallet toWallet = Wallet.create("1235", Currency.getInstance("USD"));
+
+        when(walletRepository.findById(fromWallet.getId())).thenReturn(Optional.of(fromWallet));
+        when(walletRepository.findById(toWallet.getId())).thenReturn(Optional.of(toWallet));
+        when(exchangeClient.getRate("EUR", "USD")).thenReturn(BigDecimal.valueOf(1.09));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> i.getArgument(0));
+        UUID quoteId = quoteService.createQuote(fromWallet.getCurrency(), toWallet.getCurrency()).id();
+
+        when(exchangeClient.getRate("EUR", "USD")).thenReturn(BigDecimal.valueOf(1.20));
+        Transaction transaction = walletService.transfer(fromWallet, toWallet, BigDecimal.valueOf(50), quoteId);
+
+        assertEquals(0, transaction.getExchangeRate().compareTo(BigDecimal.valueOf(1.09)));
+        assertEquals(0, toWallet.getBalance().compareTo(new BigDecimal("54.50")));
+        verify(exchangeClient, times(1)).getRate("EUR", "USD");
+    }
+
+    @Test
+    void shouldLinkTransferToRateRecordedByExchangeClient() {
+        RecordedExchangeClient recordedExchangeClient = Mockito.mock(RecordedExchangeClient.class);
+        QuoteService recordedQuoteService = new QuoteService(
+            recordedExchangeClient,
+            Duration.ofSeconds(30),
+            Clock.systemUTC()
+        );
+        WalletService recordedWalletService = new WalletService(
+            walletRepository,
+            transactionRepository,
+            recordedExchangeClient,
+            recordedQuoteService,
+            new TransactionTemplate(transactionManager),
+            new LedgerLockingProperties(LedgerLockingProperties.Mode.OPTIMISTIC, 3),
+            new LedgerBatchProperties(2, 10),
+            Mockito.mock(HotWalletService.class),
+            walletCache,
+            meterRegistry,
+            Bulkhead.ofDefaults("database"),
+            Optional.empty()
+        );
+        Wallet fromWallet = Wallet.create("1234", Currency.getInstance("EUR"));
+        fromWallet.credit(BigDecimal.valueOf(100));
+        Wallet toWallet = Wallet.create("1235", Currency.getInstance("USD"));
+        UUID fetchedRateId = UUID.randomUUID();
+        UUID quotedRateId = UUID.randomUUID();
+
+        when(walletRepository.findById(fromWallet.getId())).thenReturn(Optional.of(fromWallet));
+        when(walletRepository.findById(toWallet.getId())).thenReturn(Optional.of(toWallet));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> i.getArgument(0));
+        when(recordedExchangeClient.getRecordedRate("EUR", "USD"))
+            .thenReturn(new RecordedRate(BigDecimal.valueOf(1.09), quotedRateId))
+            .thenReturn(new RecordedRate(BigDecimal.valueOf(1.10), fetchedRateId));
+        UUID quoteId = recordedQuoteService.createQuote(fromWallet.getCurrency(), toWallet.getCurrency()).id();
+
+        Transaction quoted = recordedWalletService.transfer(fromWallet, toWallet, BigDecimal.valueOf(10), quoteId);
+        Transaction fetched = recordedWalletService.transfer(fromWallet, toWallet, BigDecimal.valueOf(10));
+
+        assertEquals(quotedRateId, quoted.getExchangeRateId());
+        assertEquals(fetchedRateId, fetched.getExchangeRateId());
+        assertEquals(0, fetched.getExchangeRate().compareTo(BigDecimal.valueOf(1.10)));
+        verify(recordedExchangeClient, times(2)).getRecordedRate("EUR", "USD");
+    }
+
+    @Test
+    void shouldRejectQuoteForDifferentCurrencies() {
+        Wallet fromWallet = Wallet.create("1234", Currency.getInstance("EUR"));
+        fromWallet.credit(BigDecimal.valueOf(100));
+        Wallet toWallet = Wallet.create("1235", Currency.getInstance("USD"));
+
+        when(exchangeClient.getRate("EUR", "GBP")).thenReturn(BigDecimal.valueOf(0.85));
+        UUID quoteId = quoteService.createQuote(Currency.getInstance("EUR"), Currency.getInstance("GBP")).id();
+
+        assertThatThrownBy(() -> walletService.transfer(fromWallet, toWallet, BigDecimal.valueOf(50), quoteId))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("does not match");
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void shouldLockWalletsInDatabaseIdOrderInPessimisticMode() {
+        WalletService pessimisticWalletService = new WalletService(
+            walletRepository,
+            transactionRepository,
+            exchangeClient,
+            quoteService,
+            new TransactionTemplate(transactionManager),
+            new LedgerLockingProperties(LedgerLockingProperties.Mode.PESSIMISTIC, 3),
+            new LedgerBatchProperties(2, 10),
+            Mockito.mock(HotWalletService.class),
+            walletCache,
+            meterRegistry,
+            Bulkhead.ofDefaults("database"),
+            Optional.empty()
+        );
+        Wallet lower = Wallet.restore(
+            UUID.fromString("00000000-0000-4000-8000-000000000001"),
+            "1234",
+            Currency.getInstance("EUR"),
+            BigDecimal.ZERO,
+            Instant.now()
+        );
+        Wallet higher = Wallet.restore(
+            UUID.fromString("f0000000-0000-4000-8000-000000000001"),
+            "1235",
+            Currency.getInstance("EUR"),
+            BigDecimal.valueOf(100),
+            Instant.now()
+        );
+        assertThat(higher.getId().compareTo(lower.getId())).isNegative();
+
+        when(walletRepository.findByIdForUpdate(lower.getId())).thenReturn(Optional.of(lower));
+        when(walletRepository.findByIdForUpdate(higher.getId())).thenReturn(Optional.of(higher));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> i.getArgument(0));
+
+        pessimisticWalletService.transfer(higher, lower, BigDecimal.valueOf(40));
+
+        InOrder inOrder = inOrder(walletRepository);
+        inOrder.verify(walletRepository).findByIdForUpdate(lower.getId());
+        inOrder.verify(walletRepository).findByIdForUpdate(higher.getId());
+        verify(walletRepository, never()).findById(any());
+        assertEquals(0, lower.getBalance().compareTo(BigDecimal.valueOf(40)));
+    }
+
+    @Test
+    void shouldRetryTransferAfterOptimisticLockConflict() {
+        Wallet fromWallet = Wallet.create("1234", Currency.getInstance("EUR"));
+        fromWallet.credit(BigDecimal.valueOf(100));
+        Wallet toWallet = Wallet.create("1235", Currency.getInstance("EUR"));
+
+        when(walletRepository.findById(fromWallet.getId())).thenReturn(Optional.of(fromWallet));
+        when(walletRepository.findById(toWallet.getId())).thenReturn(Optional.of(toWallet));
+        when(walletRepository.save(toWallet))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Wallet.class, toWallet.getId()))
+            .thenReturn(toWallet);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> i.getArgument(0));
+
+        Transaction transaction = walletService.transfer(fromWallet, toWallet, BigDecimal.valueOf(10));
+
+        assertNotNull(transaction);
+        verify(walletRepository, times(2)).save(toWallet);
+        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        assertThat(meterRegistry.counter("ledger.optimistic.conflicts").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("ledger.operations", "operation", "transfer", "outcome", "success").count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void shouldRetryCreditAfterOptimisticLockConflict() {
+        UUID walletId = UUID.randomUUID();
+        Instant createdAt = Instant.now();
+
+        when(walletRepository.findById(walletId)).thenAnswer(i -> Optional.of(
+            Wallet.restore(walletId, "1234", Currency.getInstance("EUR"), BigDecimal.ZERO, createdAt)
+        ));
+        when(walletRepository.save(any(Wallet.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Wallet.class, walletId))
+            .thenAnswer(i -> i.getArgument(0));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> i.getArgument(0));
+
+        Wallet wallet = walletService.credit(walletId, BigDecimal.TEN);
+
+        assertEquals(0, wallet.getBalance().compareTo(BigDecimal.TEN));
+        verify(walletRepository, times(2)).findById(walletId);
+        verify(walletRepository, times(2)).save(any(Wallet.class));
+        assertThat(meterRegistry.counter("ledger.optimistic.conflicts").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("ledger.operations", "operation", "credit", "outcome", "success").count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxOptimisticAttempts() {
+        Wallet fromWallet = Wallet.create("1234", Currency.getInstance("EUR"));
+        fromWallet.credit(BigDecimal.valueOf(100));
+        Wallet toWallet = Wallet.create("1235", Currency.getInstance("EUR"));
+
+        when(walletRepository.findById(fromWallet.getId())).thenReturn(Optional.of(fromWallet));
+        when(walletRepository.findById(toWallet.getId())).thenReturn(Optional.of(toWallet));
+        when(walletRepository.save(toWallet))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Wallet.class, toWallet.getId()));
+
+        assertThatThrownBy(() -> walletService.transfer(fromWallet, toWallet, BigDecimal.valueOf(10)))
+            .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(walletRepository, times(3)).save(toWallet);
+    }
+
+    @Test
+    void shouldRejectCreditWhenDatabaseBulkheadIsFull() {
+        Bulkhead bulkhead = Bulkhead.of("database", BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+        WalletService boundedWalletService = new WalletService(
+            walletRepository,
+            transactionRepository,
+            exchangeClient,
+            quoteService,
+            new TransactionTemplate(transactionManager),
+            new LedgerLockingProperties(LedgerLockingProperties.Mode.OPTIMISTIC, 3),
+            new LedgerBatchProperties(2, 10),
+            Mockito.mock(HotWalletService.class),
+            walletCache,
+            meterRegistry,
+            bulkhead,
+            Optional.empty()
+        );
+        UUID id = UUID.randomUUID();
+        bulkhead.acquirePermission();
+
+        assertThatThrownBy(() -> boundedWalletService.credit(id, BigDecimal.TEN))
+            .isInstanceOf(BulkheadFullException.class);
+        verify(walletRepository, never()).findById(id);
+        assertThat(meterRegistry.timer("ledger.operations", "operation", "credit", "outcome", "bulkhead-full").count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void shouldApplyBatchInOrderAndReportEachItem() {
+        Wallet payer = Wallet.create("1234", Currency.getInstance("EUR"));
+        payer.credit(BigDecimal.valueOf(100));
+        Wallet eurPayee = Wallet.create("1235", Currency.getInstance("EUR"));
+        Wallet usdPayee = Wallet.create("1236", Currency.getInstance("USD"));
+        UUID unknownWalletId = UUID.randomUUID();
+
+        when(walletRepository.findAllById(any())).thenReturn(List.of(payer, eurPayee, usdPayee));
+        when(exchangeClient.getRates("EUR", Set.of("USD"))).thenReturn(Map.of("USD", BigDecimal.valueOf(1.10)));
+
+        List<TransferResult> results = walletService.transferBatch(List.of(
+            new TransferCommand(payer.getId(), eurPayee.getId(), BigDecimal.valueOf(60), null),
+            new TransferCommand(payer.getId(), usdPayee.getId(), BigDecimal.valueOf(30), null),
+            new TransferCommand(payer.getId(), eurPayee.getId(), BigDecimal.valueOf(20), null),
+            new TransferCommand(payer.getId(), unknownWalletId, BigDecimal.valueOf(5), null),
+            new TransferCommand(payer.getId(), payer.getId(), BigDecimal.valueOf(5), null)
+        ));
+
+        assertEquals(5, results.size());
+        assertEquals(BatchItemStatus.APPLIED, results.get(0).status());
+        assertEquals(BatchItemStatus.APPLIED, results.get(1).status());
+        assertEquals(BatchItemStatus.REJECTED, results.get(2).status());
+        assertEquals("Wallet " + payer.getId() + " has insufficient balance.", results.get(2).error());
+        assertEquals(BatchItemStatus.REJECTED, results.get(3).status());
+        assertEquals("Origin and Destination Wallet must be different.", results.get(4).error());
+
+        assertEquals(0, payer.getBalance().compareTo(BigDecimal.valueOf(10)));
+        assertEquals(0, eurPayee.getBalance().compareTo(BigDecimal.valueOf(60)));
+        assertEquals(0, usdPayee.getBalance().compareTo(BigDecimal.valueOf(33)));
+        verify(exchangeClient, times(1)).getRates("EUR", Set.of("USD"));
+        verify(exchangeClient, never()).getRate(any(), any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void shouldRejectOnlyItemsWhoseRatesCouldNotBeResolved() {
+        Wallet payer = Wallet.create("1234", Currency.getInstance("EUR"));
+        payer.credit(BigDecimal.valueOf(100));
+        Wallet eurPayee = Wallet.create("1235", Currency.getInstance("EUR"));
+        Wallet usdPayee = Wallet.create("1236", Currency.getInstance("USD"));
+
+        when(walletRepository.findAllById(any())).thenReturn(List.of(payer, eurPayee, usdPayee));
+        when(exchangeClient.getRates("EUR", Set.of("USD")))
+            .thenThrow(new ExchangeServiceUnavailableException("EUR", "USD", "Circuit breaker is OPEN", null));
+
+        List<TransferResult> results = walletService.transferBatch(List.of(
+            new TransferCommand(payer.getId(), usdPayee.getId(), BigDecimal.valueOf(30), null),
+            new TransferCommand(payer.getId(), eurPayee.getId(), BigDecimal.valueOf(30), null)
+        ));
+
+        assertEquals(BatchItemStatus.REJECTED, results.get(0).status());
+        assertEquals(BatchItemStatus.APPLIED, results.get(1).status());
+        assertEquals(0, payer.getBalance().compareTo(BigDecimal.valueOf(70)));
+    }
+
+    @Test
+    void shouldRejectBatchLargerThanMaxSize() {
+        List<TransferCommand> commands = Collections.nCopies(
+            11,
+            new TransferCommand(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.ONE, null)
+        );
+
+        assertThatThrownBy(() -> walletService.transferBatch(commands))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("A batch can contain at most 10 transfers.");
+        verify(walletRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void shouldCreditBulkInChunksAndEmitResultsInOrder() {
+        Wallet first = Wallet.create("1234", Currency.getInstance("EUR"));
+        Wallet second = Wallet.create("1235", Currency.getInstance("EUR"));
+        Wallet third = Wallet.create("1236", Currency.getInstance("EUR"));
+
+        when(walletRepository.findAllById(any())).thenReturn(List.of(first, second), List.of(third));
+
+        List<WalletAmountResult> results = new ArrayList<>();
+        walletService.creditBulk(List.of(
+            new WalletAmountCommand(first.getId(), BigDecimal.valueOf(10)),
+            new WalletAmountCommand(second.getId(), BigDecimal.ZERO),
+            new WalletAmountCommand(third.getId(), BigDecimal.valueOf(30))
+        ), results::add);
+
+        assertEquals(3, results.size());
+        assertEquals(BatchItemStatus.APPLIED, results.get(0).status());
+        assertEquals(0, results.get(0).balance().compareTo(BigDecimal.valueOf(10)));
+        assertEquals(BatchItemStatus.REJECTED, results.get(1).status());
+        assertEquals("Amount must be greater than 0.", results.get(1).error());
+        assertEquals(2, results.get(2).index());
+        assertEquals(0, third.getBalance().compareTo(BigDecimal.valueOf(30)));
+        verify(walletRepository, times(2)).findAllById(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void shouldRejectBulkDebitAboveBalanceWithoutAffectingOtherItems() {
+        Wallet wallet = Wallet.create("1234", Currency.getInstance("EUR"));
+        wallet.credit(BigDecimal.valueOf(50));
+
+        when(walletRepository.findAllById(any())).thenReturn(List.of(wallet));
+
+        List<WalletAmountResult> results = new ArrayList<>();
+        walletService.debitBulk(List.of(
+            new WalletAmountCommand(wallet.getId(), BigDecimal.valueOf(60)),
+            new WalletAmountCommand(wallet.getId(), BigDecimal.valueOf(20))
+        ), results::add);
+
+        assertEquals(BatchItemStatus.REJECTED, results.get(0).status());
+        assertEquals(BatchItemStatus.APPLIED, results.get(1).status());
+        assertEquals(0, wallet.getBalance().compareTo(BigDecimal.valueOf(30)));
+    }
+
 }